@@ -1,9 +1,17 @@
 package com.cloudinary;
 
+import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.Callable;
 
 import com.cloudinary.api.ApiResponse;
+import com.cloudinary.api.ApiResponseCache;
+import com.cloudinary.api.ApiResponseSnapshot;
 import com.cloudinary.api.AuthorizationRequired;
+import com.cloudinary.api.ElementHandler;
+import com.cloudinary.api.RateLimiter;
+import com.cloudinary.api.ResourceList;
+import com.cloudinary.api.ResponseDecoder;
 import com.cloudinary.api.exceptions.*;
 import com.cloudinary.metadata.MetadataField;
 import com.cloudinary.metadata.MetadataDataSource;
@@ -36,11 +44,23 @@ public class Api {
         CLOUDINARY_API_ERROR_CLASSES.put(500, GeneralError.class);
     }
 
+    // the first two path components of requests sent as POST that do not change any data
+    private static final Set<String> READ_ONLY_REQUESTS = new HashSet<String>(Arrays.asList("resources/search", "folders/search", "analysis/analyze"));
+
     public final Cloudinary cloudinary;
 
     private AbstractApiStrategy strategy;
 
     protected ApiResponse callApi(HttpMethod method, Iterable<String> uri, Map<String, ? extends Object> params, Map options) throws Exception {
+        return callApi(method, uri, params, options, null, null);
+    }
+
+    /**
+     * @param elementsKey the key of the array in the response passed to the handler
+     * @param handler     receives the elements of the array as they are parsed, or null to return them in the response
+     */
+    protected ApiResponse callApi(HttpMethod method, Iterable<String> uri, Map<String, ? extends Object> params, Map options,
+                                  String elementsKey, ElementHandler<?> handler) throws Exception {
         if (options == null)
             options = ObjectUtils.emptyMap();
 
@@ -51,9 +71,188 @@ public class Api {
         validateAuthorization(apiKey, apiSecret, oauthToken);
 
 
+        final String authorizationHeader = getAuthorizationHeaderValue(apiKey, apiSecret, oauthToken);
+        final String apiUrl = createApiUrl(uri, options);
+        ApiResponseCache cache = (ApiResponseCache) this.cloudinary.config.properties.get("apiResponseCache");
+        String action = action(uri);
+        if (method != HttpMethod.GET) {
+            try {
+                return execute(method, apiUrl, params, options, authorizationHeader, apiKey, elementsKey, handler);
+            } finally {
+                if (cache != null && modifiesData(method, uri)) {
+                    cache.invalidate(action);
+                }
+            }
+        }
+
+        if (handler != null) {
+            // the elements are not kept, so streamed responses are neither cached nor shared between callers
+            return execute(method, apiUrl, params, options, authorizationHeader, apiKey, elementsKey, handler);
+        }
+
+        // the authorization header keeps requests made with different credentials apart
+        String key = apiUrl + "?" + new TreeMap<String, Object>(params) + "\n" + authorizationHeader;
+        long invalidations = 0;
+        if (cache != null) {
+            ApiResponse cached = cache.get(key);
+            if (cached != null) {
+                // the cached response is shared, each caller gets its own copy to modify
+                return ApiResponseSnapshot.of(cached).copy();
+            }
+            invalidations = cache.invalidations(action);
+        }
+
+        ApiResponse response;
+        if (this.cloudinary.config.coalesceGetRequests) {
+            final Map<String, ? extends Object> callParams = params;
+            final Map callOptions = options;
+            final String callApiKey = apiKey;
+            final ApiResponse[] own = new ApiResponse[1];
+            // the caller making the call keeps its response, the callers waiting on it each get a copy of a snapshot
+            ApiResponseSnapshot shared = this.cloudinary.requestCoalescer().execute(key, new Callable<ApiResponseSnapshot>() {
+                @Override
+                public ApiResponseSnapshot call() throws Exception {
+                    own[0] = execute(HttpMethod.GET, apiUrl, callParams, callOptions, authorizationHeader, callApiKey, null, null);
+                    return ApiResponseSnapshot.of(own[0]);
+                }
+            });
+            response = own[0] != null ? own[0] : shared.copy();
+            if (cache != null) {
+                cache.put(key, action, invalidations, shared);
+                return response;
+            }
+        } else {
+            response = execute(method, apiUrl, params, options, authorizationHeader, apiKey, null, null);
+        }
+        if (cache != null) {
+            // the caller keeps the response it received, the cache holds an immutable copy
+            cache.put(key, action, invalidations, ApiResponseSnapshot.of(response));
+        }
+        return response;
+    }
+
+    /**
+     * Calls the API binding a successful response with the decoder as it is read. The response is not a map, so it
+     * is neither cached nor shared between callers, and does not update the rate limits used for pacing.
+     */
+    protected <T> T callApi(HttpMethod method, Iterable<String> uri, Map<String, ? extends Object> params, Map options,
+                            ResponseDecoder<T> decoder) throws Exception {
+        if (options == null)
+            options = ObjectUtils.emptyMap();
+
+        String apiKey = ObjectUtils.asString(options.get("api_key"), this.cloudinary.config.apiKey);
+        String apiSecret = ObjectUtils.asString(options.get("api_secret"), this.cloudinary.config.apiSecret);
+        String oauthToken = ObjectUtils.asString(options.get("oauth_token"), this.cloudinary.config.oauthToken);
+
+        validateAuthorization(apiKey, apiSecret, oauthToken);
+
         String authorizationHeader = getAuthorizationHeaderValue(apiKey, apiSecret, oauthToken);
         String apiUrl = createApiUrl(uri, options);
-        return this.strategy.callApi(method, apiUrl, params, options, authorizationHeader);
+        if (this.cloudinary.config.paceRateLimits) {
+            rateLimiter(apiKey, options).acquire(RateLimiter.API_FEATURE);
+        }
+        return this.strategy.callApi(method, apiUrl, params, options, authorizationHeader, decoder);
+    }
+
+    /**
+     * @return whether the request may change data, so that the cached responses of its action are invalidated. GET
+     * requests and searches, which are sent as POST requests, only read data.
+     */
+    static boolean modifiesData(HttpMethod method, Iterable<String> uri) {
+        if (method == HttpMethod.GET) {
+            return false;
+        }
+        Iterator<String> components = uri.iterator();
+        String request = components.hasNext() ? components.next() : "";
+        if (components.hasNext()) {
+            request += "/" + components.next();
+        }
+        return !READ_ONLY_REQUESTS.contains(request);
+    }
+
+    /**
+     * @return the first path component following the cloud name, which responses are cached and invalidated by
+     */
+    static String action(Iterable<String> uri) {
+        Iterator<String> components = uri.iterator();
+        return components.hasNext() ? components.next().split("/")[0] : "";
+    }
+
+    /**
+     * @return the limiter shared by the calls of this Cloudinary instance made with the API key. Calls authorized with
+     * an OAuth token have no API key, they share the limiter of their cloud.
+     */
+    private RateLimiter rateLimiter(String apiKey, Map options) {
+        if (apiKey != null) {
+            return this.cloudinary.rateLimiter(apiKey);
+        }
+        String cloudName = ObjectUtils.asString(options.get("cloud_name"), this.cloudinary.config.cloudName);
+        return this.cloudinary.rateLimiter("cloud_name:" + cloudName);
+    }
+
+    /**
+     * @param options the call options, the limiter is selected by their credentials
+     * @return the limiter pacing the calls made with the options, or null if {@code paceRateLimits} is off. Strategies
+     * charge it for the extra requests they send, such as hedged requests.
+     */
+    public RateLimiter rateLimiter(Map options) {
+        if (!this.cloudinary.config.paceRateLimits) {
+            return null;
+        }
+        if (options == null)
+            options = ObjectUtils.emptyMap();
+        return rateLimiter(ObjectUtils.asString(options.get("api_key"), this.cloudinary.config.apiKey), options);
+    }
+
+    private ApiResponse execute(HttpMethod method, String apiUrl, Map<String, ? extends Object> params, Map options, String authorizationHeader, String apiKey,
+                                String elementsKey, ElementHandler<?> handler) throws Exception {
+        if (!this.cloudinary.config.paceRateLimits) {
+            return callStrategy(method, apiUrl, params, options, authorizationHeader, elementsKey, handler);
+        }
+
+        RateLimiter rateLimiter = rateLimiter(apiKey, options);
+        rateLimiter.acquire(RateLimiter.API_FEATURE);
+        ApiResponse response = callStrategy(method, apiUrl, params, options, authorizationHeader, elementsKey, handler);
+        try {
+            rateLimiter.update(response.rateLimits());
+        } catch (ParseException e) {
+            // pacing is best effort, the call itself succeeded
+        }
+        return response;
+    }
+
+    private ApiResponse callStrategy(HttpMethod method, String apiUrl, Map<String, ? extends Object> params, Map options, String authorizationHeader,
+                                     String elementsKey, ElementHandler<?> handler) throws Exception {
+        if (handler == null) {
+            return this.strategy.callApi(method, apiUrl, params, options, authorizationHeader);
+        }
+        return this.strategy.callApi(method, apiUrl, params, options, authorizationHeader, elementsKey, handler);
+    }
+
+    /**
+     * An Admin API request built by the methods below: the path following the cloud name, the request parameters
+     * and the call options. {@link AsyncApi} sends the same requests without blocking.
+     */
+    static final class Request {
+        final HttpMethod method;
+        final Iterable<String> uri;
+        final Map<String, ? extends Object> params;
+        final Map options;
+
+        Request(HttpMethod method, Iterable<String> uri, Map<String, ? extends Object> params, Map options) {
+            this.method = method;
+            this.uri = uri;
+            this.params = params;
+            this.options = options;
+        }
+    }
+
+    private ApiResponse callApi(Request request) throws Exception {
+        return callApi(request.method, request.uri, request.params, request.options);
+    }
+
+    private ApiResponse callApi(Request request, String elementsKey, ElementHandler<?> handler) throws Exception {
+        return callApi(request.method, request.uri, request.params, request.options, elementsKey, handler);
     }
 
     public Api(Cloudinary cloudinary, AbstractApiStrategy strategy) {
@@ -62,12 +261,35 @@ public class Api {
         this.strategy.init(this);
     }
 
+    /**
+     * Opens a connection to the API host through the strategy directly, bypassing caching and coalescing, so each
+     * call opens its own connection when several are made at once. The request carries no credentials, so it does
+     * not count against the Admin API rate limit. Used by {@link Cloudinary#warmUp(int)}.
+     *
+     * @return whether the API host responded
+     */
+    boolean warmUpConnection() {
+        try {
+            return this.strategy.warmUpConnection(createApiUrl(Arrays.asList("ping"), ObjectUtils.emptyMap()));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
     public ApiResponse ping(Map options) throws Exception {
+        return callApi(pingRequest(options));
+    }
+
+    Request pingRequest(Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
-        return callApi(HttpMethod.GET, Arrays.asList("ping"), ObjectUtils.emptyMap(), options);
+        return new Request(HttpMethod.GET, Arrays.asList("ping"), ObjectUtils.emptyMap(), options);
     }
 
     public ApiResponse usage(Map options) throws Exception {
+        return callApi(usageRequest(options));
+    }
+
+    Request usageRequest(Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
 
         final List<String> uri = new ArrayList<String>();
@@ -83,7 +305,7 @@ public class Api {
             uri.add(date.toString());
         }
 
-        return callApi(HttpMethod.GET, uri, ObjectUtils.emptyMap(), options);
+        return new Request(HttpMethod.GET, uri, ObjectUtils.emptyMap(), options);
     }
 
     public ApiResponse configuration(Map options) throws  Exception {
@@ -98,11 +320,36 @@ public class Api {
     }
 
     public ApiResponse resourceTypes(Map options) throws Exception {
+        return callApi(resourceTypesRequest(options));
+    }
+
+    Request resourceTypesRequest(Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
-        return callApi(HttpMethod.GET, Arrays.asList("resources"), ObjectUtils.emptyMap(), options);
+        return new Request(HttpMethod.GET, Arrays.asList("resources"), ObjectUtils.emptyMap(), options);
     }
 
     public ApiResponse resources(Map options) throws Exception {
+        return resources(options, null);
+    }
+
+    /**
+     * Lists resources like {@link #resources(Map)}, passing each resource to the handler as it is parsed from the
+     * response instead of returning them. The response holds the remaining fields such as {@code next_cursor}.
+     */
+    public ApiResponse resources(Map options, ElementHandler<Map<String, Object>> handler) throws Exception {
+        return callApi(resourcesRequest(options), "resources", handler);
+    }
+
+    /**
+     * Lists resources like {@link #resources(Map)}, binding them to compact {@link com.cloudinary.api.ResourceInfo}s
+     * as the response is read. Only the fields of {@code ResourceInfo} and the next cursor are kept.
+     */
+    public ResourceList resourceList(Map options) throws Exception {
+        Request request = resourcesRequest(options);
+        return callApi(request.method, request.uri, request.params, request.options, ResourceList.decoder("resources"));
+    }
+
+    Request resourcesRequest(Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
         String resourceType = ObjectUtils.asString(options.get("resource_type"), "image");
         String type = ObjectUtils.asString(options.get("type"));
@@ -114,8 +361,7 @@ public class Api {
         if(options.get("fields") != null) {
             options.put("fields", StringUtils.join(ObjectUtils.asArray(options.get("fields")), ","));
         }
-        ApiResponse response = callApi(HttpMethod.GET, uri, ObjectUtils.only(options, "next_cursor", "direction", "max_results", "prefix", "tags", "context", "moderations", "start_at", "metadata", "fields"), options);
-        return response;
+        return new Request(HttpMethod.GET, uri, ObjectUtils.only(options, "next_cursor", "direction", "max_results", "prefix", "tags", "context", "moderations", "start_at", "metadata", "fields"), options);
     }
 
     public ApiResponse visualSearch(Map options) throws Exception {
@@ -130,13 +376,34 @@ public class Api {
     }
 
     public ApiResponse resourcesByTag(String tag, Map options) throws Exception {
+        return resourcesByTag(tag, options, null);
+    }
+
+    /**
+     * Lists resources like {@link #resourcesByTag(String, Map)}, passing each resource to the handler as it is
+     * parsed from the response instead of returning them.
+     */
+    public ApiResponse resourcesByTag(String tag, Map options, ElementHandler<Map<String, Object>> handler) throws Exception {
+        return callApi(resourcesByTagRequest(tag, options), "resources", handler);
+    }
+
+    /**
+     * Lists resources like {@link #resourcesByTag(String, Map)}, binding them to compact
+     * {@link com.cloudinary.api.ResourceInfo}s as the response is read.
+     */
+    public ResourceList resourceListByTag(String tag, Map options) throws Exception {
+        Request request = resourcesByTagRequest(tag, options);
+        return callApi(request.method, request.uri, request.params, request.options, ResourceList.decoder("resources"));
+    }
+
+    Request resourcesByTagRequest(String tag, Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
         String resourceType = ObjectUtils.asString(options.get("resource_type"), "image");
         if(options.get("fields") != null) {
             options.put("fields", StringUtils.join(ObjectUtils.asArray(options.get("fields")), ","));
         }
-        ApiResponse response = callApi(HttpMethod.GET, Arrays.asList("resources", resourceType, "tags", tag), ObjectUtils.only(options, "next_cursor", "direction", "max_results", "tags", "context", "moderations", "metadata", "fields"), options);
-        return response;
+        return new Request(HttpMethod.GET, Arrays.asList("resources", resourceType, "tags", tag),
+                ObjectUtils.only(options, "next_cursor", "direction", "max_results", "tags", "context", "moderations", "metadata", "fields"), options);
     }
 
     public ApiResponse resourcesByContext(String key, Map options) throws Exception {
@@ -158,20 +425,27 @@ public class Api {
     }
 
     public ApiResponse resourceByAssetID(String assetId, Map options) throws Exception {
+        return callApi(resourceByAssetIDRequest(assetId, options));
+    }
+
+    Request resourceByAssetIDRequest(String assetId, Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
         if(options.get("fields") != null) {
             options.put("fields", StringUtils.join(ObjectUtils.asArray(options.get("fields")), ","));
         }
         Map params = buildResourceDetailParams(options);
-        ApiResponse response = callApi(HttpMethod.GET, Arrays.asList("resources", assetId), params, options);
-        return response;
+        return new Request(HttpMethod.GET, Arrays.asList("resources", assetId), params, options);
     }
+
     public ApiResponse resourcesByAssetIDs(Iterable<String> assetIds, Map options) throws Exception {
+        return callApi(resourcesByAssetIDsRequest(assetIds, options));
+    }
+
+    Request resourcesByAssetIDsRequest(Iterable<String> assetIds, Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
         Map params = ObjectUtils.only(options, "public_ids", "tags", "context", "moderations");
         params.put("asset_ids", assetIds);
-        ApiResponse response = callApi(HttpMethod.GET, Arrays.asList("resources", "by_asset_ids"), params, options);
-        return response;
+        return new Request(HttpMethod.GET, Arrays.asList("resources", "by_asset_ids"), params, options);
     }
 
     public ApiResponse resourcesByAssetFolder(String assetFolder, Map options) throws Exception {
@@ -186,13 +460,16 @@ public class Api {
     }
 
     public ApiResponse resourcesByIds(Iterable<String> publicIds, Map options) throws Exception {
+        return callApi(resourcesByIdsRequest(publicIds, options));
+    }
+
+    Request resourcesByIdsRequest(Iterable<String> publicIds, Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
         String resourceType = ObjectUtils.asString(options.get("resource_type"), "image");
         String type = ObjectUtils.asString(options.get("type"), "upload");
         Map params = ObjectUtils.only(options, "tags", "context", "moderations");
         params.put("public_ids", publicIds);
-        ApiResponse response = callApi(HttpMethod.GET, Arrays.asList("resources", resourceType, type), params, options);
-        return response;
+        return new Request(HttpMethod.GET, Arrays.asList("resources", resourceType, type), params, options);
     }
 
     public ApiResponse resourcesByModeration(String kind, String status, Map options) throws Exception {
@@ -206,14 +483,16 @@ public class Api {
     }
 
     public ApiResponse resource(String public_id, Map options) throws Exception {
+        return callApi(resourceRequest(public_id, options));
+    }
+
+    Request resourceRequest(String public_id, Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
         String resourceType = ObjectUtils.asString(options.get("resource_type"), "image");
         String type = ObjectUtils.asString(options.get("type"), "upload");
         Map params = buildResourceDetailParams(options);
 
-        ApiResponse response = callApi(HttpMethod.GET, Arrays.asList("resources", resourceType, type, public_id), params, options);
-
-        return response;
+        return new Request(HttpMethod.GET, Arrays.asList("resources", resourceType, type, public_id), params, options);
     }
 
     private Map buildResourceDetailParams(Map options) {
@@ -223,6 +502,10 @@ public class Api {
     }
 
     public ApiResponse update(String public_id, Map options) throws Exception {
+        return callApi(updateRequest(public_id, options));
+    }
+
+    Request updateRequest(String public_id, Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
         String resourceType = ObjectUtils.asString(options.get("resource_type"), "image");
         String type = ObjectUtils.asString(options.get("type"), "upload");
@@ -230,18 +513,21 @@ public class Api {
         Util.processWriteParameters(options, params);
         params.put("moderation_status", options.get("moderation_status"));
         params.put("notification_url", options.get("notification_url"));
-        ApiResponse response = callApi(HttpMethod.POST, Arrays.asList("resources", resourceType, type, public_id),
+        return new Request(HttpMethod.POST, Arrays.asList("resources", resourceType, type, public_id),
                 params, options);
-        return response;
     }
 
     public ApiResponse deleteResources(Iterable<String> publicIds, Map options) throws Exception {
+        return callApi(deleteResourcesRequest(publicIds, options));
+    }
+
+    Request deleteResourcesRequest(Iterable<String> publicIds, Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
         String resourceType = ObjectUtils.asString(options.get("resource_type"), "image");
         String type = ObjectUtils.asString(options.get("type"), "upload");
         Map params = ObjectUtils.only(options, "keep_original", "invalidate", "next_cursor", "transformations");
         params.put("public_ids", publicIds);
-        return callApi(HttpMethod.DELETE, Arrays.asList("resources", resourceType, type), params, options);
+        return new Request(HttpMethod.DELETE, Arrays.asList("resources", resourceType, type), params, options);
     }
 
     public ApiResponse deleteResourcesByAssetIds(Iterable<String> assetIds, Map options) throws Exception {
@@ -272,9 +558,13 @@ public class Api {
     }
 
     public ApiResponse deleteResourcesByTag(String tag, Map options) throws Exception {
+        return callApi(deleteResourcesByTagRequest(tag, options));
+    }
+
+    Request deleteResourcesByTagRequest(String tag, Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
         String resourceType = ObjectUtils.asString(options.get("resource_type"), "image");
-        return callApi(HttpMethod.DELETE, Arrays.asList("resources", resourceType, "tags", tag), ObjectUtils.only(options, "keep_original", "invalidate", "next_cursor"), options);
+        return new Request(HttpMethod.DELETE, Arrays.asList("resources", resourceType, "tags", tag), ObjectUtils.only(options, "keep_original", "invalidate", "next_cursor"), options);
     }
 
     public ApiResponse deleteAllResources(Map options) throws Exception {
@@ -292,21 +582,49 @@ public class Api {
     }
 
     public ApiResponse tags(Map options) throws Exception {
+        return tags(options, null);
+    }
+
+    /**
+     * Lists tags like {@link #tags(Map)}, passing each tag to the handler as it is parsed from the response instead
+     * of returning them.
+     */
+    public ApiResponse tags(Map options, ElementHandler<String> handler) throws Exception {
+        return callApi(tagsRequest(options), "tags", handler);
+    }
+
+    Request tagsRequest(Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
         String resourceType = ObjectUtils.asString(options.get("resource_type"), "image");
-        return callApi(HttpMethod.GET, Arrays.asList("tags", resourceType), ObjectUtils.only(options, "next_cursor", "max_results", "prefix"), options);
+        return new Request(HttpMethod.GET, Arrays.asList("tags", resourceType), ObjectUtils.only(options, "next_cursor", "max_results", "prefix"), options);
     }
 
     public ApiResponse transformations(Map options) throws Exception {
+        return transformations(options, null);
+    }
+
+    /**
+     * Lists transformations like {@link #transformations(Map)}, passing each transformation to the handler as it is
+     * parsed from the response instead of returning them.
+     */
+    public ApiResponse transformations(Map options, ElementHandler<Map<String, Object>> handler) throws Exception {
+        return callApi(transformationsRequest(options), "transformations", handler);
+    }
+
+    Request transformationsRequest(Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
-        return callApi(HttpMethod.GET, Arrays.asList("transformations"), ObjectUtils.only(options, "next_cursor", "max_results", "named"), options);
+        return new Request(HttpMethod.GET, Arrays.asList("transformations"), ObjectUtils.only(options, "next_cursor", "max_results", "named"), options);
     }
 
     public ApiResponse transformation(String transformation, Map options) throws Exception {
+        return callApi(transformationRequest(transformation, options));
+    }
+
+    Request transformationRequest(String transformation, Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
         Map map = ObjectUtils.only(options, "next_cursor", "max_results");
         map.put("transformation", transformation);
-        return callApi(HttpMethod.GET, Arrays.asList("transformations"), map, options);
+        return new Request(HttpMethod.GET, Arrays.asList("transformations"), map, options);
     }
 
     public ApiResponse deleteTransformation(String transformation, Map options) throws Exception {
@@ -331,13 +649,21 @@ public class Api {
     }
 
     public ApiResponse uploadPresets(Map options) throws Exception {
+        return callApi(uploadPresetsRequest(options));
+    }
+
+    Request uploadPresetsRequest(Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
-        return callApi(HttpMethod.GET, Arrays.asList("upload_presets"), ObjectUtils.only(options, "next_cursor", "max_results"), options);
+        return new Request(HttpMethod.GET, Arrays.asList("upload_presets"), ObjectUtils.only(options, "next_cursor", "max_results"), options);
     }
 
     public ApiResponse uploadPreset(String name, Map options) throws Exception {
+        return callApi(uploadPresetRequest(name, options));
+    }
+
+    Request uploadPresetRequest(String name, Map options) {
         if (options == null) options = ObjectUtils.emptyMap();
-        return callApi(HttpMethod.GET, Arrays.asList("upload_presets", name), ObjectUtils.only(options, "max_results"), options);
+        return new Request(HttpMethod.GET, Arrays.asList("upload_presets", name), ObjectUtils.only(options, "max_results"), options);
     }
 
     public ApiResponse deleteUploadPreset(String name, Map options) throws Exception {
@@ -362,17 +688,25 @@ public class Api {
     }
 
     public ApiResponse rootFolders(Map options) throws Exception {
+        return callApi(rootFoldersRequest(options));
+    }
+
+    Request rootFoldersRequest(Map options) {
         if (options == null)
             options = ObjectUtils.emptyMap();
-        return callApi(HttpMethod.GET, Arrays.asList("folders"),
+        return new Request(HttpMethod.GET, Arrays.asList("folders"),
                 extractParams(options, Arrays.asList("max_results", "next_cursor")),
                 options);
     }
 
     public ApiResponse subFolders(String ofFolderPath, Map options) throws Exception {
+        return callApi(subFoldersRequest(ofFolderPath, options));
+    }
+
+    Request subFoldersRequest(String ofFolderPath, Map options) {
         if (options == null)
             options = ObjectUtils.emptyMap();
-        return callApi(HttpMethod.GET, Arrays.asList("folders", ofFolderPath),
+        return new Request(HttpMethod.GET, Arrays.asList("folders", ofFolderPath),
                 extractParams(options, Arrays.asList("max_results", "next_cursor")),
                 options);
     }
@@ -722,7 +1056,23 @@ public class Api {
      * @throws Exception
      */
     public ApiResponse listMetadataFields() throws Exception {
-        return callApi(HttpMethod.GET, Collections.singletonList("metadata_fields"), Collections.<String, Object>emptyMap(), Collections.emptyMap());
+        return listMetadataFields(null);
+    }
+
+    /**
+     * List all the metadata field definitions, passing each definition to the handler as it is parsed from the
+     * response instead of returning them.
+     *
+     * @param handler receives the field definition maps
+     * @return A map holding the other fields of the response.
+     * @throws Exception
+     */
+    public ApiResponse listMetadataFields(ElementHandler<Map<String, Object>> handler) throws Exception {
+        return callApi(listMetadataFieldsRequest(), "metadata_fields", handler);
+    }
+
+    Request listMetadataFieldsRequest() {
+        return new Request(HttpMethod.GET, Collections.singletonList("metadata_fields"), Collections.<String, Object>emptyMap(), Collections.emptyMap());
     }
 
     /**
@@ -733,7 +1083,11 @@ public class Api {
      * @throws Exception
      */
     public ApiResponse metadataFieldByFieldId(String fieldExternalId) throws Exception {
-        return callApi(HttpMethod.GET, Arrays.asList("metadata_fields", fieldExternalId), Collections.<String, Object>emptyMap(), Collections.emptyMap());
+        return callApi(metadataFieldByFieldIdRequest(fieldExternalId));
+    }
+
+    Request metadataFieldByFieldIdRequest(String fieldExternalId) {
+        return new Request(HttpMethod.GET, Arrays.asList("metadata_fields", fieldExternalId), Collections.<String, Object>emptyMap(), Collections.emptyMap());
     }
 
     /**
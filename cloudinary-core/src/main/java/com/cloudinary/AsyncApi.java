@@ -0,0 +1,242 @@
+package com.cloudinary;
+
+import com.cloudinary.Api.HttpMethod;
+import com.cloudinary.api.ApiResponse;
+import com.cloudinary.api.ApiResponseCache;
+import com.cloudinary.api.RateLimiter;
+import com.cloudinary.strategies.AbstractAsyncApiStrategy;
+import com.cloudinary.utils.ObjectUtils;
+
+import java.text.ParseException;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Non-blocking variant of {@link Api}. Every call returns immediately with a {@link CompletableFuture} that is
+ * completed with the response, or exceptionally with the same exception types {@link Api} throws
+ * ({@link com.cloudinary.api.exceptions.NotFound}, {@link com.cloudinary.api.exceptions.RateLimited}, ...).
+ * <p>
+ * Calls that have no dedicated method here can be issued through {@link #callApi(HttpMethod, Iterable, Map, Map)}.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class AsyncApi {
+
+    public final Cloudinary cloudinary;
+
+    private final Api api;
+    private final AbstractAsyncApiStrategy strategy;
+
+    public AsyncApi(Cloudinary cloudinary, AbstractAsyncApiStrategy strategy) {
+        this.cloudinary = cloudinary;
+        this.api = cloudinary.api();
+        this.strategy = strategy;
+        this.strategy.init(this);
+    }
+
+    public AbstractAsyncApiStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Sends an Admin API request without blocking the calling thread.
+     *
+     * @param method  the HTTP method
+     * @param uri     the path components following the cloud name, e.g. {@code ["resources", "image"]}
+     * @param params  the request parameters
+     * @param options the call options (credentials, cloud name, timeouts, content type)
+     * @return a future completed with the API response
+     */
+    public CompletableFuture<ApiResponse> callApi(HttpMethod method, Iterable<String> uri, Map<String, ? extends Object> params, Map options) {
+        try {
+            if (options == null)
+                options = ObjectUtils.emptyMap();
+
+            String apiKey = ObjectUtils.asString(options.get("api_key"), this.cloudinary.config.apiKey);
+            String apiSecret = ObjectUtils.asString(options.get("api_secret"), this.cloudinary.config.apiSecret);
+            String oauthToken = ObjectUtils.asString(options.get("oauth_token"), this.cloudinary.config.oauthToken);
+
+            api.validateAuthorization(apiKey, apiSecret, oauthToken);
+
+            String authorizationHeader = api.getAuthorizationHeaderValue(apiKey, apiSecret, oauthToken);
+            String apiUrl = api.createApiUrl(uri, options);
+            RateLimiter rateLimiter = api.rateLimiter(options);
+            CompletableFuture<ApiResponse> result = rateLimiter != null
+                    ? callPaced(rateLimiter, method, apiUrl, params, options, authorizationHeader)
+                    : this.strategy.callApi(method, apiUrl, params, options, authorizationHeader);
+            final ApiResponseCache cache = (ApiResponseCache) this.cloudinary.config.properties.get("apiResponseCache");
+            if (cache != null && Api.modifiesData(method, uri)) {
+                final String action = Api.action(uri);
+                result.whenComplete((response, error) -> cache.invalidate(action));
+            }
+            return result;
+        } catch (RuntimeException e) {
+            CompletableFuture<ApiResponse> failed = new CompletableFuture<ApiResponse>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    /**
+     * Sends the request once the rate limiter allows it, the request is scheduled rather than waited for. The limits
+     * reported by the response update the limiter.
+     */
+    private CompletableFuture<ApiResponse> callPaced(final RateLimiter rateLimiter, final HttpMethod method, final String apiUrl,
+                                                     final Map<String, ? extends Object> params, final Map options, final String authorizationHeader) {
+        final CompletableFuture<ApiResponse> result = new CompletableFuture<ApiResponse>();
+        // the call in flight or the scheduled one
+        final AtomicReference<Future<?>> pending = new AtomicReference<Future<?>>();
+        Runnable send = () -> {
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<ApiResponse> call;
+            try {
+                call = this.strategy.callApi(method, apiUrl, params, options, authorizationHeader);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            pending.set(call);
+            call.whenComplete((response, error) -> {
+                if (error instanceof CancellationException) {
+                    result.cancel(false);
+                } else if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    try {
+                        rateLimiter.update(response.rateLimits());
+                    } catch (ParseException e) {
+                        // pacing is best effort, the call itself succeeded
+                    }
+                    result.complete(response);
+                }
+            });
+        };
+
+        long delay = rateLimiter.reserve(RateLimiter.API_FEATURE);
+        if (delay > 0) {
+            try {
+                pending.set(this.cloudinary.asyncScheduler().schedule(send, delay, TimeUnit.MILLISECONDS));
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+            }
+        } else {
+            send.run();
+        }
+
+        // cancelling the returned future cancels the call in flight or the scheduled one
+        result.whenComplete((response, error) -> {
+            Future<?> call = pending.get();
+            if (result.isCancelled() && call != null) {
+                call.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<ApiResponse> callApi(Api.Request request) {
+        return callApi(request.method, request.uri, request.params, request.options);
+    }
+
+    public CompletableFuture<ApiResponse> ping(Map options) {
+        return callApi(api.pingRequest(options));
+    }
+
+    public CompletableFuture<ApiResponse> usage(Map options) {
+        return callApi(api.usageRequest(options));
+    }
+
+    public CompletableFuture<ApiResponse> resourceTypes(Map options) {
+        return callApi(api.resourceTypesRequest(options));
+    }
+
+    public CompletableFuture<ApiResponse> resources(Map options) {
+        return callApi(api.resourcesRequest(options));
+    }
+
+    public CompletableFuture<ApiResponse> resourcesByTag(String tag, Map options) {
+        return callApi(api.resourcesByTagRequest(tag, options));
+    }
+
+    public CompletableFuture<ApiResponse> resourcesByIds(Iterable<String> publicIds, Map options) {
+        return callApi(api.resourcesByIdsRequest(publicIds, options));
+    }
+
+    public CompletableFuture<ApiResponse> resourcesByAssetIDs(Iterable<String> assetIds, Map options) {
+        return callApi(api.resourcesByAssetIDsRequest(assetIds, options));
+    }
+
+    public CompletableFuture<ApiResponse> resource(String public_id, Map options) {
+        return callApi(api.resourceRequest(public_id, options));
+    }
+
+    public CompletableFuture<ApiResponse> resourceByAssetID(String assetId, Map options) {
+        return callApi(api.resourceByAssetIDRequest(assetId, options));
+    }
+
+    public CompletableFuture<ApiResponse> update(String public_id, Map options) {
+        return callApi(api.updateRequest(public_id, options));
+    }
+
+    public CompletableFuture<ApiResponse> deleteResources(Iterable<String> publicIds, Map options) {
+        return callApi(api.deleteResourcesRequest(publicIds, options));
+    }
+
+    public CompletableFuture<ApiResponse> deleteResourcesByTag(String tag, Map options) {
+        return callApi(api.deleteResourcesByTagRequest(tag, options));
+    }
+
+    public CompletableFuture<ApiResponse> tags(Map options) {
+        return callApi(api.tagsRequest(options));
+    }
+
+    public CompletableFuture<ApiResponse> transformations(Map options) {
+        return callApi(api.transformationsRequest(options));
+    }
+
+    public CompletableFuture<ApiResponse> transformation(String transformation, Map options) {
+        return callApi(api.transformationRequest(transformation, options));
+    }
+
+    public CompletableFuture<ApiResponse> uploadPresets(Map options) {
+        return callApi(api.uploadPresetsRequest(options));
+    }
+
+    public CompletableFuture<ApiResponse> uploadPreset(String name, Map options) {
+        return callApi(api.uploadPresetRequest(name, options));
+    }
+
+    public CompletableFuture<ApiResponse> rootFolders(Map options) {
+        return callApi(api.rootFoldersRequest(options));
+    }
+
+    public CompletableFuture<ApiResponse> subFolders(String ofFolderPath, Map options) {
+        return callApi(api.subFoldersRequest(ofFolderPath, options));
+    }
+
+    /**
+     * List all the metadata field definitions (structure, not values)
+     */
+    public CompletableFuture<ApiResponse> listMetadataFields() {
+        return callApi(api.listMetadataFieldsRequest());
+    }
+
+    /**
+     * Get a metadata field definition by id
+     */
+    public CompletableFuture<ApiResponse> metadataFieldByFieldId(String fieldExternalId) {
+        return callApi(api.metadataFieldByFieldIdRequest(fieldExternalId));
+    }
+
+    /**
+     * Executes a search expression, see {@link Search#toQuery()} for building the query.
+     */
+    public CompletableFuture<ApiResponse> search(Map<String, Object> query) {
+        return callApi(HttpMethod.POST, Arrays.asList("resources", "search"), query, ObjectUtils.asMap("content_type", "json"));
+    }
+}
@@ -1,31 +1,45 @@
 package com.cloudinary;
 
+import com.cloudinary.api.RateLimiter;
+import com.cloudinary.api.RequestCoalescer;
 import com.cloudinary.api.signing.ApiResponseSignatureVerifier;
 import com.cloudinary.api.signing.NotificationRequestSignatureVerifier;
+import com.cloudinary.bulk.BulkExecutor;
 import com.cloudinary.strategies.AbstractApiStrategy;
+import com.cloudinary.strategies.AbstractAsyncApiStrategy;
 import com.cloudinary.strategies.AbstractUploaderStrategy;
 import com.cloudinary.strategies.StrategyLoader;
+import com.cloudinary.upload.FileUploadCheckpointStore;
+import com.cloudinary.upload.UploadCheckpointStore;
 import com.cloudinary.utils.Analytics;
+import com.cloudinary.utils.BufferPool;
 import com.cloudinary.utils.ObjectUtils;
 import com.cloudinary.utils.StringUtils;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.security.SecureRandom;
 import java.util.*;
+import java.util.concurrent.*;
 
 import static com.cloudinary.Util.buildMultiParams;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
-public class Cloudinary {
+public class Cloudinary implements Closeable {
 
     public static List<String> UPLOAD_STRATEGIES = new ArrayList<String>(Arrays.asList(
             "com.cloudinary.android.UploaderStrategy",
-            "com.cloudinary.http5.UploaderStrategy"));
+            "com.cloudinary.http5.UploaderStrategy",
+            "com.cloudinary.jdkhttp.UploaderStrategy"));
     public static List<String> API_STRATEGIES = new ArrayList<String>(Arrays.asList(
             "com.cloudinary.android.ApiStrategy",
-            "com.cloudinary.http5.ApiStrategy"));
+            "com.cloudinary.http5.ApiStrategy",
+            "com.cloudinary.jdkhttp.ApiStrategy"));
+    public static List<String> ASYNC_API_STRATEGIES = new ArrayList<String>(Arrays.asList(
+            "com.cloudinary.http5.AsyncApiStrategy",
+            "com.cloudinary.jdkhttp.AsyncApiStrategy"));
 
     public final static String CF_SHARED_CDN = "d3jpl91pxevbkh.cloudfront.net";
     public final static String OLD_AKAMAI_SHARED_CDN = "cloudinary-a.akamaihd.net";
@@ -39,16 +53,156 @@ public class Cloudinary {
     public final Configuration config;
     private AbstractUploaderStrategy uploaderStrategy;
     private AbstractApiStrategy apiStrategy;
+    private AbstractAsyncApiStrategy asyncApiStrategy;
+    private volatile BufferPool uploadBufferPool;
+    private volatile UploadCheckpointStore uploadCheckpointStore;
+    private volatile RequestCoalescer requestCoalescer;
+    // keyed by API key, or by cloud name for calls authorized with an OAuth token
+    private final ConcurrentMap<String, RateLimiter> rateLimiters = new ConcurrentHashMap<String, RateLimiter>();
+    private volatile BulkExecutor bulkExecutor;
+    private ScheduledExecutorService warmUpScheduler;
+    private volatile boolean warmUpStarted;
+    private volatile boolean closed;
+    private volatile ScheduledExecutorService asyncScheduler;
     private String userAgent = USER_AGENT_PREFIX+"/"+ VERSION + " "+USER_AGENT_JAVA_VERSION;
     public Analytics analytics = new Analytics();
     public Uploader uploader() {
+        startAutomaticWarmUp();
         return new Uploader(this, uploaderStrategy);
     }
 
     public Api api() {
+        startAutomaticWarmUp();
         return new Api(this, apiStrategy);
     }
 
+    /**
+     * @return a non-blocking Admin API client, available when an async platform adapter (such as cloudinary-http5)
+     * is on the classpath
+     */
+    public AsyncApi asyncApi() {
+        if (asyncApiStrategy == null) {
+            throw new UnknownError("Can't find Cloudinary async platform adapter [" + StringUtils.join(ASYNC_API_STRATEGIES, ",") + "]");
+        }
+        startAutomaticWarmUp();
+        return new AsyncApi(this, asyncApiStrategy);
+    }
+
+    /**
+     * @return the pool of chunk buffers shared by the chunked uploads of this instance
+     */
+    BufferPool uploadBufferPool() {
+        BufferPool result = uploadBufferPool;
+        if (result == null) {
+            synchronized (this) {
+                result = uploadBufferPool;
+                if (result == null) {
+                    uploadBufferPool = result = new BufferPool(config.uploadBufferPoolSize, config.uploadDirectBuffers);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the store set in the {@code uploadCheckpointStore} configuration property, or a
+     * {@link FileUploadCheckpointStore} in the temporary directory
+     */
+    UploadCheckpointStore uploadCheckpointStore() {
+        Object configured = config.properties.get("uploadCheckpointStore");
+        if (configured != null) {
+            return (UploadCheckpointStore) configured;
+        }
+        UploadCheckpointStore result = uploadCheckpointStore;
+        if (result == null) {
+            synchronized (this) {
+                result = uploadCheckpointStore;
+                if (result == null) {
+                    uploadCheckpointStore = result = new FileUploadCheckpointStore();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the coalescer shared by the Admin API GET requests of this instance
+     */
+    RequestCoalescer requestCoalescer() {
+        RequestCoalescer result = requestCoalescer;
+        if (result == null) {
+            synchronized (this) {
+                result = requestCoalescer;
+                if (result == null) {
+                    requestCoalescer = result = new RequestCoalescer();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param key the API key the limits apply to, not null
+     * @return the limiter pacing the Admin API calls of this instance made with the key
+     */
+    RateLimiter rateLimiter(String key) {
+        RateLimiter limiter = rateLimiters.get(key);
+        if (limiter == null) {
+            RateLimiter created = new RateLimiter();
+            limiter = rateLimiters.putIfAbsent(key, created);
+            if (limiter == null) {
+                limiter = created;
+            }
+        }
+        return limiter;
+    }
+
+    /**
+     * @return the scheduler delaying the retries of the non-blocking calls of this instance, no thread waits for them
+     */
+    public ScheduledExecutorService asyncScheduler() {
+        ScheduledExecutorService result = asyncScheduler;
+        if (result == null) {
+            synchronized (this) {
+                result = asyncScheduler;
+                if (result == null) {
+                    if (closed) {
+                        throw new RejectedExecutionException("The Cloudinary instance has been closed");
+                    }
+                    asyncScheduler = result = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable, "cloudinary-async-scheduler");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the executor shared by the bulk operations of this instance, running blocking {@link Uploader} and
+     * {@link Api} calls concurrently, on virtual threads when the JVM supports them
+     */
+    public BulkExecutor bulk() {
+        BulkExecutor result = bulkExecutor;
+        if (result == null) {
+            synchronized (this) {
+                result = bulkExecutor;
+                if (result == null) {
+                    if (closed) {
+                        throw new IllegalStateException("The Cloudinary instance has been closed");
+                    }
+                    bulkExecutor = result = BulkExecutor.forConfiguration(config);
+                }
+            }
+        }
+        return result;
+    }
+
     public Search search() {
         return new Search(this);
     }
@@ -70,6 +224,12 @@ public class Cloudinary {
         }
     }
 
+    public static void registerAsyncAPIStrategy(String className) {
+        if (!ASYNC_API_STRATEGIES.contains(className)) {
+            ASYNC_API_STRATEGIES.add(0, className);
+        }
+    }
+
     private void loadStrategies() {
         if (!this.config.loadStrategies) return;
         uploaderStrategy = StrategyLoader.find(UPLOAD_STRATEGIES);
@@ -82,6 +242,9 @@ public class Cloudinary {
         if (apiStrategy == null) {
             throw new UnknownError("Can't find Cloudinary platform adapter [" + StringUtils.join(API_STRATEGIES, ",") + "]");
         }
+
+        // the async adapter is optional, asyncApi() reports its absence
+        asyncApiStrategy = StrategyLoader.find(ASYNC_API_STRATEGIES);
     }
 
     public Cloudinary(Map config) {
@@ -103,10 +266,151 @@ public class Cloudinary {
         loadStrategies();
     }
 
+    /**
+     * Opens connections to the API and upload hosts ahead of the first calls, so they don't pay for DNS resolution,
+     * connecting and the TLS handshake. Makes {@code connections} concurrent cheap requests through each of the API
+     * and upload strategies, the connections they opened stay pooled for later calls. The requests carry no
+     * credentials, so they do not count against the Admin API rate limit.
+     *
+     * @param connections the number of connections to open to each host
+     * @return whether both hosts responded to all the requests
+     */
+    public boolean warmUp(int connections) {
+        if (connections <= 0 || closed || apiStrategy == null || uploaderStrategy == null) {
+            return false;
+        }
+        // creating the facades initializes the strategies they share
+        final Api api = api();
+        uploader();
+        final AbstractUploaderStrategy uploadStrategy = uploaderStrategy;
+        ExecutorService executor = Executors.newFixedThreadPool(connections * 2, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "cloudinary-warm-up");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            List<Callable<Boolean>> calls = new ArrayList<Callable<Boolean>>();
+            for (int i = 0; i < connections; i++) {
+                calls.add(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        return api.warmUpConnection();
+                    }
+                });
+                calls.add(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        return uploadStrategy.warmUpConnection();
+                    }
+                });
+            }
+            boolean healthy = true;
+            for (Future<Boolean> result : executor.invokeAll(calls)) {
+                healthy &= result.get();
+            }
+            return healthy;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Warms up {@link Configuration#warmUpConnections} connections, see {@link #warmUp(int)}.
+     */
+    public boolean warmUp() {
+        return warmUp(Math.max(1, config.warmUpConnections));
+    }
+
+    private void startAutomaticWarmUp() {
+        if (!warmUpStarted && config.warmUpConnections > 0) {
+            startWarmUp();
+        }
+    }
+
+    /**
+     * Starts the automatic warm up in the background when {@link Configuration#warmUpConnections} is set, and
+     * repeats it every {@link Configuration#keepWarmInterval} seconds so idle pooled connections stay open. It is
+     * started by the first call to {@link #api()}, {@link #uploader()} or {@link #asyncApi()}, call this right after
+     * creating the instance to warm up ahead of them. Does nothing once started, or after {@link #close()}.
+     */
+    public synchronized void startWarmUp() {
+        if (warmUpStarted || closed || config.warmUpConnections <= 0 || apiStrategy == null) {
+            return;
+        }
+        warmUpStarted = true;
+        warmUpScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "cloudinary-warm-up-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        Runnable warmUp = new Runnable() {
+            @Override
+            public void run() {
+                warmUp(config.warmUpConnections);
+            }
+        };
+        if (config.keepWarmInterval > 0) {
+            warmUpScheduler.scheduleWithFixedDelay(warmUp, 0, config.keepWarmInterval, TimeUnit.SECONDS);
+        } else {
+            warmUpScheduler.execute(warmUp);
+        }
+    }
+
     public Url url() {
         return new Url(this);
     }
 
+    /**
+     * Releases the HTTP clients and connection pools held by the platform strategies of this instance.
+     * The {@link Api} and {@link Uploader} facades share these resources, so this should be called once the
+     * Cloudinary instance is no longer needed rather than after each call.
+     *
+     * @throws IOException if a strategy fails to release its resources
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            // the strategies and executors are not created again once closed
+            closed = true;
+            if (warmUpScheduler != null) {
+                warmUpScheduler.shutdownNow();
+            }
+            if (asyncScheduler != null) {
+                asyncScheduler.shutdownNow();
+            }
+            if (bulkExecutor != null) {
+                bulkExecutor.close();
+            }
+            rateLimiters.clear();
+        }
+        try {
+            if (uploaderStrategy != null) {
+                uploaderStrategy.close();
+            }
+        } finally {
+            try {
+                if (apiStrategy != null) {
+                    apiStrategy.close();
+                }
+            } finally {
+                if (asyncApiStrategy != null) {
+                    asyncApiStrategy.close();
+                }
+            }
+        }
+    }
+
     public String cloudinaryApiUrl(String action, Map options) {
         String cloudinary = ObjectUtils.asString(options.get("upload_prefix"),
                 ObjectUtils.asString(this.config.uploadPrefix, "https://api.cloudinary.com"));
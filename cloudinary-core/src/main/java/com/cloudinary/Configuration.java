@@ -22,6 +22,7 @@ public class Configuration {
     public static final boolean DEFAULT_IS_LONG_SIGNATURE = false;
     public static final SignatureAlgorithm DEFAULT_SIGNATURE_ALGORITHM = SignatureAlgorithm.SHA1;
     public static final int DEFAULT_SIGNATURE_VERSION = 2;
+    public static final int DEFAULT_UPLOAD_BUFFER_POOL_SIZE = 2;
 
     private static final String CONFIG_PROP_SIGNATURE_ALGORITHM = "signature_algorithm";
 
@@ -52,6 +53,26 @@ public class Configuration {
     public int signatureVersion = DEFAULT_SIGNATURE_VERSION;
     public String oauthToken = null;
     public Boolean analytics;
+    public int maxConcurrentUploads;
+    public int uploadBufferPoolSize = DEFAULT_UPLOAD_BUFFER_POOL_SIZE;
+    public boolean uploadDirectBuffers;
+    public boolean paceRateLimits;
+    public boolean coalesceGetRequests;
+    public int warmUpConnections;
+    public int keepWarmInterval;
+    public int idleConnectionTimeout;
+    public int maxConnectionsTotal;
+    public int maxConnectionsPerRoute;
+    public long connectionTtlMillis;
+    public long keepAliveMillis;
+    public int socketSendBufferSize;
+    public int socketReceiveBufferSize;
+    public long connectTimeoutMillis;
+    public long connectionRequestTimeoutMillis;
+    public long responseTimeoutMillis;
+    public long socketTimeoutMillis;
+    public int bulkConcurrency;
+    public boolean lazyApiResponses;
     public Configuration() {
     }
 
@@ -146,7 +167,26 @@ public class Configuration {
         this.signatureAlgorithm = SignatureAlgorithm.valueOf(ObjectUtils.asString(config.get(CONFIG_PROP_SIGNATURE_ALGORITHM), DEFAULT_SIGNATURE_ALGORITHM.name()));
         this.signatureVersion = ObjectUtils.asInteger(config.get("signature_version"), DEFAULT_SIGNATURE_VERSION);
         this.oauthToken = (String) config.get("oauth_token");
-
+        this.maxConcurrentUploads = ObjectUtils.asInteger(config.get("max_concurrent_uploads"), 0);
+        this.uploadBufferPoolSize = ObjectUtils.asInteger(config.get("upload_buffer_pool_size"), DEFAULT_UPLOAD_BUFFER_POOL_SIZE);
+        this.uploadDirectBuffers = ObjectUtils.asBoolean(config.get("upload_direct_buffers"), false);
+        this.paceRateLimits = ObjectUtils.asBoolean(config.get("pace_rate_limits"), false);
+        this.coalesceGetRequests = ObjectUtils.asBoolean(config.get("coalesce_get_requests"), false);
+        this.warmUpConnections = ObjectUtils.asInteger(config.get("warm_up_connections"), 0);
+        this.keepWarmInterval = ObjectUtils.asInteger(config.get("keep_warm_interval"), 0);
+        this.idleConnectionTimeout = ObjectUtils.asInteger(config.get("idle_connection_timeout"), 0);
+        this.maxConnectionsTotal = ObjectUtils.asInteger(config.get("max_connections_total"), 0);
+        this.maxConnectionsPerRoute = ObjectUtils.asInteger(config.get("max_connections_per_route"), 0);
+        this.connectionTtlMillis = ObjectUtils.asLong(config.get("connection_ttl_ms"), 0L);
+        this.keepAliveMillis = ObjectUtils.asLong(config.get("keep_alive_ms"), 0L);
+        this.socketSendBufferSize = ObjectUtils.asInteger(config.get("socket_send_buffer_size"), 0);
+        this.socketReceiveBufferSize = ObjectUtils.asInteger(config.get("socket_receive_buffer_size"), 0);
+        this.connectTimeoutMillis = ObjectUtils.asLong(config.get("connect_timeout_ms"), 0L);
+        this.connectionRequestTimeoutMillis = ObjectUtils.asLong(config.get("connection_request_timeout_ms"), 0L);
+        this.responseTimeoutMillis = ObjectUtils.asLong(config.get("response_timeout_ms"), 0L);
+        this.socketTimeoutMillis = ObjectUtils.asLong(config.get("socket_timeout_ms"), 0L);
+        this.bulkConcurrency = ObjectUtils.asInteger(config.get("bulk_concurrency"), 0);
+        this.lazyApiResponses = ObjectUtils.asBoolean(config.get("lazy_api_responses"), false);
     }
 
     @SuppressWarnings("rawtypes")
@@ -181,6 +221,26 @@ public class Configuration {
         map.put("signature_version", signatureVersion);
         map.put("oauth_token", oauthToken);
         map.put("analytics", analytics);
+        map.put("max_concurrent_uploads", maxConcurrentUploads);
+        map.put("upload_buffer_pool_size", uploadBufferPoolSize);
+        map.put("upload_direct_buffers", uploadDirectBuffers);
+        map.put("pace_rate_limits", paceRateLimits);
+        map.put("coalesce_get_requests", coalesceGetRequests);
+        map.put("warm_up_connections", warmUpConnections);
+        map.put("keep_warm_interval", keepWarmInterval);
+        map.put("idle_connection_timeout", idleConnectionTimeout);
+        map.put("max_connections_total", maxConnectionsTotal);
+        map.put("max_connections_per_route", maxConnectionsPerRoute);
+        map.put("connection_ttl_ms", connectionTtlMillis);
+        map.put("keep_alive_ms", keepAliveMillis);
+        map.put("socket_send_buffer_size", socketSendBufferSize);
+        map.put("socket_receive_buffer_size", socketReceiveBufferSize);
+        map.put("connect_timeout_ms", connectTimeoutMillis);
+        map.put("connection_request_timeout_ms", connectionRequestTimeoutMillis);
+        map.put("response_timeout_ms", responseTimeoutMillis);
+        map.put("socket_timeout_ms", socketTimeoutMillis);
+        map.put("bulk_concurrency", bulkConcurrency);
+        map.put("lazy_api_responses", lazyApiResponses);
         return map;
     }
 
@@ -215,6 +275,26 @@ public class Configuration {
         this.signatureVersion = other.signatureVersion;
         this.oauthToken = other.oauthToken;
         this.analytics = other.analytics;
+        this.maxConcurrentUploads = other.maxConcurrentUploads;
+        this.uploadBufferPoolSize = other.uploadBufferPoolSize;
+        this.uploadDirectBuffers = other.uploadDirectBuffers;
+        this.paceRateLimits = other.paceRateLimits;
+        this.coalesceGetRequests = other.coalesceGetRequests;
+        this.warmUpConnections = other.warmUpConnections;
+        this.keepWarmInterval = other.keepWarmInterval;
+        this.idleConnectionTimeout = other.idleConnectionTimeout;
+        this.maxConnectionsTotal = other.maxConnectionsTotal;
+        this.maxConnectionsPerRoute = other.maxConnectionsPerRoute;
+        this.connectionTtlMillis = other.connectionTtlMillis;
+        this.keepAliveMillis = other.keepAliveMillis;
+        this.socketSendBufferSize = other.socketSendBufferSize;
+        this.socketReceiveBufferSize = other.socketReceiveBufferSize;
+        this.connectTimeoutMillis = other.connectTimeoutMillis;
+        this.connectionRequestTimeoutMillis = other.connectionRequestTimeoutMillis;
+        this.responseTimeoutMillis = other.responseTimeoutMillis;
+        this.socketTimeoutMillis = other.socketTimeoutMillis;
+        this.bulkConcurrency = other.bulkConcurrency;
+        this.lazyApiResponses = other.lazyApiResponses;
     }
 
     /**
@@ -330,6 +410,26 @@ public class Configuration {
         private int signatureVersion = DEFAULT_SIGNATURE_VERSION;
         private String oauthToken = null;
         private boolean analytics;
+        private int maxConcurrentUploads;
+        private int uploadBufferPoolSize = DEFAULT_UPLOAD_BUFFER_POOL_SIZE;
+        private boolean uploadDirectBuffers;
+        private boolean paceRateLimits;
+        private boolean coalesceGetRequests;
+        private int warmUpConnections;
+        private int keepWarmInterval;
+        private int idleConnectionTimeout;
+        private int maxConnectionsTotal;
+        private int maxConnectionsPerRoute;
+        private long connectionTtlMillis;
+        private long keepAliveMillis;
+        private int socketSendBufferSize;
+        private int socketReceiveBufferSize;
+        private long connectTimeoutMillis;
+        private long connectionRequestTimeoutMillis;
+        private long responseTimeoutMillis;
+        private long socketTimeoutMillis;
+        private int bulkConcurrency;
+        private boolean lazyApiResponses;
 
         /**
          * Set the HTTP connection timeout.
@@ -372,6 +472,26 @@ public class Configuration {
                             oauthToken,
                             analytics);
             configuration.clientHints = clientHints;
+            configuration.maxConcurrentUploads = maxConcurrentUploads;
+            configuration.uploadBufferPoolSize = uploadBufferPoolSize;
+            configuration.uploadDirectBuffers = uploadDirectBuffers;
+            configuration.paceRateLimits = paceRateLimits;
+            configuration.coalesceGetRequests = coalesceGetRequests;
+            configuration.warmUpConnections = warmUpConnections;
+            configuration.keepWarmInterval = keepWarmInterval;
+            configuration.idleConnectionTimeout = idleConnectionTimeout;
+            configuration.maxConnectionsTotal = maxConnectionsTotal;
+            configuration.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            configuration.connectionTtlMillis = connectionTtlMillis;
+            configuration.keepAliveMillis = keepAliveMillis;
+            configuration.socketSendBufferSize = socketSendBufferSize;
+            configuration.socketReceiveBufferSize = socketReceiveBufferSize;
+            configuration.connectTimeoutMillis = connectTimeoutMillis;
+            configuration.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+            configuration.responseTimeoutMillis = responseTimeoutMillis;
+            configuration.socketTimeoutMillis = socketTimeoutMillis;
+            configuration.bulkConcurrency = bulkConcurrency;
+            configuration.lazyApiResponses = lazyApiResponses;
             return configuration;
         }
 
@@ -519,6 +639,237 @@ public class Configuration {
             return this;
         }
 
+        /**
+         * Set the maximum number of asynchronous uploads in flight at once.
+         * Callers starting more uploads block until a running one completes.
+         *
+         * @param maxConcurrentUploads the maximum number of in-flight asynchronous uploads, or 0 for no limit
+         * @return builder for chaining
+         */
+        public Builder setMaxConcurrentUploads(int maxConcurrentUploads) {
+            this.maxConcurrentUploads = maxConcurrentUploads;
+            return this;
+        }
+
+        /**
+         * Set the number of chunk buffers kept for reuse by chunked uploads.
+         * Buffers beyond this number are allocated on demand and left to the garbage collector.
+         *
+         * @param uploadBufferPoolSize the number of retained buffers, or 0 to disable pooling
+         * @return builder for chaining
+         */
+        public Builder setUploadBufferPoolSize(int uploadBufferPoolSize) {
+            this.uploadBufferPoolSize = uploadBufferPoolSize;
+            return this;
+        }
+
+        /**
+         * Allocate chunked upload buffers outside of the Java heap.
+         *
+         * @param uploadDirectBuffers whether to use direct byte buffers
+         * @return builder for chaining
+         */
+        public Builder setUploadDirectBuffers(boolean uploadDirectBuffers) {
+            this.uploadDirectBuffers = uploadDirectBuffers;
+            return this;
+        }
+
+        /**
+         * Set whether Admin API calls are paced to stay within the rate limits reported by the server.
+         * The calls of a Cloudinary instance made with the same API key share one {@link com.cloudinary.api.RateLimiter},
+         * calls authorized with an OAuth token share the limiter of their cloud. {@link com.cloudinary.AsyncApi} calls are paced too, they are
+         * sent once their turn comes without a thread waiting for it.
+         *
+         * @param paceRateLimits whether to pace Admin API calls
+         * @return builder for chaining
+         */
+        public Builder setPaceRateLimits(boolean paceRateLimits) {
+            this.paceRateLimits = paceRateLimits;
+            return this;
+        }
+
+        /**
+         * Set whether concurrent identical Admin API GET requests share a single call. Each caller receives its own
+         * copy of the response.
+         *
+         * @param coalesceGetRequests whether to coalesce identical GET requests
+         * @return builder for chaining
+         */
+        public Builder setCoalesceGetRequests(boolean coalesceGetRequests) {
+            this.coalesceGetRequests = coalesceGetRequests;
+            return this;
+        }
+
+        /**
+         * Set the number of connections to the API and upload hosts opened in the background when the Cloudinary
+         * instance is first used, see {@link Cloudinary#startWarmUp()} and {@link Cloudinary#warmUp(int)}.
+         *
+         * @param warmUpConnections the number of connections to open, 0 to not warm up automatically
+         * @return builder for chaining
+         */
+        public Builder setWarmUpConnections(int warmUpConnections) {
+            this.warmUpConnections = warmUpConnections;
+            return this;
+        }
+
+        /**
+         * Set how often the automatic warm up is repeated, keeping the pooled connections open while the client is
+         * idle. The warm up requests carry no credentials and do not count against the Admin API rate limit.
+         *
+         * @param keepWarmInterval the interval in seconds, 0 to only warm up once
+         * @return builder for chaining
+         */
+        public Builder setKeepWarmInterval(int keepWarmInterval) {
+            this.keepWarmInterval = keepWarmInterval;
+            return this;
+        }
+
+        /**
+         * Set how long pooled connections may stay idle before they are closed by a background evictor.
+         *
+         * @param idleConnectionTimeout the idle time in seconds, 0 to keep idle connections until the server closes them
+         * @return builder for chaining
+         */
+        public Builder setIdleConnectionTimeout(int idleConnectionTimeout) {
+            this.idleConnectionTimeout = idleConnectionTimeout;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of pooled connections of each HTTP client.
+         *
+         * @param maxConnectionsTotal the maximum number of connections, 0 to use the platform default
+         * @return builder for chaining
+         */
+        public Builder setMaxConnectionsTotal(int maxConnectionsTotal) {
+            this.maxConnectionsTotal = maxConnectionsTotal;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of pooled connections of each HTTP client to a single host.
+         *
+         * @param maxConnectionsPerRoute the maximum number of connections per host, 0 to use the platform default
+         * @return builder for chaining
+         */
+        public Builder setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            return this;
+        }
+
+        /**
+         * Set how long a pooled connection may be reused after it was opened.
+         *
+         * @param connectionTtlMillis the time to live in milliseconds, 0 for no limit
+         * @return builder for chaining
+         */
+        public Builder setConnectionTtlMillis(long connectionTtlMillis) {
+            this.connectionTtlMillis = connectionTtlMillis;
+            return this;
+        }
+
+        /**
+         * Set how long an idle connection is kept for reuse, overriding the Keep-Alive header of the server.
+         *
+         * @param keepAliveMillis the keep alive duration in milliseconds, 0 to follow the server
+         * @return builder for chaining
+         */
+        public Builder setKeepAliveMillis(long keepAliveMillis) {
+            this.keepAliveMillis = keepAliveMillis;
+            return this;
+        }
+
+        /**
+         * Set the size of the socket send buffer (SO_SNDBUF), larger buffers speed up uploads over links with high
+         * latency.
+         *
+         * @param socketSendBufferSize the buffer size in bytes, 0 to use the system default
+         * @return builder for chaining
+         */
+        public Builder setSocketSendBufferSize(int socketSendBufferSize) {
+            this.socketSendBufferSize = socketSendBufferSize;
+            return this;
+        }
+
+        /**
+         * Set the size of the socket receive buffer (SO_RCVBUF).
+         *
+         * @param socketReceiveBufferSize the buffer size in bytes, 0 to use the system default
+         * @return builder for chaining
+         */
+        public Builder setSocketReceiveBufferSize(int socketReceiveBufferSize) {
+            this.socketReceiveBufferSize = socketReceiveBufferSize;
+            return this;
+        }
+
+        /**
+         * Set the timeout for establishing a connection, overriding {@link #setTimeout(int)}.
+         *
+         * @param connectTimeoutMillis the timeout in milliseconds, 0 to use {@link #setTimeout(int)}
+         * @return builder for chaining
+         */
+        public Builder setConnectTimeoutMillis(long connectTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Set the timeout for obtaining a connection from the pool, overriding {@link #setTimeout(int)}.
+         *
+         * @param connectionRequestTimeoutMillis the timeout in milliseconds, 0 to use {@link #setTimeout(int)}
+         * @return builder for chaining
+         */
+        public Builder setConnectionRequestTimeoutMillis(long connectionRequestTimeoutMillis) {
+            this.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Set the timeout for receiving the response once the request was sent, overriding {@link #setTimeout(int)}.
+         *
+         * @param responseTimeoutMillis the timeout in milliseconds, 0 to use {@link #setTimeout(int)}
+         * @return builder for chaining
+         */
+        public Builder setResponseTimeoutMillis(long responseTimeoutMillis) {
+            this.responseTimeoutMillis = responseTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Set the maximum time a connection may wait for data (SO_TIMEOUT).
+         *
+         * @param socketTimeoutMillis the timeout in milliseconds, 0 to use the platform default
+         * @return builder for chaining
+         */
+        public Builder setSocketTimeoutMillis(long socketTimeoutMillis) {
+            this.socketTimeoutMillis = socketTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of tasks of {@link Cloudinary#bulk()} running at once.
+         *
+         * @param bulkConcurrency the maximum number of running bulk tasks, or 0 for the default of the executor
+         * @return builder for chaining
+         */
+        public Builder setBulkConcurrency(int bulkConcurrency) {
+            this.bulkConcurrency = bulkConcurrency;
+            return this;
+        }
+
+        /**
+         * Set whether Admin API responses are returned as lazy views of the response body. Nested objects and
+         * arrays are only parsed when first read, which saves the work of building parts of large responses that are
+         * never used. The body is kept in memory as long as any part of the response is referenced.
+         *
+         * @param lazyApiResponses true to parse nested objects and arrays on first access
+         * @return builder for chaining
+         */
+        public Builder setLazyApiResponses(boolean lazyApiResponses) {
+            this.lazyApiResponses = lazyApiResponses;
+            return this;
+        }
+
         /**
          * Initialize builder from existing {@link Configuration}
          *
@@ -552,6 +903,26 @@ public class Configuration {
             this.signatureVersion = other.signatureVersion;
             this.oauthToken = other.oauthToken;
             this.analytics = other.analytics;
+            this.maxConcurrentUploads = other.maxConcurrentUploads;
+            this.uploadBufferPoolSize = other.uploadBufferPoolSize;
+            this.uploadDirectBuffers = other.uploadDirectBuffers;
+            this.paceRateLimits = other.paceRateLimits;
+            this.coalesceGetRequests = other.coalesceGetRequests;
+            this.warmUpConnections = other.warmUpConnections;
+            this.keepWarmInterval = other.keepWarmInterval;
+            this.idleConnectionTimeout = other.idleConnectionTimeout;
+            this.maxConnectionsTotal = other.maxConnectionsTotal;
+            this.maxConnectionsPerRoute = other.maxConnectionsPerRoute;
+            this.connectionTtlMillis = other.connectionTtlMillis;
+            this.keepAliveMillis = other.keepAliveMillis;
+            this.socketSendBufferSize = other.socketSendBufferSize;
+            this.socketReceiveBufferSize = other.socketReceiveBufferSize;
+            this.connectTimeoutMillis = other.connectTimeoutMillis;
+            this.connectionRequestTimeoutMillis = other.connectionRequestTimeoutMillis;
+            this.responseTimeoutMillis = other.responseTimeoutMillis;
+            this.socketTimeoutMillis = other.socketTimeoutMillis;
+            this.bulkConcurrency = other.bulkConcurrency;
+            this.lazyApiResponses = other.lazyApiResponses;
             return this;
         }
     }
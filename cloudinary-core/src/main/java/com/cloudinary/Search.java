@@ -1,6 +1,7 @@
 package com.cloudinary;
 
 import com.cloudinary.api.ApiResponse;
+import com.cloudinary.api.ElementHandler;
 import com.cloudinary.utils.Base64Coder;
 import com.cloudinary.utils.ObjectUtils;
 import com.cloudinary.utils.StringUtils;
@@ -106,6 +107,16 @@ public class Search {
         return this.api.callApi(Api.HttpMethod.POST, Arrays.asList("resources", "search"), this.toQuery(), options);
     }
 
+    /**
+     * Runs the search like {@link #execute()}, passing each result to the handler as it is parsed from the response
+     * instead of returning them. The response holds the other fields such as {@code total_count} and
+     * {@code next_cursor}.
+     */
+    public ApiResponse execute(ElementHandler<Map<String, Object>> handler) throws Exception {
+        Map<String, String> options = ObjectUtils.asMap("content_type", "json");
+        return this.api.callApi(Api.HttpMethod.POST, Arrays.asList("resources", "search"), this.toQuery(), options, "resources", handler);
+    }
+
 
     public String toUrl() throws Exception {
         return toUrl(null, null);
@@ -1,6 +1,7 @@
 package com.cloudinary;
 
 import com.cloudinary.api.ApiResponse;
+import com.cloudinary.api.ElementHandler;
 import com.cloudinary.utils.ObjectUtils;
 
 import java.util.Arrays;
@@ -16,4 +17,14 @@ public class SearchFolders extends Search {
         Map<String, String> options = ObjectUtils.asMap("content_type", "json");
         return this.api.callApi(Api.HttpMethod.POST, Arrays.asList("folders", "search"), this.toQuery(), options);
     }
+
+    /**
+     * Runs the search like {@link #execute()}, passing each folder to the handler as it is parsed from the response
+     * instead of returning them. The response holds the other fields such as {@code total_count} and
+     * {@code next_cursor}.
+     */
+    public ApiResponse execute(ElementHandler<Map<String, Object>> handler) throws Exception {
+        Map<String, String> options = ObjectUtils.asMap("content_type", "json");
+        return this.api.callApi(Api.HttpMethod.POST, Arrays.asList("folders", "search"), this.toQuery(), options, "folders", handler);
+    }
 }
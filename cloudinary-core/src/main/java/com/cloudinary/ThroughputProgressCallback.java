@@ -0,0 +1,15 @@
+package com.cloudinary;
+
+/**
+ * A {@link ProgressCallback} that is also told the current upload throughput, which makes stalled transfers
+ * visible long before a socket timeout.
+ */
+public interface ThroughputProgressCallback extends ProgressCallback {
+    /**
+     * Invoked periodically while data is being sent.
+     * @param bytesUploaded the number of bytes uploaded so far
+     * @param totalBytes the total number of byte to upload - if known
+     * @param bytesPerSecond the throughput measured since the previous invocation
+     */
+    void onThroughput(long bytesUploaded, long totalBytes, double bytesPerSecond);
+}
@@ -1,12 +1,29 @@
 package com.cloudinary;
 
+import com.cloudinary.api.ApiResponseCache;
+import com.cloudinary.api.ResourceInfo;
+import com.cloudinary.api.ResponseDecoder;
 import com.cloudinary.strategies.AbstractUploaderStrategy;
+import com.cloudinary.upload.AdaptiveChunkSizer;
+import com.cloudinary.upload.FileUploadCheckpointStore;
+import com.cloudinary.upload.UploadCheckpoint;
+import com.cloudinary.upload.UploadCheckpointStore;
+import com.cloudinary.utils.BufferPool;
 import com.cloudinary.utils.ObjectUtils;
 import com.cloudinary.utils.StringUtils;
+import com.cloudinary.utils.ThroughputMeter;
 import org.cloudinary.json.JSONObject;
 
 import java.io.*;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.cloudinary.Util.buildGenerateSpriteParams;
 import static com.cloudinary.Util.buildMultiParams;
@@ -27,11 +44,54 @@ public class Uploader {
     }
 
     public Map callApi(String action, Map<String, Object> params, Map options, Object file) throws IOException {
-        return strategy.callApi(action, params, options, file, null);
+        return callApi(action, params, options, file, null);
     }
 
     public Map callApi(String action, Map<String, Object> params, Map options, Object file, ProgressCallback progressCallback) throws IOException {
-        return strategy.callApi(action, params, options, file, progressCallback);
+        try {
+            return strategy.callApi(action, params, options, file, progressCallback);
+        } finally {
+            invalidateApiResponseCache(action, params);
+        }
+    }
+
+    /**
+     * Calls the API like {@link #callApi(String, Map, Map, Object, ProgressCallback)}, binding a successful response
+     * with the decoder as it is read. Errors throw as if {@code return_error} was not set.
+     */
+    public <T> T callApi(String action, Map<String, Object> params, Map options, Object file, ProgressCallback progressCallback,
+                         ResponseDecoder<T> decoder) throws IOException {
+        try {
+            return strategy.callApi(action, params, options, file, progressCallback, decoder);
+        } finally {
+            invalidateApiResponseCache(action, params);
+        }
+    }
+
+    /**
+     * Drops the cached Admin API responses the uploader call may have made stale. Every call may create or change
+     * resources, tags only change when the call sets them, possibly through an upload preset, removes them or destroys
+     * a resource.
+     */
+    private void invalidateApiResponseCache(String action, Map<String, Object> params) {
+        ApiResponseCache cache = (ApiResponseCache) cloudinary.config.properties.get("apiResponseCache");
+        if (cache != null) {
+            cache.invalidate("resources");
+            if (action.equals("tags") || action.equals("destroy")
+                    || params != null && (params.get("tags") != null || params.get("upload_preset") != null)) {
+                cache.invalidate("tags");
+            }
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #callApi(String, Map, Map, Object)}.
+     */
+    public CompletableFuture<Map> callApiAsync(String action, Map<String, Object> params, Map options, Object file) {
+        CompletableFuture<Map> result = strategy.callApiAsync(action, params, options, file);
+        // the caller keeps the strategy's future so cancelling it still aborts the call
+        result.whenComplete((response, error) -> invalidateApiResponseCache(action, params));
+        return result;
     }
 
     private Cloudinary cloudinary;
@@ -76,6 +136,35 @@ public class Uploader {
         return callApi("upload", params, options, file, progressCallback);
     }
 
+    /**
+     * Uploads a file like {@link #upload(Object, Map)}, binding the result to a compact {@link ResourceInfo} as the
+     * response is read. The fields of the result not held by {@code ResourceInfo} are skipped, and errors throw as if
+     * {@code return_error} was not set.
+     */
+    public ResourceInfo uploadResource(Object file, Map options) throws IOException {
+        if (options == null)
+            options = ObjectUtils.emptyMap();
+        Map<String, Object> params = buildUploadParams(options);
+
+        return callApi("upload", params, options, file, null, ResourceInfo.decoder());
+    }
+
+    /**
+     * Uploads a file without blocking the calling thread while waiting for the server.
+     * When {@link Configuration#maxConcurrentUploads} uploads are already in flight this call blocks until one completes.
+     *
+     * @param file    the file to upload, see {@link #upload(Object, Map)}
+     * @param options the upload options
+     * @return a future completed with the upload result
+     */
+    public CompletableFuture<Map> uploadAsync(Object file, Map options) {
+        if (options == null)
+            options = ObjectUtils.emptyMap();
+        Map<String, Object> params = buildUploadParams(options);
+
+        return callApiAsync("upload", params, options, file);
+    }
+
     public Map uploadLargeRaw(Object file, Map options) throws IOException {
         return uploadLargeRaw(file, options, BUFFER_SIZE, null);
     }
@@ -115,6 +204,8 @@ public class Uploader {
 
     public Map uploadLarge(Object file, Map options, int bufferSize, long offset, String uniqueUploadId, ProgressCallback progressCallback) throws IOException {
         InputStream input;
+        File localFile = null;
+        FileChannel fileChannel = null;
         long length = -1;
         boolean remote = false;
         String filename = null;
@@ -123,7 +214,9 @@ public class Uploader {
         } else if (file instanceof File) {
             length = ((File) file).length();
             filename = ((File) file).getName();
+            localFile = (File) file;
             input = new FileInputStream((File) file);
+            fileChannel = ((FileInputStream) input).getChannel();
         } else if (file instanceof byte[]) {
             length = ((byte[]) file).length;
             input = new ByteArrayInputStream((byte[]) file);
@@ -135,7 +228,9 @@ public class Uploader {
                 File f = new File(file.toString());
                 length = f.length();
                 filename = f.getName();
+                localFile = f;
                 input = new FileInputStream(f);
+                fileChannel = ((FileInputStream) input).getChannel();
             }
         }
         try {
@@ -146,7 +241,11 @@ public class Uploader {
                 if (!options.containsKey("filename") && StringUtils.isNotBlank(filename)) {
                     options.put("filename", filename);
                 }
-                result = uploadLargeParts(input, options, bufferSize, length, offset, uniqueUploadId, progressCallback);
+                if (fileChannel != null) {
+                    result = uploadLargeFileParts(localFile, fileChannel, options, bufferSize, offset, uniqueUploadId, progressCallback);
+                } else {
+                    result = uploadLargeParts(input, options, bufferSize, length, offset, uniqueUploadId, progressCallback);
+                }
             }
             return result;
         } finally {
@@ -156,6 +255,40 @@ public class Uploader {
         }
     }
 
+    public Map resumeUploadLarge(File file) throws IOException {
+        return resumeUploadLarge(file, null, null);
+    }
+
+    public Map resumeUploadLarge(File file, Map options) throws IOException {
+        return resumeUploadLarge(file, options, null);
+    }
+
+    /**
+     * Uploads a local file in chunks like {@link #uploadLarge(Object, Map, ProgressCallback)}, continuing a previous
+     * upload of the same, unmodified file from its last checkpoint if one exists. Checkpoints are kept in the
+     * {@link UploadCheckpointStore} set in the {@code uploadCheckpointStore} configuration property, by default a
+     * {@link FileUploadCheckpointStore}, and are removed once the upload completes.
+     *
+     * @param file             the file to upload
+     * @param options          the upload options, should be the same as those of the interrupted upload
+     * @param progressCallback optional progress callback
+     * @return the response of the final part
+     */
+    public Map resumeUploadLarge(File file, Map options, ProgressCallback progressCallback) throws IOException {
+        Map sentOptions = new HashMap();
+        if (options != null) {
+            sentOptions.putAll(options);
+        }
+        sentOptions.put("checkpoint", true);
+
+        UploadCheckpoint checkpoint = cloudinary().uploadCheckpointStore().load(file.getCanonicalPath());
+        if (checkpoint != null && checkpoint.getFileLength() == file.length() && checkpoint.getLastModified() == file.lastModified()) {
+            return uploadLarge(file, sentOptions, checkpoint.getChunkSize(), checkpoint.getBytesAcknowledged(), checkpoint.getUploadId(), progressCallback);
+        }
+        int bufferSize = ObjectUtils.asInteger(sentOptions.get("chunk_size"), BUFFER_SIZE);
+        return uploadLarge(file, sentOptions, bufferSize, 0, null, progressCallback);
+    }
+
     private Map uploadLargeParts(InputStream input, Map options, int bufferSize, long length, long offset, String uniqueUploadId, final ProgressCallback progressCallback) throws IOException {
         Map params = buildUploadParams(options);
 
@@ -165,82 +298,459 @@ public class Uploader {
         extraHeaders.put("X-Unique-Upload-Id", StringUtils.isBlank(uniqueUploadId) ? cloudinary().randomPublicId() : uniqueUploadId);
         sentOptions.put("extra_headers", extraHeaders);
 
-        byte[] buffer = new byte[bufferSize];
-        byte[] nibbleBuffer = new byte[1];
+        BufferPool bufferPool = cloudinary().uploadBufferPool();
+        AdaptiveChunkSizer chunkSizer = createChunkSizer(options);
+        int parallelChunks = ObjectUtils.asInteger(options.get("parallel_chunks"), 1);
+        ParallelChunkUploader parallelUploader = parallelChunks > 1 ? new ParallelChunkUploader(parallelChunks, bufferPool, chunkSizer) : null;
+
+        int partSize = chunkSizer != null ? chunkSizer.nextChunkSize() : bufferSize;
+        ByteBuffer buffer = bufferPool.acquire(partSize);
+        // heap buffers are filled straight from the stream, only direct buffers go through a channel's copy
+        ReadableByteChannel channel = buffer.hasArray() ? null : Channels.newChannel(input);
+        int nibble = -1;
         int bytesRead = 0;
-        int currentBufferSize = 0;
-        int partNumber = 0;
+        long currentLoc = offset;
         long totalBytes = offset;
         Map response = null;
         final long knownLengthBeforeUpload = length;
         long totalBytesUploaded = offset;
-        input.skip(offset);
-        while (true) {
-            bytesRead = input.read(buffer, currentBufferSize, bufferSize - currentBufferSize);
-            boolean atEnd = bytesRead == -1;
-            boolean fullBuffer = !atEnd && (bytesRead + currentBufferSize) == bufferSize;
-            if (!atEnd) currentBufferSize += bytesRead;
-
-            if (atEnd || fullBuffer) {
-                totalBytes += currentBufferSize;
-                long currentLoc = offset + bufferSize * partNumber;
-                if (!atEnd) {
-                    //verify not on end - try read another byte
-                    bytesRead = input.read(nibbleBuffer, 0, 1);
-                    atEnd = bytesRead == -1;
-                }
-                if (atEnd) {
-                    if (length == -1) length = totalBytes;
-                    byte[] finalBuffer = new byte[currentBufferSize];
-                    System.arraycopy(buffer, 0, finalBuffer, 0, currentBufferSize);
-                    buffer = finalBuffer;
+        final AtomicLong concurrentBytesUploaded = new AtomicLong(offset);
+        final ThroughputMeter meter = new ThroughputMeter();
+        try {
+            input.skip(offset);
+            while (true) {
+                bytesRead = read(input, channel, buffer);
+                boolean atEnd = bytesRead == -1;
+                boolean fullBuffer = !atEnd && !buffer.hasRemaining();
+
+                if (atEnd || fullBuffer) {
+                    int currentBufferSize = buffer.position();
+                    totalBytes += currentBufferSize;
+                    if (!atEnd) {
+                        //verify not on end - try read another byte
+                        nibble = input.read();
+                        atEnd = nibble == -1;
+                    }
+                    if (atEnd && length == -1) length = totalBytes;
+                    // the part is sent as a view of the filled region, the final part is not copied to a smaller array
+                    ((Buffer) buffer).flip();
+                    Map partOptions = buildPartOptions(sentOptions, extraHeaders, currentLoc, currentBufferSize, length);
+                    Map sentParams = new HashMap();
+                    sentParams.putAll(params);
+                    ProgressCallback singlePartProgressCallback = wrapPartProgressCallback(progressCallback,
+                            parallelUploader != null ? concurrentBytesUploaded : null, meter, totalBytesUploaded, knownLengthBeforeUpload);
+
+                    if (parallelUploader == null) {
+                        long start = System.nanoTime();
+                        response = callApi("upload", sentParams, partOptions, toPart(buffer), singlePartProgressCallback);
+                        if (chunkSizer != null) chunkSizer.record(currentBufferSize, System.nanoTime() - start);
+                    } else if (atEnd) {
+                        // the final part is sent once all others are stored so its response describes the complete asset
+                        parallelUploader.awaitAll();
+                        response = callApi("upload", sentParams, partOptions, toPart(buffer), singlePartProgressCallback);
+                    } else {
+                        ByteBuffer part = buffer;
+                        buffer = null;
+                        parallelUploader.submit(sentParams, partOptions, part, singlePartProgressCallback, null, 0);
+                    }
+
+                    if (atEnd) break;
+                    partSize = chunkSizer != null ? chunkSizer.nextChunkSize() : bufferSize;
+                    if (buffer == null || buffer.capacity() < partSize) {
+                        bufferPool.release(buffer);
+                        buffer = bufferPool.acquire(partSize);
+                    }
+                    ((Buffer) buffer).clear();
+                    ((Buffer) buffer).limit(partSize);
+                    buffer.put((byte) nibble);
+                    totalBytesUploaded += currentBufferSize;
+                    currentLoc += currentBufferSize;
                 }
-                String range = String.format(Locale.US, "bytes %d-%d/%d", currentLoc, currentLoc + currentBufferSize - 1, length);
-                extraHeaders.put("Content-Range", range);
+            }
+        } finally {
+            if (parallelUploader != null) {
+                parallelUploader.shutdown();
+            }
+            bufferPool.release(buffer);
+        }
+        return response;
+    }
+
+    private static int read(InputStream input, ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        if (channel != null || !buffer.hasArray()) {
+            return (channel != null ? channel : Channels.newChannel(input)).read(buffer);
+        }
+        int read = input.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        if (read > 0) {
+            ((Buffer) buffer).position(buffer.position() + read);
+        }
+        return read;
+    }
+
+    /**
+     * Uploads a local file in parts read from its channel at their position into pooled buffers, which are reused
+     * for the following parts once sent. Resuming at {@code offset} reads from there instead of through the skipped
+     * bytes. With the {@code checkpoint} option, or a configured checkpoint store, the
+     * acknowledged prefix of the file is recorded after every part.
+     */
+    private Map uploadLargeFileParts(File file, FileChannel channel, Map options, int bufferSize, long offset, String uniqueUploadId, ProgressCallback progressCallback) throws IOException {
+        Map params = buildUploadParams(options);
+
+        Map sentOptions = new HashMap();
+        sentOptions.putAll(options);
+        sentOptions.remove("checkpoint");
+        Map extraHeaders = new HashMap();
+        String uploadId = StringUtils.isBlank(uniqueUploadId) ? cloudinary().randomPublicId() : uniqueUploadId;
+        extraHeaders.put("X-Unique-Upload-Id", uploadId);
+        sentOptions.put("extra_headers", extraHeaders);
+
+        AdaptiveChunkSizer chunkSizer = createChunkSizer(options);
+        int parallelChunks = ObjectUtils.asInteger(options.get("parallel_chunks"), 1);
+        BufferPool bufferPool = cloudinary().uploadBufferPool();
+        ParallelChunkUploader parallelUploader = parallelChunks > 1 ? new ParallelChunkUploader(parallelChunks, bufferPool, chunkSizer) : null;
+
+        long length = channel.size();
+        long position = Math.min(offset, length);
+        CheckpointTracker checkpoints = null;
+        if (ObjectUtils.asBoolean(options.get("checkpoint"), false) || cloudinary().config.properties.get("uploadCheckpointStore") != null) {
+            checkpoints = new CheckpointTracker(cloudinary().uploadCheckpointStore(),
+                    new UploadCheckpoint(file.getCanonicalPath(), uploadId, length, file.lastModified(), bufferSize, position));
+        }
+        Map response = null;
+        final AtomicLong concurrentBytesUploaded = new AtomicLong(offset);
+        final ThroughputMeter meter = new ThroughputMeter();
+        ByteBuffer part = null;
+        try {
+            while (true) {
+                int nextSize = chunkSizer != null ? chunkSizer.nextChunkSize() : bufferSize;
+                int partSize = (int) Math.max(0, Math.min(nextSize, length - position));
+                boolean atEnd = position + partSize >= length;
+                part = bufferPool.acquire(partSize);
+                readFully(channel, part, position);
+                ((Buffer) part).flip();
+
+                Map partOptions = buildPartOptions(sentOptions, extraHeaders, position, partSize, length);
                 Map sentParams = new HashMap();
                 sentParams.putAll(params);
-
-                // wrap the callback with another callback to account for multiple parts
-                final long bytesUploadedSoFar = totalBytesUploaded;
-                final ProgressCallback singlePartProgressCallback;
-                if (progressCallback == null) {
-                    singlePartProgressCallback = null;
+                ProgressCallback singlePartProgressCallback = wrapPartProgressCallback(progressCallback,
+                        parallelUploader != null ? concurrentBytesUploaded : null, meter, position, length);
+
+                if (parallelUploader == null) {
+                    long start = System.nanoTime();
+                    response = callApi("upload", sentParams, partOptions, toPart(part), singlePartProgressCallback);
+                    if (chunkSizer != null) chunkSizer.record(partSize, System.nanoTime() - start);
+                    // with return_error a part the server did not store returns its error instead of throwing
+                    if (checkpoints != null && !atEnd && !isErrorResponse(response)) checkpoints.acknowledge(position, position + partSize);
+                } else if (atEnd) {
+                    parallelUploader.awaitAll();
+                    response = callApi("upload", sentParams, partOptions, toPart(part), singlePartProgressCallback);
                 } else {
-                    singlePartProgressCallback = new ProgressCallback() {
+                    // the uploader releases the part once sent
+                    ByteBuffer submitted = part;
+                    part = null;
+                    parallelUploader.submit(sentParams, partOptions, submitted, singlePartProgressCallback, checkpoints, position);
+                }
+                bufferPool.release(part);
+                part = null;
 
-                        @Override
-                        public void onProgress(long bytesUploaded, long totalBytes) {
-                            progressCallback.onProgress(bytesUploadedSoFar + bytesUploaded, knownLengthBeforeUpload);
+                if (atEnd) break;
+                position += partSize;
+            }
+            if (checkpoints != null && !isErrorResponse(response)) {
+                checkpoints.remove();
+            }
+        } finally {
+            if (parallelUploader != null) {
+                parallelUploader.shutdown();
+            }
+            bufferPool.release(part);
+        }
+        return response;
+    }
+
+    /**
+     * Fills a cleared buffer with the bytes of the file starting at {@code position}, without moving the channel.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("The file was truncated while uploading it");
+            }
+        }
+    }
+
+    /**
+     * @return a sizer when the {@code adaptive_chunk_size} option is set, bounded by the {@code min_chunk_size} and
+     * {@code max_chunk_size} options
+     */
+    private static AdaptiveChunkSizer createChunkSizer(Map options) {
+        if (!ObjectUtils.asBoolean(options.get("adaptive_chunk_size"), false)) {
+            return null;
+        }
+        return new AdaptiveChunkSizer(
+                ObjectUtils.asInteger(options.get("min_chunk_size"), AdaptiveChunkSizer.MIN_CHUNK_SIZE),
+                ObjectUtils.asInteger(options.get("max_chunk_size"), AdaptiveChunkSizer.DEFAULT_MAX_CHUNK_SIZE),
+                AdaptiveChunkSizer.DEFAULT_TARGET_PART_MILLIS);
+    }
+
+    private static boolean isErrorResponse(Map response) {
+        return response == null || response.containsKey("error");
+    }
+
+    /**
+     * Records the contiguous prefix of a file acknowledged by the server. Parts may complete out of order when they
+     * are uploaded concurrently, the checkpoint only moves past a part once all parts before it are stored.
+     */
+    private static final class CheckpointTracker {
+        private final UploadCheckpointStore store;
+        private final UploadCheckpoint checkpoint;
+        private final TreeMap<Long, Long> completed = new TreeMap<Long, Long>();
+
+        CheckpointTracker(UploadCheckpointStore store, UploadCheckpoint checkpoint) throws IOException {
+            this.store = store;
+            this.checkpoint = checkpoint;
+            // record the upload id before the first part is sent
+            store.save(checkpoint);
+        }
+
+        synchronized void acknowledge(long from, long to) throws IOException {
+            completed.put(from, to);
+            long prefix = checkpoint.getBytesAcknowledged();
+            Map.Entry<Long, Long> part;
+            while ((part = completed.firstEntry()) != null && part.getKey() <= prefix) {
+                prefix = Math.max(prefix, part.getValue());
+                completed.pollFirstEntry();
+            }
+            if (prefix > checkpoint.getBytesAcknowledged()) {
+                checkpoint.setBytesAcknowledged(prefix);
+                store.save(checkpoint);
+            }
+        }
+
+        synchronized void remove() throws IOException {
+            store.remove(checkpoint.getKey());
+        }
+    }
+
+    private Map buildPartOptions(Map sentOptions, Map extraHeaders, long from, int size, long length) {
+        Map partHeaders = new HashMap(extraHeaders);
+        partHeaders.put("Content-Range", String.format(Locale.US, "bytes %d-%d/%d", from, from + size - 1, length));
+        Map partOptions = new HashMap(sentOptions);
+        partOptions.put("extra_headers", partHeaders);
+        return partOptions;
+    }
+
+    /**
+     * Wraps the callback with another callback to account for multiple parts.
+     *
+     * @param uploadedTotal running total shared by concurrently uploaded parts, or null when parts are sent in order
+     * @param meter         throughput of all concurrently uploaded parts, used with {@code uploadedTotal}
+     */
+    private ProgressCallback wrapPartProgressCallback(final ProgressCallback progressCallback, final AtomicLong uploadedTotal,
+                                                      final ThroughputMeter meter, final long bytesUploadedSoFar,
+                                                      final long knownLengthBeforeUpload) {
+        if (progressCallback == null) {
+            return null;
+        }
+        if (uploadedTotal != null) {
+            // parts report concurrently, so sum up the progress deltas of all parts and meter their total
+            return new ProgressCallback() {
+                private long reported;
+
+                @Override
+                public void onProgress(long bytesUploaded, long totalBytes) {
+                    long delta = bytesUploaded - reported;
+                    reported = bytesUploaded;
+                    long total = uploadedTotal.addAndGet(delta);
+                    progressCallback.onProgress(total, knownLengthBeforeUpload);
+                    if (progressCallback instanceof ThroughputProgressCallback) {
+                        double bytesPerSecond = meter.update(total);
+                        if (bytesPerSecond >= 0) {
+                            ((ThroughputProgressCallback) progressCallback).onThroughput(total, knownLengthBeforeUpload, bytesPerSecond);
                         }
-                    };
+                    }
                 }
+            };
+        }
+        return new ThroughputProgressCallback() {
 
-                response = callApi("upload", sentParams, sentOptions, buffer, singlePartProgressCallback);
+            @Override
+            public void onProgress(long bytesUploaded, long totalBytes) {
+                progressCallback.onProgress(bytesUploadedSoFar + bytesUploaded, knownLengthBeforeUpload);
+            }
 
-                if (atEnd) break;
-                buffer[0] = nibbleBuffer[0];
-                totalBytesUploaded += currentBufferSize;
-                currentBufferSize = 1;
-                partNumber++;
+            @Override
+            public void onThroughput(long bytesUploaded, long totalBytes, double bytesPerSecond) {
+                if (progressCallback instanceof ThroughputProgressCallback) {
+                    ((ThroughputProgressCallback) progressCallback).onThroughput(bytesUploadedSoFar + bytesUploaded, knownLengthBeforeUpload, bytesPerSecond);
+                }
             }
+        };
+    }
+
+    /**
+     * Returns the file parameter for a chunk, copying it only when the strategy can't send a {@link ByteBuffer}.
+     */
+    private Object toPart(ByteBuffer chunk) {
+        if (strategy.supportsByteBuffers()) {
+            return chunk;
+        }
+        if (chunk.hasArray() && chunk.arrayOffset() == 0 && chunk.position() == 0 && chunk.remaining() == chunk.array().length) {
+            return chunk.array();
+        }
+        byte[] part = new byte[chunk.remaining()];
+        chunk.duplicate().get(part);
+        return part;
+    }
+
+    /**
+     * Uploads the non-final parts of a chunked upload concurrently. At most {@code parallelism} parts are in flight,
+     * the reading thread blocks until a slot frees up, which also bounds the number of buffered parts.
+     */
+    private final class ParallelChunkUploader {
+        private final ExecutorService executor;
+        private final Semaphore permits;
+        private final BufferPool bufferPool;
+        private final AdaptiveChunkSizer chunkSizer;
+        private final List<Future<Map>> parts = new ArrayList<Future<Map>>();
+        private volatile Throwable failure;
+
+        ParallelChunkUploader(int parallelism, BufferPool bufferPool, AdaptiveChunkSizer chunkSizer) {
+            this.bufferPool = bufferPool;
+            this.chunkSizer = chunkSizer;
+            this.permits = new Semaphore(parallelism);
+            this.executor = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "cloudinary-upload-part-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        /**
+         * Uploads a part on the pool, returning its buffer to {@code bufferPool} once sent.
+         *
+         * @param checkpoints tracker to acknowledge the part to once stored, may be null
+         * @param position    the offset of the part in the file
+         */
+        void submit(final Map params, final Map options, final ByteBuffer part, final ProgressCallback progressCallback,
+                    final CheckpointTracker checkpoints, final long position) throws IOException {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                bufferPool.release(part);
+                throw new InterruptedIOException("Interrupted while waiting to upload a part");
+            }
+            try {
+                rethrowFailure();
+            } catch (IOException | RuntimeException e) {
+                permits.release();
+                bufferPool.release(part);
+                throw e;
+            }
+            parts.add(executor.submit(new Callable<Map>() {
+                @Override
+                public Map call() throws Exception {
+                    try {
+                        int partSize = part.remaining();
+                        long start = System.nanoTime();
+                        Map response = callApi("upload", params, options, toPart(part), progressCallback);
+                        if (chunkSizer != null) {
+                            chunkSizer.record(partSize, System.nanoTime() - start);
+                        }
+                        if (checkpoints != null && !isErrorResponse(response)) {
+                            checkpoints.acknowledge(position, position + partSize);
+                        }
+                        return response;
+                    } catch (Exception e) {
+                        failure = e;
+                        throw e;
+                    } finally {
+                        bufferPool.release(part);
+                        permits.release();
+                    }
+                }
+            }));
+        }
+
+        void awaitAll() throws IOException {
+            for (Future<Map> part : parts) {
+                try {
+                    part.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for parts to upload");
+                } catch (ExecutionException e) {
+                    failure = e.getCause();
+                    rethrowFailure();
+                }
+            }
+        }
+
+        void shutdown() {
+            executor.shutdownNow();
+        }
+
+        private void rethrowFailure() throws IOException {
+            Throwable error = failure;
+            if (error == null) {
+                return;
+            }
+            if (error instanceof IOException) {
+                throw (IOException) error;
+            }
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            throw new IOException(error);
         }
-        return response;
     }
 
     public Map destroy(String publicId, Map options) throws IOException {
         if (options == null)
             options = ObjectUtils.emptyMap();
+        return callApi("destroy", buildDestroyParams(publicId, options), options, null);
+    }
+
+    /**
+     * Non-blocking variant of {@link #destroy(String, Map)}.
+     */
+    public CompletableFuture<Map> destroyAsync(String publicId, Map options) {
+        if (options == null)
+            options = ObjectUtils.emptyMap();
+        return callApiAsync("destroy", buildDestroyParams(publicId, options), options, null);
+    }
+
+    private Map<String, Object> buildDestroyParams(String publicId, Map options) {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("type", (String) options.get("type"));
         params.put("public_id", publicId);
         params.put("invalidate", ObjectUtils.asBoolean(options.get("invalidate"), false).toString());
         params.put("notification_url", (String) options.get("notification_url"));
-        return callApi("destroy", params, options, null);
+        return params;
     }
 
     public Map rename(String fromPublicId, String toPublicId, Map options) throws IOException {
         if (options == null)
             options = ObjectUtils.emptyMap();
+        return callApi("rename", buildRenameParams(fromPublicId, toPublicId, options), options, null);
+    }
+
+    /**
+     * Non-blocking variant of {@link #rename(String, String, Map)}.
+     */
+    public CompletableFuture<Map> renameAsync(String fromPublicId, String toPublicId, Map options) {
+        if (options == null)
+            options = ObjectUtils.emptyMap();
+        return callApiAsync("rename", buildRenameParams(fromPublicId, toPublicId, options), options, null);
+    }
+
+    private Map<String, Object> buildRenameParams(String fromPublicId, String toPublicId, Map options) {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("type", (String) options.get("type"));
         params.put("overwrite", ObjectUtils.asBoolean(options.get("overwrite"), false).toString());
@@ -251,7 +761,7 @@ public class Uploader {
         params.put("context", ObjectUtils.asBoolean(options.get("context"), false).toString());
         params.put("metadata", ObjectUtils.asBoolean(options.get("metadata"), false).toString());
         params.put("notification_url", (String) options.get("notification_url"));
-        return callApi("rename", params, options, null);
+        return params;
     }
 
     public Map explicit(String publicId, Map options) throws IOException {
@@ -263,6 +773,18 @@ public class Uploader {
         return callApi("explicit", params, options, null);
     }
 
+    /**
+     * Non-blocking variant of {@link #explicit(String, Map)}.
+     */
+    public CompletableFuture<Map> explicitAsync(String publicId, Map options) {
+        if (options == null) {
+            options = ObjectUtils.emptyMap();
+        }
+        Map<String, Object> params = buildUploadParams(options);
+        params.put("public_id", publicId);
+        return callApiAsync("explicit", params, options, null);
+    }
+
     public Map generateSprite(String tag, Map options) throws IOException {
         if (options == null)
             options = Collections.singletonMap("tag", tag);
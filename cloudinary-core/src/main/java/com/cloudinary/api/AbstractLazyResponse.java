@@ -0,0 +1,56 @@
+package com.cloudinary.api;
+
+import com.cloudinary.utils.LazyJsonMap;
+
+import java.text.ParseException;
+import java.util.AbstractMap;
+import java.util.Set;
+
+/**
+ * An {@link ApiResponse} whose nested objects and arrays are parsed on first access, returned when the
+ * {@code lazyApiResponses} configuration property is set. See {@link LazyJsonMap}.
+ * <p>
+ * The HTTP adapters extend it with access to their raw response and its rate limit headers.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public abstract class AbstractLazyResponse extends AbstractMap implements ApiResponse {
+    private final LazyJsonMap result;
+
+    protected AbstractLazyResponse(LazyJsonMap result) {
+        this.result = result;
+    }
+
+    @Override
+    public int size() {
+        return result.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return result.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return result.get(key);
+    }
+
+    @Override
+    public Object put(Object key, Object value) {
+        return result.put((String) key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return result.remove(key);
+    }
+
+    @Override
+    public Set entrySet() {
+        return result.entrySet();
+    }
+
+    public RateLimit apiRateLimit() throws ParseException {
+        return rateLimits().get("Api");
+    }
+}
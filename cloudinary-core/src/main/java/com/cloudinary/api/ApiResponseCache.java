@@ -0,0 +1,42 @@
+package com.cloudinary.api;
+
+/**
+ * Caches the responses of Admin API GET requests. Set an implementation in the {@code apiResponseCache}
+ * configuration property to enable caching, see {@link LruApiResponseCache}.
+ * <p>
+ * Responses are cached and invalidated by action, the first path component of the Admin API URL after the cloud
+ * name such as {@code resources}, {@code upload_presets} or {@code metadata_fields}. Every request a client makes
+ * that changes data invalidates the cached responses of its action, searches do not. Uploader calls invalidate the
+ * {@code resources} action, and the {@code tags} action when they may change tags. Implementations must be thread
+ * safe.
+ */
+public interface ApiResponseCache {
+    /**
+     * @param key identifies the request: its URL, parameters and credentials
+     * @return the cached response, or null
+     */
+    ApiResponse get(String key);
+
+    /**
+     * @param key           identifies the request: its URL, parameters and credentials
+     * @param action        the action of the request
+     * @param invalidations the {@link #invalidations(String)} of the action read before the request was sent, the
+     *                      response is not cached if the action was invalidated since
+     * @param response      an {@link ApiResponseSnapshot} of the response, callers the cache returns it to receive
+     *                      their own copy
+     */
+    void put(String key, String action, long invalidations, ApiResponse response);
+
+    /**
+     * @param action the action of a request
+     * @return how many times the action was invalidated so far
+     */
+    long invalidations(String action);
+
+    /**
+     * Removes the cached responses of the action.
+     *
+     * @param action the action modified by a request
+     */
+    void invalidate(String action);
+}
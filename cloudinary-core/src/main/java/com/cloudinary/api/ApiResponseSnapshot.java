@@ -0,0 +1,156 @@
+package com.cloudinary.api;
+
+import java.text.ParseException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable copy of an {@link ApiResponse}, for responses shared between callers such as cached responses and
+ * the responses of coalesced requests. Nested maps and lists are copied too, so no caller can change what the others
+ * receive. {@link #copy()} gives each caller its own modifiable response, like the response of a call that was not
+ * shared. A lazily parsed response is parsed in full when the snapshot is taken.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class ApiResponseSnapshot extends AbstractMap implements ApiResponse {
+    private final Map<Object, Object> result;
+    private final Map<String, RateLimit> rateLimits;
+    private final ParseException rateLimitsError;
+
+    private ApiResponseSnapshot(ApiResponse response) {
+        this.result = (Map<Object, Object>) freeze(response);
+        Map<String, RateLimit> limits = null;
+        ParseException error = null;
+        try {
+            limits = response.rateLimits();
+        } catch (ParseException e) {
+            error = e;
+        }
+        this.rateLimits = limits != null ? copyRateLimits(limits) : null;
+        this.rateLimitsError = error;
+    }
+
+    /**
+     * @return the response itself if it is a snapshot, otherwise a snapshot of its current content
+     */
+    public static ApiResponseSnapshot of(ApiResponse response) {
+        return response instanceof ApiResponseSnapshot ? (ApiResponseSnapshot) response : new ApiResponseSnapshot(response);
+    }
+
+    /**
+     * @return a modifiable copy of the response, nested maps and lists included, for a single caller
+     */
+    public ApiResponse copy() {
+        return new Copy((Map<Object, Object>) thaw(result), this);
+    }
+
+    @Override
+    public Set entrySet() {
+        return result.entrySet();
+    }
+
+    @Override
+    public Object get(Object key) {
+        return result.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return result.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return result.size();
+    }
+
+    @Override
+    public Map<String, RateLimit> rateLimits() throws ParseException {
+        if (rateLimitsError != null) {
+            throw rateLimitsError;
+        }
+        // rate limits are modifiable, each call gets its own
+        return rateLimits != null ? copyRateLimits(rateLimits) : null;
+    }
+
+    @Override
+    public RateLimit apiRateLimit() throws ParseException {
+        Map<String, RateLimit> limits = rateLimits();
+        return limits != null ? limits.get("Api") : null;
+    }
+
+    private static Map<String, RateLimit> copyRateLimits(Map<String, RateLimit> rateLimits) {
+        Map<String, RateLimit> copy = new HashMap<String, RateLimit>();
+        for (Map.Entry<String, RateLimit> entry : rateLimits.entrySet()) {
+            RateLimit source = entry.getValue();
+            RateLimit limit = new RateLimit();
+            limit.setLimit(source.getLimit());
+            limit.setRemaining(source.getRemaining());
+            limit.setReset(source.getReset() != null ? new Date(source.getReset().getTime()) : null);
+            copy.put(entry.getKey(), limit);
+        }
+        return copy;
+    }
+
+    private static Object freeze(Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new HashMap<Object, Object>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                copy.put(entry.getKey(), freeze(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<Object>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                copy.add(freeze(element));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        return value instanceof Date ? new Date(((Date) value).getTime()) : value;
+    }
+
+    private static Object thaw(Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new HashMap<Object, Object>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                copy.put(entry.getKey(), thaw(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<Object>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                copy.add(thaw(element));
+            }
+            return copy;
+        }
+        return value instanceof Date ? new Date(((Date) value).getTime()) : value;
+    }
+
+    private static final class Copy extends HashMap implements ApiResponse {
+        private static final long serialVersionUID = 1L;
+        private final transient ApiResponseSnapshot snapshot;
+
+        Copy(Map<Object, Object> result, ApiResponseSnapshot snapshot) {
+            super(result);
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public Map<String, RateLimit> rateLimits() throws ParseException {
+            // a deserialized copy has lost the response headers
+            return snapshot != null ? snapshot.rateLimits() : Collections.<String, RateLimit>emptyMap();
+        }
+
+        @Override
+        public RateLimit apiRateLimit() throws ParseException {
+            return snapshot != null ? snapshot.apiRateLimit() : null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.cloudinary.api;
+
+/**
+ * Receives the elements of a list returned by the Admin API one at a time, as they are parsed from the response,
+ * for example by {@link com.cloudinary.Api#resources(java.util.Map, ElementHandler)}. The list itself is never built,
+ * so memory use does not grow with the page size.
+ *
+ * @param <T> the type of the elements, a {@link java.util.Map} for resources and other objects
+ */
+public interface ElementHandler<T> {
+    /**
+     * @param element the next element of the list
+     * @throws Exception to abort the call, the exception is thrown by the API method
+     */
+    void handle(T element) throws Exception;
+}
@@ -0,0 +1,123 @@
+package com.cloudinary.api;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An in-memory {@link ApiResponseCache} holding up to a fixed number of responses, evicting the least recently
+ * used ones first. Each action can have its own time to live.
+ */
+public class LruApiResponseCache implements ApiResponseCache {
+    public static final long DEFAULT_TTL_MILLIS = 60000;
+
+    private final int maxEntries;
+    private final long defaultTtlMillis;
+    private final Map<String, Long> ttlMillis = new HashMap<String, Long>();
+    private final Map<String, Long> invalidations = new HashMap<String, Long>();
+    private final LinkedHashMap<String, CachedResponse> entries;
+
+    public LruApiResponseCache(int maxEntries) {
+        this(maxEntries, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * @param maxEntries       the maximum number of cached responses
+     * @param defaultTtlMillis how long responses of actions without their own time to live are kept
+     */
+    public LruApiResponseCache(final int maxEntries, long defaultTtlMillis) {
+        this.maxEntries = maxEntries;
+        this.defaultTtlMillis = defaultTtlMillis;
+        this.entries = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > LruApiResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Sets how long the responses of an action are kept.
+     *
+     * @param action    the action, for example {@code upload_presets}
+     * @param ttlMillis the time to live in milliseconds, 0 to not cache the action
+     * @return this cache for chaining
+     */
+    public synchronized LruApiResponseCache setTtl(String action, long ttlMillis) {
+        this.ttlMillis.put(action, ttlMillis);
+        return this;
+    }
+
+    @Override
+    public synchronized ApiResponse get(String key) {
+        CachedResponse entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.response;
+    }
+
+    /**
+     * Caches a response regardless of earlier invalidations of its action.
+     */
+    public synchronized void put(String key, String action, ApiResponse response) {
+        put(key, action, invalidations(action), response);
+    }
+
+    @Override
+    public synchronized void put(String key, String action, long invalidations, ApiResponse response) {
+        if (invalidations != invalidations(action)) {
+            // the action was modified while the request was in flight, the response may be stale
+            return;
+        }
+        Long ttl = ttlMillis.get(action);
+        long actionTtl = ttl != null ? ttl : defaultTtlMillis;
+        if (actionTtl > 0 && maxEntries > 0) {
+            entries.put(key, new CachedResponse(action, response, System.currentTimeMillis() + actionTtl));
+        }
+    }
+
+    @Override
+    public synchronized long invalidations(String action) {
+        Long count = invalidations.get(action);
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public synchronized void invalidate(String action) {
+        invalidations.put(action, invalidations(action) + 1);
+        Iterator<CachedResponse> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().action.equals(action)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static class CachedResponse {
+        final String action;
+        final ApiResponse response;
+        final long expiresAt;
+
+        CachedResponse(String action, ApiResponse response, long expiresAt) {
+            this.action = action;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.cloudinary.api;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Paces Admin API calls using the rate limits reported in the {@code X-FeatureRateLimit-*} response headers.
+ * <p>
+ * Each feature is a token bucket that refills at the rate that spreads the remaining calls evenly until the limit
+ * resets, and holds up to {@link #DEFAULT_BURST} tokens so short bursts are not slowed down. Until a response reports
+ * the limit of a feature, and again once it has reset, calls to it are not paced. Once the budget is used up calls
+ * wait for the reset instead of failing with {@link com.cloudinary.api.exceptions.RateLimited}, each for a random
+ * extra delay of up to {@link #DEFAULT_RESET_JITTER_MILLIS} so they don't all call at the reset instant.
+ * <p>
+ * A {@link com.cloudinary.Cloudinary} instance paces its calls with one limiter per API key, which is released when
+ * the instance is closed.
+ */
+public class RateLimiter {
+    public static final String API_FEATURE = "Api";
+    public static final int DEFAULT_BURST = 10;
+    public static final long DEFAULT_RESET_JITTER_MILLIS = 1000;
+
+    private final int burst;
+    private final long resetJitterMillis;
+    private final Map<String, Bucket> buckets = new HashMap<String, Bucket>();
+
+    public RateLimiter() {
+        this(DEFAULT_BURST);
+    }
+
+    /**
+     * @param burst the number of calls that may be made back to back while the budget allows it
+     */
+    public RateLimiter(int burst) {
+        this(burst, DEFAULT_RESET_JITTER_MILLIS);
+    }
+
+    /**
+     * @param burst             the number of calls that may be made back to back while the budget allows it
+     * @param resetJitterMillis the longest random delay added to calls waiting for the limit to reset
+     */
+    public RateLimiter(int burst, long resetJitterMillis) {
+        this.burst = Math.max(1, burst);
+        this.resetJitterMillis = Math.max(0, resetJitterMillis);
+    }
+
+    /**
+     * Waits until a call to the feature fits the rate limit.
+     *
+     * @param feature the rate limited feature, {@link #API_FEATURE} for the general Admin API limit
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public void acquire(String feature) throws InterruptedException {
+        long delay = reserve(feature, System.currentTimeMillis());
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+    }
+
+    /**
+     * Reserves a call to the feature without waiting, for callers that delay the call themselves without holding a
+     * thread, such as {@link com.cloudinary.AsyncApi}.
+     *
+     * @param feature the rate limited feature, {@link #API_FEATURE} for the general Admin API limit
+     * @return the time in milliseconds to wait before making the call
+     */
+    public long reserve(String feature) {
+        return reserve(feature, System.currentTimeMillis());
+    }
+
+    /**
+     * Reserves a call to the feature only if it can be made right away, for optional calls that are better skipped
+     * than delayed.
+     *
+     * @param feature the rate limited feature, {@link #API_FEATURE} for the general Admin API limit
+     * @return whether the call was reserved
+     */
+    public boolean tryAcquire(String feature) {
+        return tryReserve(feature, System.currentTimeMillis());
+    }
+
+    synchronized boolean tryReserve(String feature, long now) {
+        Bucket bucket = buckets.get(feature);
+        if (bucket == null) {
+            return true;
+        }
+        if (bucket.reset <= now) {
+            buckets.remove(feature);
+            return true;
+        }
+        bucket.refill(now, burst);
+        if (bucket.remaining <= 0 || bucket.tokens < 1) {
+            return false;
+        }
+        bucket.remaining--;
+        bucket.tokens--;
+        return true;
+    }
+
+    /**
+     * Reserves a call to the feature.
+     *
+     * @return the time in milliseconds the caller has to wait before making the call
+     */
+    synchronized long reserve(String feature, long now) {
+        Bucket bucket = buckets.get(feature);
+        if (bucket == null) {
+            return 0;
+        }
+        if (bucket.reset <= now) {
+            // the window is over, the next response reports the new budget
+            buckets.remove(feature);
+            return 0;
+        }
+        if (bucket.remaining <= 0) {
+            long jitter = resetJitterMillis > 0 ? ThreadLocalRandom.current().nextLong(resetJitterMillis + 1) : 0;
+            return bucket.reset - now + jitter;
+        }
+        bucket.refill(now, burst);
+        bucket.remaining--;
+        // tokens go negative while callers queue up, each one waits for its own token
+        bucket.tokens--;
+        return bucket.tokens >= 0 ? 0 : (long) Math.ceil(-bucket.tokens / bucket.rate);
+    }
+
+    /**
+     * Updates the limits from a response.
+     *
+     * @param rateLimits the limits reported by the response, see {@link ApiResponse#rateLimits()}
+     */
+    public void update(Map<String, RateLimit> rateLimits) {
+        update(rateLimits, System.currentTimeMillis());
+    }
+
+    synchronized void update(Map<String, RateLimit> rateLimits, long now) {
+        for (Map.Entry<String, RateLimit> entry : rateLimits.entrySet()) {
+            RateLimit rateLimit = entry.getValue();
+            Date reset = rateLimit.getReset();
+            if (rateLimit.getLimit() <= 0 || reset == null || reset.getTime() <= now) {
+                continue;
+            }
+            Bucket bucket = buckets.get(entry.getKey());
+            if (bucket == null) {
+                bucket = new Bucket();
+                bucket.tokens = burst;
+                bucket.lastRefill = now;
+                buckets.put(entry.getKey(), bucket);
+            } else {
+                bucket.refill(now, burst);
+            }
+            bucket.remaining = rateLimit.getRemaining();
+            bucket.reset = reset.getTime();
+            bucket.rate = Math.max(1, bucket.remaining) / (double) Math.max(1, bucket.reset - now);
+            bucket.tokens = Math.min(bucket.tokens, bucket.remaining);
+        }
+    }
+
+    private static class Bucket {
+        long remaining;
+        long reset;
+        // tokens per millisecond
+        double rate;
+        double tokens;
+        long lastRefill;
+
+        void refill(long now, int burst) {
+            if (now > lastRefill) {
+                tokens = Math.min(Math.min(burst, remaining), tokens + (now - lastRefill) * rate);
+                lastRefill = now;
+            }
+        }
+    }
+}
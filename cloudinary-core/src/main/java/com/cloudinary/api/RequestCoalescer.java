@@ -0,0 +1,68 @@
+package com.cloudinary.api;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Lets concurrent identical requests share a single call: the first caller for a key makes the call, callers
+ * arriving while it is in flight wait for it and receive the same result or exception. Nothing is cached, the next
+ * request after the call completed makes a new call.
+ */
+public class RequestCoalescer {
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<String, CompletableFuture<Object>>();
+
+    /**
+     * @param key  identifies the request, calls with equal keys must be interchangeable
+     * @param call makes the request
+     * @return the result of the call, the same instance for all callers that coalesced on it, so it should not be
+     * modifiable, see {@link ApiResponseSnapshot}
+     * @throws Exception the exception the call failed with
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Callable<T> call) throws Exception {
+        CompletableFuture<Object> pending = new CompletableFuture<Object>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            return (T) await(existing);
+        }
+
+        try {
+            T result = call.call();
+            pending.complete(result);
+            return result;
+        } catch (Exception e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } catch (Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> pending) throws Exception {
+        try {
+            return pending.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return the number of calls currently in flight
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,231 @@
+package com.cloudinary.api;
+
+import com.cloudinary.utils.JsonReader;
+import com.cloudinary.utils.ObjectUtils;
+import org.cloudinary.json.JSONException;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Date;
+
+/**
+ * The common fields of a resource, as listed by the Admin API or returned by an upload, held in primitive fields
+ * instead of a map of boxed values so that large numbers of resources can be kept in memory. The resource type,
+ * type and format are interned, as few distinct values are shared by all resources.
+ * <p>
+ * Fields missing from the response are null or 0.
+ */
+public final class ResourceInfo {
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final String publicId;
+    private final String resourceType;
+    private final String type;
+    private final String format;
+    private final long version;
+    private final long bytes;
+    private final int width;
+    private final int height;
+    private final long createdAt;
+
+    public ResourceInfo(String publicId, String resourceType, String type, String format, long version, long bytes, int width, int height, Date createdAt) {
+        this(publicId, resourceType, type, format, version, bytes, width, height, createdAt != null ? createdAt.getTime() : NO_TIMESTAMP);
+    }
+
+    private ResourceInfo(String publicId, String resourceType, String type, String format, long version, long bytes, int width, int height, long createdAt) {
+        this.publicId = publicId;
+        this.resourceType = intern(resourceType);
+        this.type = intern(type);
+        this.format = intern(format);
+        this.version = version;
+        this.bytes = bytes;
+        this.width = width;
+        this.height = height;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Reads a resource object, skipping the fields not held by this class without parsing them.
+     */
+    public static ResourceInfo read(JsonReader reader) throws IOException {
+        String publicId = null;
+        String resourceType = null;
+        String type = null;
+        String format = null;
+        long version = 0;
+        long bytes = 0;
+        int width = 0;
+        int height = 0;
+        long createdAt = NO_TIMESTAMP;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peekNull()) {
+                reader.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "public_id":
+                    publicId = reader.nextString();
+                    break;
+                case "resource_type":
+                    resourceType = reader.nextString();
+                    break;
+                case "type":
+                    type = reader.nextString();
+                    break;
+                case "format":
+                    format = reader.nextString();
+                    break;
+                case "version":
+                    version = reader.nextLongValue();
+                    break;
+                case "bytes":
+                    bytes = reader.nextLongValue();
+                    break;
+                case "width":
+                    width = (int) reader.nextLongValue();
+                    break;
+                case "height":
+                    height = (int) reader.nextLongValue();
+                    break;
+                case "created_at":
+                    createdAt = parseTimestamp(reader.nextString());
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new ResourceInfo(publicId, resourceType, type, format, version, bytes, width, height, createdAt);
+    }
+
+    /**
+     * @return a decoder binding an upload result as it is read, see {@link com.cloudinary.Uploader#uploadResource}
+     */
+    public static ResponseDecoder<ResourceInfo> decoder() {
+        return new ResponseDecoder<ResourceInfo>() {
+            @Override
+            public ResourceInfo decode(JsonReader reader) throws IOException {
+                return read(reader);
+            }
+        };
+    }
+
+    /**
+     * Parses the UTC timestamps the API returns, like {@code 2017-08-04T10:19:42Z}, without allocating. Other ISO
+     * 8601 forms are left to {@link ObjectUtils#fromISO8601(String)}.
+     */
+    static long parseTimestamp(String value) {
+        if (value.length() == 20 && value.charAt(4) == '-' && value.charAt(7) == '-' && value.charAt(10) == 'T'
+                && value.charAt(13) == ':' && value.charAt(16) == ':' && value.charAt(19) == 'Z') {
+            int year = digits(value, 0, 4);
+            int month = digits(value, 5, 2);
+            int day = digits(value, 8, 2);
+            int hour = digits(value, 11, 2);
+            int minute = digits(value, 14, 2);
+            int second = digits(value, 17, 2);
+            // the lenient fallback would roll an impossible date like 2017-02-31 over into the next month
+            if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month) || hour < 0 || hour >= 24
+                    || minute < 0 || minute >= 60 || second < 0 || second >= 60) {
+                throw new JSONException("Invalid timestamp " + value);
+            }
+            return ((daysSinceEpoch(year, month, day) * 24 + hour) * 60 + minute) * 60000L + second * 1000L;
+        }
+        try {
+            return ObjectUtils.fromISO8601(value).getTime();
+        } catch (ParseException e) {
+            throw new JSONException("Invalid timestamp " + value);
+        }
+    }
+
+    /**
+     * @return the value of the decimal digits, or -1 if there is another character among them
+     */
+    private static int digits(String value, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == 2) {
+            return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    private static long daysSinceEpoch(int year, int month, int day) {
+        // days from civil, counting years from March so the leap day is the last day of the year
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    private static String intern(String value) {
+        return value != null ? value.intern() : null;
+    }
+
+    public String getPublicId() {
+        return publicId;
+    }
+
+    public String getResourceType() {
+        return resourceType;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return when the resource was created, or null if the response did not say
+     */
+    public Date getCreatedAt() {
+        return createdAt != NO_TIMESTAMP ? new Date(createdAt) : null;
+    }
+
+    /**
+     * @return when the resource was created in milliseconds since the epoch, or {@link Long#MIN_VALUE} if the
+     * response did not say
+     */
+    public long getCreatedAtMillis() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceInfo{publicId=" + publicId + ", resourceType=" + resourceType + ", type=" + type + ", format=" + format
+                + ", version=" + version + ", bytes=" + bytes + ", width=" + width + ", height=" + height + ", createdAt=" + getCreatedAt() + "}";
+    }
+}
@@ -0,0 +1,73 @@
+package com.cloudinary.api;
+
+import com.cloudinary.utils.JsonReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of resources listed by the Admin API, see {@link com.cloudinary.Api#resourceList(java.util.Map)}. Pass
+ * the next cursor as the {@code next_cursor} option to list the following page.
+ */
+public final class ResourceList {
+    private final List<ResourceInfo> resources;
+    private final String nextCursor;
+
+    public ResourceList(List<ResourceInfo> resources, String nextCursor) {
+        this.resources = Collections.unmodifiableList(resources);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @param elementsKey the key of the array of resources in the response
+     * @return a decoder binding each resource as it is read, without building maps for them
+     */
+    public static ResponseDecoder<ResourceList> decoder(final String elementsKey) {
+        return new ResponseDecoder<ResourceList>() {
+            @Override
+            public ResourceList decode(JsonReader reader) throws IOException {
+                return read(reader, elementsKey);
+            }
+        };
+    }
+
+    /**
+     * Reads a response object holding the resources under {@code elementsKey}, other fields but
+     * {@code next_cursor} are skipped.
+     */
+    public static ResourceList read(JsonReader reader, String elementsKey) throws IOException {
+        ArrayList<ResourceInfo> resources = new ArrayList<ResourceInfo>();
+        String nextCursor = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals(elementsKey) && !reader.peekNull()) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    resources.add(ResourceInfo.read(reader));
+                }
+                reader.endArray();
+            } else if (name.equals("next_cursor")) {
+                nextCursor = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        resources.trimToSize();
+        return new ResourceList(resources, nextCursor);
+    }
+
+    public List<ResourceInfo> getResources() {
+        return resources;
+    }
+
+    /**
+     * @return the cursor of the next page, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
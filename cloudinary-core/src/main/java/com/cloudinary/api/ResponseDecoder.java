@@ -0,0 +1,20 @@
+package com.cloudinary.api;
+
+import com.cloudinary.utils.JsonReader;
+
+import java.io.IOException;
+
+/**
+ * Binds a successful Admin API or upload response to a type of its own while it is read, for example
+ * {@link ResourceList#decoder(String)} and {@link ResourceInfo#decoder()}, so the response is never held as a map of
+ * boxed values.
+ *
+ * @param <T> the type the response is decoded to
+ */
+public interface ResponseDecoder<T> {
+    /**
+     * @param reader positioned at the start of the response object
+     * @return the decoded response
+     */
+    T decode(JsonReader reader) throws IOException;
+}
@@ -0,0 +1,198 @@
+package com.cloudinary.bulk;
+
+import com.cloudinary.Configuration;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Runs batches of blocking {@link com.cloudinary.Uploader} and {@link com.cloudinary.Api} calls concurrently, and
+ * reports the result or error of every call:
+ * <pre>
+ * List&lt;Callable&lt;Map&gt;&gt; uploads = new ArrayList&lt;Callable&lt;Map&gt;&gt;();
+ * for (final File file : files) {
+ *     uploads.add(() -&gt; cloudinary.uploader().upload(file, options));
+ * }
+ * for (BulkResult&lt;Map&gt; result : cloudinary.bulk().invokeAll(uploads)) { ... }
+ * </pre>
+ * On Java 21 and later each task runs on its own virtual thread, so thousands of calls can wait on the network
+ * without a thread pool to size. Earlier versions use a pool of {@link #DEFAULT_PLATFORM_CONCURRENCY} threads.
+ * Either way at most {@link #getMaxConcurrency()} tasks run at once, the others wait for a permit.
+ * <p>
+ * The HTTP connection pool of the strategy must allow as many connections as tasks are meant to be in flight, see
+ * {@link Configuration#maxConnectionsPerRoute}.
+ */
+public class BulkExecutor implements Closeable {
+    public static final int DEFAULT_VIRTUAL_CONCURRENCY = 1000;
+    public static final int DEFAULT_PLATFORM_CONCURRENCY = 32;
+
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final boolean virtualThreads;
+    private final int maxConcurrency;
+    private final Semaphore permits;
+
+    /**
+     * Creates an executor running its tasks on virtual threads when the JVM supports them, and on a pool of
+     * platform threads otherwise.
+     *
+     * @param maxConcurrency the maximum number of tasks running at once, 0 for the default
+     */
+    public BulkExecutor(int maxConcurrency) {
+        ExecutorService virtualThreadExecutor = newVirtualThreadExecutor();
+        this.virtualThreads = virtualThreadExecutor != null;
+        this.maxConcurrency = maxConcurrency > 0 ? maxConcurrency : virtualThreads ? DEFAULT_VIRTUAL_CONCURRENCY : DEFAULT_PLATFORM_CONCURRENCY;
+        this.executor = virtualThreads ? virtualThreadExecutor : newPlatformThreadExecutor(this.maxConcurrency);
+        this.ownsExecutor = true;
+        this.permits = new Semaphore(this.maxConcurrency);
+    }
+
+    /**
+     * Creates an executor running its tasks on the given executor, which is not shut down by {@link #close()}.
+     *
+     * @param executor       the executor to run the tasks on
+     * @param maxConcurrency the maximum number of tasks running at once, 0 for no limit besides the executor's own
+     */
+    public BulkExecutor(ExecutorService executor, int maxConcurrency) {
+        this.executor = executor;
+        this.ownsExecutor = false;
+        this.virtualThreads = false;
+        this.maxConcurrency = maxConcurrency > 0 ? maxConcurrency : Integer.MAX_VALUE;
+        this.permits = new Semaphore(this.maxConcurrency);
+    }
+
+    /**
+     * @return an executor using the {@code bulkExecutor} property of the configuration if set, limited to
+     * {@link Configuration#bulkConcurrency} running tasks
+     */
+    public static BulkExecutor forConfiguration(Configuration config) {
+        Object executor = config.properties.get("bulkExecutor");
+        if (executor != null) {
+            return new BulkExecutor((ExecutorService) executor, config.bulkConcurrency);
+        }
+        return new BulkExecutor(config.bulkConcurrency);
+    }
+
+    /**
+     * @return an executor starting a virtual thread per task, or null before Java 21
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        // looked up reflectively so the library still targets Java 8
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (IllegalAccessException e) {
+            return null;
+        } catch (InvocationTargetException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformThreadExecutor(int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "cloudinary-bulk");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        // idle threads go away between batches
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Runs a task once a permit is available.
+     *
+     * @return a future completed with the result of the task, cancelling it before the task started skips the task
+     */
+    public <T> CompletableFuture<T> submit(final Callable<T> task) {
+        final CompletableFuture<T> result = new CompletableFuture<T>();
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        permits.acquire();
+                    } catch (InterruptedException e) {
+                        result.completeExceptionally(e);
+                        return;
+                    }
+                    try {
+                        if (!result.isDone()) {
+                            result.complete(task.call());
+                        }
+                    } catch (Throwable e) {
+                        result.completeExceptionally(e);
+                    } finally {
+                        permits.release();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Runs the tasks and waits for all of them to complete. A failing task does not stop the others.
+     *
+     * @param tasks the tasks to run
+     * @return the outcome of every task, in the order of the tasks
+     * @throws InterruptedException if the calling thread was interrupted while waiting, tasks that did not start
+     *                              yet are then skipped
+     */
+    public <T> List<BulkResult<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+        List<CompletableFuture<T>> futures = new ArrayList<CompletableFuture<T>>(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(submit(task));
+        }
+
+        List<BulkResult<T>> results = new ArrayList<BulkResult<T>>(futures.size());
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(BulkResult.success(i, futures.get(i).get()));
+                } catch (ExecutionException e) {
+                    results.add(BulkResult.<T>failure(i, e.getCause()));
+                }
+            }
+        } catch (InterruptedException e) {
+            for (CompletableFuture<T> future : futures) {
+                future.cancel(false);
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * @return whether tasks run on virtual threads
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Stops accepting tasks and lets the running ones complete. An executor passed to the constructor is left
+     * running.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+}
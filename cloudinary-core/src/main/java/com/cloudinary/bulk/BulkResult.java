@@ -0,0 +1,69 @@
+package com.cloudinary.bulk;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The outcome of one task run by a {@link BulkExecutor}: either the value it returned or the error it failed with.
+ *
+ * @param <T> the type of the task result
+ */
+public class BulkResult<T> {
+    private final int index;
+    private final T result;
+    private final Throwable error;
+
+    private BulkResult(int index, T result, Throwable error) {
+        this.index = index;
+        this.result = result;
+        this.error = error;
+    }
+
+    static <T> BulkResult<T> success(int index, T result) {
+        return new BulkResult<T>(index, result, null);
+    }
+
+    static <T> BulkResult<T> failure(int index, Throwable error) {
+        return new BulkResult<T>(index, null, error);
+    }
+
+    /**
+     * @return the position of the task in the submitted batch
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * @return the value returned by the task, or null if it failed
+     */
+    public T getResult() {
+        return result;
+    }
+
+    /**
+     * @return the exception thrown by the task, or null if it succeeded
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * @return the value returned by the task
+     * @throws ExecutionException wrapping the exception thrown by the task
+     */
+    public T get() throws ExecutionException {
+        if (error != null) {
+            throw new ExecutionException(error);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkResult{index=" + index + (error != null ? ", error=" + error : ", result=" + result) + "}";
+    }
+}
@@ -3,10 +3,19 @@ package com.cloudinary.strategies;
 import com.cloudinary.Api;
 import com.cloudinary.Api.HttpMethod;
 import com.cloudinary.api.ApiResponse;
+import com.cloudinary.api.ElementHandler;
+import com.cloudinary.api.ResponseDecoder;
+import com.cloudinary.utils.JsonReader;
+import com.cloudinary.utils.ObjectUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collection;
 import java.util.Map;
 
 
-public abstract class AbstractApiStrategy {
+public abstract class AbstractApiStrategy implements Closeable {
     protected Api api;
 
     public void init(Api api) {
@@ -16,5 +25,67 @@ public abstract class AbstractApiStrategy {
     @SuppressWarnings("rawtypes")
     public abstract ApiResponse callApi(HttpMethod method, String apiUrl, Map<String, ? extends Object> params, Map options, String authorizationHeader) throws Exception;
 
+    /**
+     * Calls the API like {@link #callApi(HttpMethod, String, Map, Map, String)}, passing the elements of an array in
+     * the response to a handler instead of returning them. Elements must not be passed to the handler twice, so
+     * the call is not retried once the response body is being read, and not hedged.
+     * <p>
+     * This implementation parses the whole response before handing out the elements, strategies override it to
+     * pass each element on as soon as it is parsed.
+     *
+     * @param elementsKey the key of the array in the response
+     * @param handler     receives the elements of the array
+     * @return the response without the array
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public ApiResponse callApi(HttpMethod method, String apiUrl, Map<String, ? extends Object> params, Map options, String authorizationHeader,
+                               String elementsKey, ElementHandler<?> handler) throws Exception {
+        ApiResponse response = callApi(method, apiUrl, params, options, authorizationHeader);
+        Object elements = response.remove(elementsKey);
+        if (elements instanceof Collection) {
+            for (Object element : (Collection) elements) {
+                ((ElementHandler<Object>) handler).handle(element);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Calls the API like {@link #callApi(HttpMethod, String, Map, Map, String)}, binding a successful response with
+     * the decoder. Error responses throw the same exceptions.
+     * <p>
+     * This implementation parses the response into maps and decodes them again, strategies override it to decode
+     * the response as it is read.
+     *
+     * @param decoder binds the response
+     * @return the decoded response
+     */
+    @SuppressWarnings("rawtypes")
+    public <T> T callApi(HttpMethod method, String apiUrl, Map<String, ? extends Object> params, Map options, String authorizationHeader,
+                         ResponseDecoder<T> decoder) throws Exception {
+        ApiResponse response = callApi(method, apiUrl, params, options, authorizationHeader);
+        return decoder.decode(new JsonReader(new StringReader(ObjectUtils.toJSON(response).toString())));
+    }
+
+    /**
+     * Makes one cheap request to the API host so the connection it opens stays in the pool for later calls. The
+     * request carries no credentials, so it does not count against the Admin API rate limit. Strategies that don't
+     * pool connections have nothing to warm up and return true.
+     *
+     * @param apiUrl an Admin API URL
+     * @return whether the API host responded
+     */
+    public boolean warmUpConnection(String apiUrl) {
+        return true;
+    }
+
     public abstract ApiResponse callAccountApi(HttpMethod method, String apiUrl, Map<String, ? extends Object> params, Map options, String authorizationHeader) throws Exception;
+
+    /**
+     * Releases any resources (connection pools, threads) held by this strategy.
+     * The strategy is shared by all {@link Api} instances of a {@link com.cloudinary.Cloudinary} instance.
+     */
+    @Override
+    public void close() throws IOException {
+    }
 }
@@ -0,0 +1,38 @@
+package com.cloudinary.strategies;
+
+import com.cloudinary.Api.HttpMethod;
+import com.cloudinary.AsyncApi;
+import com.cloudinary.api.ApiResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link AbstractApiStrategy}. Implementations must not block the calling thread
+ * while waiting for the server; the returned future is completed by the transport once the response arrives.
+ */
+public abstract class AbstractAsyncApiStrategy implements Closeable {
+    protected AsyncApi api;
+
+    public void init(AsyncApi api) {
+        this.api = api;
+    }
+
+    /**
+     * Sends an Admin API request.
+     *
+     * @return a future completed with the parsed response, or exceptionally with the same exception types
+     * the synchronous {@link AbstractApiStrategy#callApi} throws
+     */
+    @SuppressWarnings("rawtypes")
+    public abstract CompletableFuture<ApiResponse> callApi(HttpMethod method, String apiUrl, Map<String, ? extends Object> params, Map options, String authorizationHeader);
+
+    /**
+     * Releases any resources (connection pools, I/O reactor threads) held by this strategy.
+     */
+    @Override
+    public void close() throws IOException {
+    }
+}
@@ -3,17 +3,23 @@ package com.cloudinary.strategies;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.ProgressCallback;
 import com.cloudinary.Uploader;
+import com.cloudinary.api.ResponseDecoder;
+import com.cloudinary.utils.JsonReader;
 import com.cloudinary.utils.ObjectUtils;
 import com.cloudinary.utils.StringUtils;
 import org.cloudinary.json.JSONException;
-import org.cloudinary.json.JSONObject;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
-public abstract class AbstractUploaderStrategy {
+public abstract class AbstractUploaderStrategy implements Closeable {
     private final static int[] ERROR_CODES = new int[]{400, 401, 403, 404, 420, 500};
     protected Uploader uploader;
 
@@ -32,6 +38,66 @@ public abstract class AbstractUploaderStrategy {
 
     public abstract Map callApi(String action, Map<String, Object> params, Map options, Object file, ProgressCallback progressCallback) throws IOException;
 
+    /**
+     * Calls the API like {@link #callApi(String, Map, Map, Object, ProgressCallback)}, binding a successful response
+     * with the decoder. Errors throw as if {@code return_error} was not set, since there is no map to return them in.
+     * <p>
+     * This implementation parses the response into maps and decodes them again, strategies override it to decode
+     * the response as it is read.
+     *
+     * @param decoder binds the response
+     * @return the decoded response
+     */
+    @SuppressWarnings("rawtypes")
+    public <T> T callApi(String action, Map<String, Object> params, Map options, Object file, ProgressCallback progressCallback,
+                         ResponseDecoder<T> decoder) throws IOException {
+        Map response = callApi(action, params, options, file, progressCallback);
+        return decoder.decode(new JsonReader(new StringReader(ObjectUtils.toJSON(response).toString())));
+    }
+
+    /**
+     * Whether {@link #callApi} accepts {@link java.nio.ByteBuffer} file parameters. Chunked uploads hand their pooled
+     * buffers directly to strategies that do, and copy each chunk into a byte array otherwise.
+     */
+    public boolean supportsByteBuffers() {
+        return false;
+    }
+
+    /**
+     * Non-blocking variant of {@link #callApi(String, Map, Map, Object)}. This implementation runs the blocking call
+     * on the {@link Cloudinary#bulk()} executor, strategies with an asynchronous transport override it.
+     *
+     * @return a future completed with the parsed response
+     */
+    @SuppressWarnings("rawtypes")
+    public CompletableFuture<Map> callApiAsync(final String action, final Map<String, Object> params, final Map options, final Object file) {
+        return cloudinary().bulk().submit(new Callable<Map>() {
+            @Override
+            public Map call() throws Exception {
+                return callApi(action, params, options, file, null);
+            }
+        });
+    }
+
+    /**
+     * Makes one cheap request to the upload host so the connection it opens stays in the pool for later uploads.
+     * Used by {@link Cloudinary#warmUp(int)}, which makes several of these requests at once. Strategies that don't
+     * pool connections have nothing to warm up and return true.
+     *
+     * @return whether the upload host responded
+     */
+    public boolean warmUpConnection() {
+        return true;
+    }
+
+    /**
+     * Releases any resources (connection pools, threads) held by this strategy.
+     * The strategy is shared by all {@link Uploader} instances of a {@link Cloudinary} instance.
+     */
+    @Override
+    public void close() throws IOException {
+    }
+
     protected String buildUploadUrl(String action, Map options) {
         String cloudinary = ObjectUtils.asString(options.get("upload_prefix"),
                 ObjectUtils.asString(uploader.cloudinary().config.uploadPrefix, "https://api.cloudinary.com"));
@@ -49,26 +115,70 @@ public abstract class AbstractUploaderStrategy {
     }
 
     protected Map processResponse(boolean returnError, int code, String responseData) {
-        String errorMessage = null;
-        Map result = null;
         if (code == 200 || includesServerResponse(code)) {
+            Map result;
             try {
-                JSONObject responseJSON = new JSONObject(responseData);
-                result = ObjectUtils.toMap(responseJSON);
-
-                if (result.containsKey("error")) {
-                    Map error = (Map) result.get("error");
-                    error.put("http_code", code);
-                    errorMessage = (String) error.get("message");
-                }
+                result = JsonReader.parseObject(responseData);
             } catch (JSONException e) {
-                errorMessage = "Invalid JSON response from server " + e.getMessage();
+                return processResult(returnError, code, null, "Invalid JSON response from server " + e.getMessage());
             }
-        } else {
-            errorMessage = "Server returned unexpected status code - " + code;
-            if (StringUtils.isNotBlank(responseData)) {
-                errorMessage += (" - " + responseData);
+            return processResult(returnError, code, result, null);
+        }
+        return processResult(returnError, code, null, unexpectedStatusCode(code, responseData));
+    }
+
+    /**
+     * Same as {@link #processResponse(boolean, int, String)}, parsing the JSON straight from the response stream so
+     * the body is never held as a whole string.
+     *
+     * @param responseStream the UTF-8 encoded response body, read to the end but not closed
+     */
+    protected Map processResponse(boolean returnError, int code, InputStream responseStream) throws IOException {
+        if (code == 200 || includesServerResponse(code)) {
+            Map result;
+            try {
+                result = JsonReader.parseObject(responseStream);
+            } catch (JSONException e) {
+                return processResult(returnError, code, null, "Invalid JSON response from server " + e.getMessage());
             }
+            return processResult(returnError, code, result, null);
+        }
+        return processResult(returnError, code, null, unexpectedStatusCode(code, StringUtils.read(responseStream)));
+    }
+
+    /**
+     * Same as {@link #processResponse(boolean, int, InputStream)} without {@code return_error}, binding a successful
+     * response with the decoder as it is read instead of parsing it into a map.
+     *
+     * @param responseStream the UTF-8 encoded response body, read to the end but not closed
+     */
+    @SuppressWarnings("rawtypes")
+    protected <T> T decodeResponse(int code, InputStream responseStream, ResponseDecoder<T> decoder) throws IOException {
+        if (code != 200) {
+            // throws for the error the response reports
+            Map result = processResponse(false, code, responseStream);
+            return decoder.decode(new JsonReader(new StringReader(ObjectUtils.toJSON(result).toString())));
+        }
+        try {
+            return decoder.decode(new JsonReader(responseStream));
+        } catch (JSONException e) {
+            throw new RuntimeException("Invalid JSON response from server " + e.getMessage());
+        }
+    }
+
+    private static String unexpectedStatusCode(int code, String responseData) {
+        String errorMessage = "Server returned unexpected status code - " + code;
+        if (StringUtils.isNotBlank(responseData)) {
+            errorMessage += (" - " + responseData);
+        }
+        return errorMessage;
+    }
+
+    private Map processResult(boolean returnError, int code, Map result, String errorMessage) {
+        if (result != null && result.containsKey("error")) {
+            Map error = (Map) result.get("error");
+            error.put("http_code", code);
+            errorMessage = (String) error.get("message");
         }
 
         if (StringUtils.isNotBlank(errorMessage)) {
@@ -0,0 +1,237 @@
+package com.cloudinary.strategies;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stops calling an endpoint that keeps failing or responding slowly, so callers fail fast instead of waiting out
+ * the timeout of every call.
+ * <p>
+ * While {@link State#CLOSED} the outcomes of the most recent calls are kept in a sliding window. Once the window
+ * holds enough calls and either the failure rate or the slow call rate reaches its threshold the breaker opens and
+ * calls are rejected with {@link CircuitBreakerOpenException}. After the open duration the breaker lets a few probe
+ * calls through while {@link State#HALF_OPEN}: if they all succeed in time it closes, otherwise it opens again.
+ * <p>
+ * Breakers are created and configured by a {@link CircuitBreakerRegistry}.
+ */
+public class CircuitBreaker {
+    static final CircuitBreaker DISABLED = new CircuitBreaker("disabled", null);
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    public enum State {CLOSED, OPEN, HALF_OPEN}
+
+    /**
+     * A permitted call, tagged with the state of the breaker it was made in. Its outcome is recorded once with
+     * {@link CircuitBreaker#onResult(Permission, long, boolean)}, a call that ends without an outcome is given back
+     * with {@link CircuitBreaker#release(Permission)}.
+     */
+    public static final class Permission {
+        private final long generation;
+        private boolean completed;
+
+        private Permission(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Notified after a breaker changed its state.
+     */
+    public interface StateListener {
+        void onStateChange(CircuitBreaker circuitBreaker, State from, State to);
+    }
+
+    private final String name;
+    private final CircuitBreakerRegistry registry;
+
+    private State state = State.CLOSED;
+    private final byte[] window;
+    private int windowPosition;
+    private int calls;
+    private int failedCalls;
+    private int slowCalls;
+    private long openedAt;
+    private int probesInFlight;
+    private int successfulProbes;
+    // counts the state transitions, permissions granted in an earlier state are not counted in the current one
+    private long generation;
+
+    CircuitBreaker(String name, CircuitBreakerRegistry registry) {
+        this.name = name;
+        this.registry = registry;
+        this.window = new byte[registry != null ? registry.getWindowSize() : 0];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return the fraction of failed calls in the sliding window
+     */
+    public synchronized double getFailureRate() {
+        return calls > 0 ? failedCalls / (double) calls : 0;
+    }
+
+    /**
+     * @return the fraction of slow calls in the sliding window
+     */
+    public synchronized double getSlowCallRate() {
+        return calls > 0 ? slowCalls / (double) calls : 0;
+    }
+
+    /**
+     * Checks that a call may be made, every permitted call must be followed by
+     * {@link #onResult(Permission, long, boolean)} or {@link #release(Permission)}.
+     *
+     * @return the permission the outcome of the call is recorded with
+     * @throws CircuitBreakerOpenException if the breaker is open or all half open probes are in flight
+     */
+    public Permission acquirePermission() throws CircuitBreakerOpenException {
+        if (registry == null) {
+            return new Permission(0);
+        }
+        List<State> transition = null;
+        boolean permitted = true;
+        Permission permission;
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (System.currentTimeMillis() - openedAt < registry.getOpenDurationMillis()) {
+                    permitted = false;
+                } else {
+                    transition = transitionTo(State.HALF_OPEN);
+                }
+            }
+            if (permitted && state == State.HALF_OPEN) {
+                if (probesInFlight < registry.getHalfOpenCalls()) {
+                    probesInFlight++;
+                } else {
+                    permitted = false;
+                }
+            }
+            permission = new Permission(generation);
+        }
+        notifyListeners(transition);
+        if (!permitted) {
+            throw new CircuitBreakerOpenException(name);
+        }
+        return permission;
+    }
+
+    /**
+     * Records the response of a permitted call, failing status codes are set on the {@link CircuitBreakerRegistry}.
+     *
+     * @param permission     the permission the call was made with
+     * @param durationMillis how long the call took
+     * @param statusCode     the status code of the response
+     */
+    public void onResult(Permission permission, long durationMillis, int statusCode) {
+        if (registry != null) {
+            onResult(permission, durationMillis, registry.isFailure(statusCode));
+        }
+    }
+
+    /**
+     * Records the outcome of a permitted call.
+     *
+     * @param permission     the permission the call was made with
+     * @param durationMillis how long the call took
+     * @param failed         whether the call failed
+     */
+    public void onResult(Permission permission, long durationMillis, boolean failed) {
+        if (registry == null) {
+            return;
+        }
+        boolean slow = durationMillis >= registry.getSlowCallDurationMillis();
+        List<State> transition = null;
+        synchronized (this) {
+            if (permission.completed) {
+                return;
+            }
+            permission.completed = true;
+            // a call made before the breaker changed its state says nothing about the new one, and was not a probe
+            if (permission.generation != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                probesInFlight--;
+                if (failed || slow) {
+                    transition = transitionTo(State.OPEN);
+                } else if (++successfulProbes >= registry.getHalfOpenCalls()) {
+                    transition = transitionTo(State.CLOSED);
+                }
+            } else if (state == State.CLOSED) {
+                record((byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0)));
+                if (calls >= registry.getMinimumCalls()
+                        && (getFailureRate() >= registry.getFailureRateThreshold() || getSlowCallRate() >= registry.getSlowCallRateThreshold())) {
+                    transition = transitionTo(State.OPEN);
+                }
+            }
+        }
+        notifyListeners(transition);
+    }
+
+    /**
+     * Gives back the permission of a call that ended without an outcome, such as one aborted by an unexpected
+     * exception, so a half open breaker does not wait for its probe forever. Does nothing once the outcome of the
+     * call was recorded.
+     *
+     * @param permission the permission the call was made with
+     */
+    public void release(Permission permission) {
+        if (registry == null) {
+            return;
+        }
+        synchronized (this) {
+            if (permission.completed) {
+                return;
+            }
+            permission.completed = true;
+            if (permission.generation == generation && state == State.HALF_OPEN) {
+                probesInFlight--;
+            }
+        }
+    }
+
+    private void record(byte outcome) {
+        if (calls == window.length) {
+            byte evicted = window[windowPosition];
+            failedCalls -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            calls++;
+        }
+        window[windowPosition] = outcome;
+        windowPosition = (windowPosition + 1) % window.length;
+        failedCalls += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+    }
+
+    private List<State> transitionTo(State newState) {
+        List<State> transition = new ArrayList<State>(2);
+        transition.add(state);
+        transition.add(newState);
+        state = newState;
+        generation++;
+        calls = failedCalls = slowCalls = windowPosition = 0;
+        probesInFlight = successfulProbes = 0;
+        if (newState == State.OPEN) {
+            openedAt = System.currentTimeMillis();
+        }
+        return transition;
+    }
+
+    private void notifyListeners(List<State> transition) {
+        if (transition != null) {
+            for (StateListener listener : registry.getListeners()) {
+                listener.onStateChange(this, transition.get(0), transition.get(1));
+            }
+        }
+    }
+}
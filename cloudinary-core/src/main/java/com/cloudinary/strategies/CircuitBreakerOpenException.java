@@ -0,0 +1,21 @@
+package com.cloudinary.strategies;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of making a call while the {@link CircuitBreaker} of its endpoint is open.
+ */
+public class CircuitBreakerOpenException extends IOException {
+    private static final long serialVersionUID = -3317046214522396402L;
+
+    private final String circuitBreakerName;
+
+    public CircuitBreakerOpenException(String circuitBreakerName) {
+        super("Circuit breaker " + circuitBreakerName + " is open");
+        this.circuitBreakerName = circuitBreakerName;
+    }
+
+    public String getCircuitBreakerName() {
+        return circuitBreakerName;
+    }
+}
@@ -0,0 +1,233 @@
+package com.cloudinary.strategies;
+
+import com.cloudinary.Configuration;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holds one {@link CircuitBreaker} per endpoint, keyed by the host and action of the calls. Set an instance in the
+ * {@code circuitBreakers} configuration property to enable circuit breaking, the same instance can be used to
+ * observe the breakers.
+ */
+public class CircuitBreakerRegistry {
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallDurationMillis;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final long openDurationMillis;
+    private final int halfOpenCalls;
+    private final Set<Integer> failureStatusCodes;
+
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<String, CircuitBreaker>();
+    private final List<CircuitBreaker.StateListener> listeners = new CopyOnWriteArrayList<CircuitBreaker.StateListener>();
+
+    private CircuitBreakerRegistry(Builder builder) {
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDurationMillis = builder.slowCallDurationMillis;
+        this.windowSize = Math.max(1, builder.windowSize);
+        this.minimumCalls = Math.max(1, Math.min(windowSize, builder.minimumCalls));
+        this.openDurationMillis = builder.openDurationMillis;
+        this.halfOpenCalls = Math.max(1, builder.halfOpenCalls);
+        this.failureStatusCodes = Collections.unmodifiableSet(new HashSet<Integer>(builder.failureStatusCodes));
+    }
+
+    /**
+     * @return the circuit breaker of the endpoint, or an always closed breaker if the {@code circuitBreakers}
+     * property of the configuration is not set
+     */
+    public static CircuitBreaker forEndpoint(Configuration config, String url, String action) {
+        Object registry = config.properties.get("circuitBreakers");
+        return registry != null ? ((CircuitBreakerRegistry) registry).get(url, action) : CircuitBreaker.DISABLED;
+    }
+
+    /**
+     * @param url    the URL of the call, only its host is used
+     * @param action the action of the call, for example {@code upload} or {@code resources}
+     * @return the breaker shared by all calls to the action on the host
+     */
+    public CircuitBreaker get(String url, String action) {
+        String name = host(url) + "/" + action;
+        CircuitBreaker circuitBreaker = circuitBreakers.get(name);
+        if (circuitBreaker == null) {
+            CircuitBreaker created = new CircuitBreaker(name, this);
+            circuitBreaker = circuitBreakers.putIfAbsent(name, created);
+            if (circuitBreaker == null) {
+                circuitBreaker = created;
+            }
+        }
+        return circuitBreaker;
+    }
+
+    /**
+     * Returns the Admin API action of a URL built by {@link com.cloudinary.Api}, the first path component after the
+     * API version and cloud name.
+     */
+    public static String apiAction(String apiUrl) {
+        String[] components = URI.create(apiUrl).getPath().split("/");
+        // components are "", version, cloud name, action...
+        return components.length > 3 ? components[3] : "";
+    }
+
+    private static String host(String url) {
+        URI uri = URI.create(url);
+        return uri.getPort() != -1 ? uri.getHost() + ":" + uri.getPort() : uri.getHost();
+    }
+
+    /**
+     * @return the breakers created so far by name
+     */
+    public Map<String, CircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableMap(circuitBreakers);
+    }
+
+    public void addListener(CircuitBreaker.StateListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(CircuitBreaker.StateListener listener) {
+        listeners.remove(listener);
+    }
+
+    List<CircuitBreaker.StateListener> getListeners() {
+        return listeners;
+    }
+
+    /**
+     * @return whether a response with the status code counts as a failed call
+     */
+    public boolean isFailure(int statusCode) {
+        return failureStatusCodes.contains(statusCode);
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public long getSlowCallDurationMillis() {
+        return slowCallDurationMillis;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public long getOpenDurationMillis() {
+        return openDurationMillis;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    public static class Builder {
+        private double failureRateThreshold = 0.5;
+        private double slowCallRateThreshold = 0.8;
+        private long slowCallDurationMillis = 60000;
+        private int windowSize = 20;
+        private int minimumCalls = 10;
+        private long openDurationMillis = 30000;
+        private int halfOpenCalls = 3;
+        private Collection<Integer> failureStatusCodes = Arrays.asList(500, 502, 503, 504);
+
+        /**
+         * Set the fraction of failed calls in the sliding window that opens the breaker.
+         *
+         * @param failureRateThreshold a fraction between 0 and 1
+         * @return builder for chaining
+         */
+        public Builder setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Set the fraction of slow calls in the sliding window that opens the breaker.
+         *
+         * @param slowCallRateThreshold a fraction between 0 and 1
+         * @return builder for chaining
+         */
+        public Builder setSlowCallRateThreshold(double slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            return this;
+        }
+
+        /**
+         * Set the duration from which a call counts as slow. Uploads are measured as a whole, leave enough time
+         * for the largest files or chunks sent.
+         *
+         * @param slowCallDurationMillis the duration in milliseconds
+         * @return builder for chaining
+         */
+        public Builder setSlowCallDurationMillis(long slowCallDurationMillis) {
+            this.slowCallDurationMillis = slowCallDurationMillis;
+            return this;
+        }
+
+        /**
+         * Set the number of most recent calls the rates are computed from.
+         *
+         * @param windowSize the sliding window size
+         * @return builder for chaining
+         */
+        public Builder setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Set the number of calls the sliding window must hold before the breaker may open.
+         *
+         * @param minimumCalls the minimum number of calls, at most the window size
+         * @return builder for chaining
+         */
+        public Builder setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Set how long an open breaker rejects calls before letting probe calls through.
+         *
+         * @param openDurationMillis the duration in milliseconds
+         * @return builder for chaining
+         */
+        public Builder setOpenDurationMillis(long openDurationMillis) {
+            this.openDurationMillis = openDurationMillis;
+            return this;
+        }
+
+        /**
+         * Set the number of probe calls a half open breaker lets through, all of them must succeed to close it.
+         *
+         * @param halfOpenCalls the number of probe calls
+         * @return builder for chaining
+         */
+        public Builder setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+            return this;
+        }
+
+        public Builder setFailureStatusCodes(Collection<Integer> failureStatusCodes) {
+            this.failureStatusCodes = failureStatusCodes;
+            return this;
+        }
+
+        public CircuitBreakerRegistry build() {
+            return new CircuitBreakerRegistry(this);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.cloudinary.strategies;
+
+import com.cloudinary.Configuration;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Decides when strategies send a second, hedged copy of a slow idempotent read. Set an instance in the
+ * {@code hedgingPolicy} configuration property to enable hedging.
+ * <p>
+ * The hedge is sent once the original request has been running longer than the configured percentile of the recent
+ * latencies of the same action. The first response to arrive is used and the other request is cancelled, so about
+ * {@code 1 - percentile} of the reads cost a second request against the rate limit. When
+ * {@code paceRateLimits} is on the hedge is charged to the {@link com.cloudinary.api.RateLimiter} of the call, and
+ * is not sent if that would mean waiting for the budget.
+ */
+public class HedgingPolicy {
+    private final double percentile;
+    private final long initialDelayMillis;
+    private final long minDelayMillis;
+    private final int windowSize;
+    private final int minSamples;
+
+    private final ConcurrentMap<String, LatencyWindow> latencies = new ConcurrentHashMap<String, LatencyWindow>();
+
+    private HedgingPolicy(Builder builder) {
+        this.percentile = Math.min(1, Math.max(0, builder.percentile));
+        this.initialDelayMillis = builder.initialDelayMillis;
+        this.minDelayMillis = builder.minDelayMillis;
+        this.windowSize = Math.max(1, builder.windowSize);
+        this.minSamples = Math.max(1, Math.min(windowSize, builder.minSamples));
+    }
+
+    /**
+     * @return the policy set in the {@code hedgingPolicy} property of the configuration, or null if reads are not
+     * hedged
+     */
+    public static HedgingPolicy forConfiguration(Configuration config) {
+        return (HedgingPolicy) config.properties.get("hedgingPolicy");
+    }
+
+    /**
+     * @param action the action of the request
+     * @return how long to wait for a response before sending the hedged request
+     */
+    public long delayMillis(String action) {
+        LatencyWindow window = latencies.get(action);
+        long delay = window != null ? window.percentile(percentile, minSamples) : -1;
+        return Math.max(minDelayMillis, delay >= 0 ? delay : initialDelayMillis);
+    }
+
+    /**
+     * Records the latency of a completed read, hedged or not.
+     *
+     * @param action        the action of the request
+     * @param latencyMillis the time until the response was received
+     */
+    public void recordLatency(String action, long latencyMillis) {
+        LatencyWindow window = latencies.get(action);
+        if (window == null) {
+            LatencyWindow created = new LatencyWindow(windowSize);
+            window = latencies.putIfAbsent(action, created);
+            if (window == null) {
+                window = created;
+            }
+        }
+        window.add(latencyMillis);
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    private static class LatencyWindow {
+        private final long[] samples;
+        private int position;
+        private int count;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void add(long latencyMillis) {
+            samples[position] = latencyMillis;
+            position = (position + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        /**
+         * @return the percentile of the recorded latencies, or -1 if fewer than {@code minSamples} were recorded
+         */
+        synchronized long percentile(double percentile, int minSamples) {
+            if (count < minSamples) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            // nearest rank: the smallest latency at least that fraction of the samples don't exceed
+            int rank = (int) Math.ceil(percentile * count);
+            return sorted[Math.max(0, Math.min(count, rank) - 1)];
+        }
+    }
+
+    public static class Builder {
+        private double percentile = 0.95;
+        private long initialDelayMillis = 1000;
+        private long minDelayMillis = 20;
+        private int windowSize = 200;
+        private int minSamples = 20;
+
+        /**
+         * Set the latency percentile after which a read is hedged.
+         *
+         * @param percentile a fraction between 0 and 1, for example 0.95 to hedge the slowest 5% of the reads
+         * @return builder for chaining
+         */
+        public Builder setPercentile(double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Set the delay used until enough latencies of an action have been recorded.
+         *
+         * @param initialDelayMillis the delay in milliseconds
+         * @return builder for chaining
+         */
+        public Builder setInitialDelayMillis(long initialDelayMillis) {
+            this.initialDelayMillis = initialDelayMillis;
+            return this;
+        }
+
+        /**
+         * Set the shortest delay before hedging, so fast actions are not hedged on every small variation.
+         *
+         * @param minDelayMillis the delay in milliseconds
+         * @return builder for chaining
+         */
+        public Builder setMinDelayMillis(long minDelayMillis) {
+            this.minDelayMillis = minDelayMillis;
+            return this;
+        }
+
+        /**
+         * Set the number of most recent latencies of each action the percentile is computed from.
+         *
+         * @param windowSize the number of latencies
+         * @return builder for chaining
+         */
+        public Builder setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Set the number of latencies of an action that must be recorded before the percentile replaces the initial
+         * delay. Capped at the window size.
+         *
+         * @param minSamples the number of latencies
+         * @return builder for chaining
+         */
+        public Builder setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+            return this;
+        }
+
+        /**
+         * Creates a {@link HedgingPolicy} with the arguments supplied to this builder
+         */
+        public HedgingPolicy build() {
+            return new HedgingPolicy(this);
+        }
+    }
+}
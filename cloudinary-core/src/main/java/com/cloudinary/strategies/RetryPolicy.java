@@ -0,0 +1,235 @@
+package com.cloudinary.strategies;
+
+import com.cloudinary.Api.HttpMethod;
+import com.cloudinary.Configuration;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether and when strategies retry a failed request. Set an instance in the {@code retryPolicy}
+ * configuration property to enable retries, by default requests are attempted once.
+ * <p>
+ * Only idempotent requests (GET, PUT and DELETE, and upload chunks) are retried unless
+ * {@link Builder#setRetryNonIdempotent(boolean)} is set. Delays grow exponentially and are randomized so clients that
+ * failed together don't retry in lockstep. A rate limited request waits for the reset time the server announced.
+ */
+public class RetryPolicy {
+    public static final RetryPolicy NONE = new Builder().setMaxAttempts(1).build();
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final double multiplier;
+    private final double jitter;
+    private final long maxRateLimitWaitMillis;
+    private final Set<Integer> retryableStatusCodes;
+    private final List<Class<? extends Throwable>> retryableExceptions;
+    private final boolean retryNonIdempotent;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = Math.max(1, builder.maxAttempts);
+        this.initialBackoffMillis = builder.initialBackoffMillis;
+        this.maxBackoffMillis = builder.maxBackoffMillis;
+        this.multiplier = builder.multiplier;
+        this.jitter = Math.min(1, Math.max(0, builder.jitter));
+        this.maxRateLimitWaitMillis = builder.maxRateLimitWaitMillis;
+        this.retryableStatusCodes = Collections.unmodifiableSet(new HashSet<Integer>(builder.retryableStatusCodes));
+        this.retryableExceptions = Collections.unmodifiableList(new ArrayList<Class<? extends Throwable>>(builder.retryableExceptions));
+        this.retryNonIdempotent = builder.retryNonIdempotent;
+    }
+
+    /**
+     * @return the policy set in the {@code retryPolicy} property of the configuration, or {@link #NONE}
+     */
+    public static RetryPolicy forConfiguration(Configuration config) {
+        Object retryPolicy = config.properties.get("retryPolicy");
+        return retryPolicy != null ? (RetryPolicy) retryPolicy : NONE;
+    }
+
+    public static boolean isIdempotent(HttpMethod method) {
+        return method == HttpMethod.GET || method == HttpMethod.PUT || method == HttpMethod.DELETE;
+    }
+
+    /**
+     * @param idempotent     whether repeating the request is safe
+     * @param failedAttempts the number of attempts made so far
+     * @param statusCode     the status code of the last attempt
+     */
+    public boolean shouldRetry(boolean idempotent, int failedAttempts, int statusCode) {
+        return mayRetry(idempotent, failedAttempts) && retryableStatusCodes.contains(statusCode);
+    }
+
+    /**
+     * @param idempotent     whether repeating the request is safe
+     * @param failedAttempts the number of attempts made so far
+     * @param error          the error the last attempt failed with
+     */
+    public boolean shouldRetry(boolean idempotent, int failedAttempts, Throwable error) {
+        if (!mayRetry(idempotent, failedAttempts)) {
+            return false;
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            for (Class<? extends Throwable> retryable : retryableExceptions) {
+                if (retryable.isInstance(cause)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean mayRetry(boolean idempotent, int failedAttempts) {
+        return failedAttempts < maxAttempts && (idempotent || retryNonIdempotent);
+    }
+
+    /**
+     * @param failedAttempts the number of attempts made so far
+     * @param rateLimitReset when the server's rate limit resets, null if not rate limited
+     * @return the time to wait before the next attempt, or -1 if the rate limit resets too late to wait for it
+     */
+    public long delayMillis(int failedAttempts, Date rateLimitReset) {
+        double backoff = Math.min(maxBackoffMillis, initialBackoffMillis * Math.pow(multiplier, failedAttempts - 1));
+        long delay = (long) (backoff * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+        if (rateLimitReset != null) {
+            long untilReset = rateLimitReset.getTime() - System.currentTimeMillis();
+            if (untilReset > maxRateLimitWaitMillis) {
+                return -1;
+            }
+            // the jittered backoff spreads the clients released by the same reset
+            delay += Math.max(0, untilReset);
+        }
+        return delay;
+    }
+
+    /**
+     * Sleeps before the next attempt.
+     *
+     * @return false if the thread was interrupted, the interrupt flag is restored and no further attempt should be made
+     */
+    public boolean sleep(long delayMillis) {
+        try {
+            Thread.sleep(delayMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Set<Integer> getRetryableStatusCodes() {
+        return retryableStatusCodes;
+    }
+
+    public List<Class<? extends Throwable>> getRetryableExceptions() {
+        return retryableExceptions;
+    }
+
+    public boolean isRetryNonIdempotent() {
+        return retryNonIdempotent;
+    }
+
+    public static class Builder {
+        private int maxAttempts = 3;
+        private long initialBackoffMillis = 500;
+        private long maxBackoffMillis = 30000;
+        private double multiplier = 2;
+        private double jitter = 0.5;
+        private long maxRateLimitWaitMillis = 60000;
+        private Collection<Integer> retryableStatusCodes = Arrays.asList(420, 429, 500, 502, 503, 504);
+        private Collection<Class<? extends Throwable>> retryableExceptions = Collections.<Class<? extends Throwable>>singletonList(IOException.class);
+        private boolean retryNonIdempotent = false;
+
+        /**
+         * Set the total number of attempts, including the first one.
+         *
+         * @param maxAttempts the maximum number of attempts, 1 disables retries
+         * @return builder for chaining
+         */
+        public Builder setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Set the delay before the first retry, each further retry waits {@code multiplier} times longer.
+         *
+         * @param initialBackoffMillis the first delay in milliseconds
+         * @return builder for chaining
+         */
+        public Builder setInitialBackoffMillis(long initialBackoffMillis) {
+            this.initialBackoffMillis = initialBackoffMillis;
+            return this;
+        }
+
+        public Builder setMaxBackoffMillis(long maxBackoffMillis) {
+            this.maxBackoffMillis = maxBackoffMillis;
+            return this;
+        }
+
+        public Builder setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * Set the fraction of each delay that is randomized.
+         *
+         * @param jitter 0 for fixed delays, up to 1 for delays anywhere between 0 and the backoff
+         * @return builder for chaining
+         */
+        public Builder setJitter(double jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Set the longest time to wait for a rate limit to reset, rate limited requests that would have to wait
+         * longer fail right away.
+         *
+         * @param maxRateLimitWaitMillis the maximum wait in milliseconds
+         * @return builder for chaining
+         */
+        public Builder setMaxRateLimitWaitMillis(long maxRateLimitWaitMillis) {
+            this.maxRateLimitWaitMillis = maxRateLimitWaitMillis;
+            return this;
+        }
+
+        public Builder setRetryableStatusCodes(Collection<Integer> retryableStatusCodes) {
+            this.retryableStatusCodes = retryableStatusCodes;
+            return this;
+        }
+
+        /**
+         * Set the exceptions that are retried, a failure is retried when it or one of its causes is an instance of
+         * one of them.
+         *
+         * @param retryableExceptions the retryable exception types
+         * @return builder for chaining
+         */
+        public Builder setRetryableExceptions(Collection<Class<? extends Throwable>> retryableExceptions) {
+            this.retryableExceptions = retryableExceptions;
+            return this;
+        }
+
+        /**
+         * Also retry POST requests and uploads, which may then take effect more than once.
+         *
+         * @param retryNonIdempotent whether to retry non-idempotent requests
+         * @return builder for chaining
+         */
+        public Builder setRetryNonIdempotent(boolean retryNonIdempotent) {
+            this.retryNonIdempotent = retryNonIdempotent;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
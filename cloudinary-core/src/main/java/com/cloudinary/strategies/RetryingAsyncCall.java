@@ -0,0 +1,155 @@
+package com.cloudinary.strategies;
+
+import com.cloudinary.Cloudinary;
+
+import java.util.Date;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends a non-blocking request following the {@link RetryPolicy} and the {@link CircuitBreaker} of the blocking
+ * strategies. Instead of sleeping between attempts, the next attempt is scheduled on the
+ * {@link Cloudinary#asyncScheduler()} once the retry delay is over. Each attempt asks the breaker for permission
+ * before it is sent and records its outcome. Cancelling the returned future cancels the attempt in flight or the
+ * scheduled one.
+ *
+ * @param <R> the response of an attempt, read in full
+ */
+public final class RetryingAsyncCall<R> {
+
+    /**
+     * Sends the request, once for each attempt.
+     */
+    public interface Exchange<R> {
+        /**
+         * @return a future completed with the response of a new attempt, or exceptionally with the error the
+         * attempt failed with
+         */
+        CompletableFuture<R> send() throws Exception;
+
+        int statusCode(R response);
+
+        /**
+         * @return when the rate limit announced in the response resets, or null if it announced none
+         */
+        Date rateLimitReset(R response);
+    }
+
+    private final Cloudinary cloudinary;
+    private final RetryPolicy retryPolicy;
+    private final boolean idempotent;
+    private final CircuitBreaker circuitBreaker;
+    private final Exchange<R> exchange;
+    private final CompletableFuture<R> result = new CompletableFuture<R>();
+    // the attempt in flight or the scheduled one
+    private volatile Future<?> pending;
+    // attempts follow each other, each one is started after the previous one completed
+    private volatile int attempts;
+
+    private RetryingAsyncCall(Cloudinary cloudinary, RetryPolicy retryPolicy, boolean idempotent, CircuitBreaker circuitBreaker,
+                              Exchange<R> exchange) {
+        this.cloudinary = cloudinary;
+        this.retryPolicy = retryPolicy;
+        this.idempotent = idempotent;
+        this.circuitBreaker = circuitBreaker;
+        this.exchange = exchange;
+    }
+
+    /**
+     * @param retryPolicy the policy retrying failed attempts, {@link RetryPolicy#NONE} for a request that can't be
+     *                    sent again
+     * @param idempotent     whether repeating the request is safe
+     * @param circuitBreaker the breaker of the endpoint, see {@link CircuitBreakerRegistry#forEndpoint}
+     * @return a future completed with the response of the last attempt, or exceptionally with the error it failed
+     * with, {@link CircuitBreakerOpenException} if the breaker did not permit an attempt
+     */
+    public static <R> CompletableFuture<R> execute(Cloudinary cloudinary, RetryPolicy retryPolicy, boolean idempotent,
+                                                   CircuitBreaker circuitBreaker, Exchange<R> exchange) {
+        final RetryingAsyncCall<R> call = new RetryingAsyncCall<R>(cloudinary, retryPolicy, idempotent, circuitBreaker, exchange);
+        call.result.whenComplete((response, error) -> {
+            Future<?> pending = call.pending;
+            if (call.result.isCancelled() && pending != null) {
+                pending.cancel(true);
+            }
+        });
+        call.attempt();
+        return call.result;
+    }
+
+    private void attempt() {
+        if (result.isDone()) {
+            return;
+        }
+        attempts++;
+        final CircuitBreaker.Permission permission;
+        try {
+            permission = circuitBreaker.acquirePermission();
+        } catch (CircuitBreakerOpenException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        CompletableFuture<R> sent;
+        try {
+            sent = exchange.send();
+        } catch (Exception e) {
+            // the request was not sent, its probe is given back
+            circuitBreaker.release(permission);
+            result.completeExceptionally(e);
+            return;
+        }
+        pending = sent;
+        if (result.isCancelled()) {
+            sent.cancel(true);
+        }
+        sent.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) {
+                // a cancelled call has no outcome
+                circuitBreaker.release(permission);
+            } else if (error != null) {
+                circuitBreaker.onResult(permission, System.currentTimeMillis() - start, true);
+            } else {
+                circuitBreaker.onResult(permission, System.currentTimeMillis() - start, exchange.statusCode(response));
+            }
+            completed(response, error);
+        });
+    }
+
+    private void completed(R response, Throwable error) {
+        int attempt = attempts;
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (!retryPolicy.shouldRetry(idempotent, attempt, cause) || !schedule(retryPolicy.delayMillis(attempt, null))) {
+                result.completeExceptionally(cause);
+            }
+            return;
+        }
+        if (!retryPolicy.shouldRetry(idempotent, attempt, exchange.statusCode(response))
+                || !schedule(retryPolicy.delayMillis(attempt, exchange.rateLimitReset(response)))) {
+            result.complete(response);
+        }
+    }
+
+    /**
+     * @param delayMillis the retry delay, negative if the request should not wait that long
+     * @return whether the next attempt was scheduled, false once the Cloudinary instance was closed
+     */
+    private boolean schedule(long delayMillis) {
+        if (delayMillis < 0) {
+            return false;
+        }
+        try {
+            pending = cloudinary.asyncScheduler().schedule(this::attempt, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+        if (result.isCancelled()) {
+            pending.cancel(false);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package com.cloudinary.upload;
+
+/**
+ * Picks the size of the next part of a chunked upload from the measured throughput of the previous parts, aiming for
+ * parts that take about {@code targetPartMillis} to send. Sizes start at the lower bound and stay within the bounds,
+ * the lower bound is never below {@link #MIN_CHUNK_SIZE}, the smallest non-final part the upload API accepts.
+ * Safe for use by concurrently uploaded parts.
+ */
+public class AdaptiveChunkSizer {
+    public static final int MIN_CHUNK_SIZE = 5 * 1024 * 1024;
+    public static final int DEFAULT_MAX_CHUNK_SIZE = 100 * 1024 * 1024;
+    public static final long DEFAULT_TARGET_PART_MILLIS = 10000;
+
+    // weight of the newest sample in the throughput average
+    private static final double SMOOTHING = 0.5;
+
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private final long targetPartNanos;
+    private double bytesPerNano = -1;
+    private int chunkSize;
+
+    public AdaptiveChunkSizer() {
+        this(MIN_CHUNK_SIZE, DEFAULT_MAX_CHUNK_SIZE, DEFAULT_TARGET_PART_MILLIS);
+    }
+
+    /**
+     * @param minChunkSize     the smallest part size, raised to {@link #MIN_CHUNK_SIZE} if lower
+     * @param maxChunkSize     the largest part size, also the most memory a single buffered part takes
+     * @param targetPartMillis the time a part should take to upload
+     */
+    public AdaptiveChunkSizer(int minChunkSize, int maxChunkSize, long targetPartMillis) {
+        this.minChunkSize = Math.max(MIN_CHUNK_SIZE, minChunkSize);
+        this.maxChunkSize = Math.max(this.minChunkSize, maxChunkSize);
+        this.targetPartNanos = targetPartMillis * 1000000L;
+        this.chunkSize = this.minChunkSize;
+    }
+
+    /**
+     * @return the size of the next part to send
+     */
+    public synchronized int nextChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Records a successfully uploaded part.
+     *
+     * @param bytes        the size of the part
+     * @param elapsedNanos the time it took to send the part and receive the response
+     */
+    public synchronized void record(int bytes, long elapsedNanos) {
+        if (bytes <= 0 || elapsedNanos <= 0) {
+            return;
+        }
+        double sample = (double) bytes / elapsedNanos;
+        bytesPerNano = bytesPerNano < 0 ? sample : SMOOTHING * sample + (1 - SMOOTHING) * bytesPerNano;
+        // grow with the smoothed throughput, at most twofold per part so one fast sample doesn't jump straight to
+        // the upper bound, but shrink to a slow sample right away to keep retries cheap
+        double rate = Math.min(sample, bytesPerNano);
+        double next = Math.min(rate * targetPartNanos, chunkSize * 2.0);
+        chunkSize = (int) Math.max(minChunkSize, Math.min(maxChunkSize, next));
+    }
+}
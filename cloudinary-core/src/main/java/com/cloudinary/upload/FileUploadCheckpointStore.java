@@ -0,0 +1,109 @@
+package com.cloudinary.upload;
+
+import com.cloudinary.utils.StringUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+
+/**
+ * Stores each checkpoint as a properties file in a directory, by default {@code cloudinary-upload-checkpoints} under
+ * {@code java.io.tmpdir}. Files are replaced atomically where the file system supports it, so a crash while saving
+ * leaves the previous checkpoint intact.
+ */
+public class FileUploadCheckpointStore implements UploadCheckpointStore {
+
+    private final File directory;
+
+    public FileUploadCheckpointStore() {
+        this(new File(System.getProperty("java.io.tmpdir"), "cloudinary-upload-checkpoints"));
+    }
+
+    public FileUploadCheckpointStore(File directory) {
+        this.directory = directory;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public UploadCheckpoint load(String key) throws IOException {
+        File file = fileFor(key);
+        if (!file.isFile()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        InputStream in = new FileInputStream(file);
+        try {
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } finally {
+            in.close();
+        }
+        if (!key.equals(properties.getProperty("key"))) {
+            return null;
+        }
+        try {
+            return new UploadCheckpoint(key,
+                    properties.getProperty("upload_id"),
+                    Long.parseLong(properties.getProperty("file_length")),
+                    Long.parseLong(properties.getProperty("last_modified")),
+                    Integer.parseInt(properties.getProperty("chunk_size")),
+                    Long.parseLong(properties.getProperty("bytes_acknowledged")));
+        } catch (NumberFormatException e) {
+            // a damaged checkpoint only means starting over
+            return null;
+        }
+    }
+
+    @Override
+    public void save(UploadCheckpoint checkpoint) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("key", checkpoint.getKey());
+        properties.setProperty("upload_id", checkpoint.getUploadId());
+        properties.setProperty("file_length", Long.toString(checkpoint.getFileLength()));
+        properties.setProperty("last_modified", Long.toString(checkpoint.getLastModified()));
+        properties.setProperty("chunk_size", Integer.toString(checkpoint.getChunkSize()));
+        properties.setProperty("bytes_acknowledged", Long.toString(checkpoint.getBytesAcknowledged()));
+
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+            throw new IOException("Cannot create checkpoint directory " + directory);
+        }
+        File file = fileFor(checkpoint.getKey());
+        File temp = File.createTempFile(file.getName(), ".tmp", directory);
+        try {
+            Writer out = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8);
+            try {
+                properties.store(out, null);
+            } finally {
+                out.close();
+            }
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            temp.delete();
+        }
+    }
+
+    @Override
+    public void remove(String key) throws IOException {
+        Files.deleteIfExists(fileFor(key).toPath());
+    }
+
+    private File fileFor(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+            return new File(directory, StringUtils.encodeHexString(digest) + ".properties");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Unexpected exception", e);
+        }
+    }
+}
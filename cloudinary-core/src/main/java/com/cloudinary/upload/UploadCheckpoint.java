@@ -0,0 +1,84 @@
+package com.cloudinary.upload;
+
+/**
+ * The progress of a chunked upload of a local file: the upload id shared by its parts and the length of the
+ * contiguous prefix of the file that the server has acknowledged.
+ */
+public class UploadCheckpoint {
+    private String key;
+    private String uploadId;
+    private long fileLength;
+    private long lastModified;
+    private int chunkSize;
+    private long bytesAcknowledged;
+
+    public UploadCheckpoint() {
+        super();
+    }
+
+    public UploadCheckpoint(String key, String uploadId, long fileLength, long lastModified, int chunkSize, long bytesAcknowledged) {
+        this.key = key;
+        this.uploadId = uploadId;
+        this.fileLength = fileLength;
+        this.lastModified = lastModified;
+        this.chunkSize = chunkSize;
+        this.bytesAcknowledged = bytesAcknowledged;
+    }
+
+    /**
+     * @return the canonical path of the uploaded file, identifying the checkpoint in its store
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    /**
+     * @return the value sent in the {@code X-Unique-Upload-Id} header of every part
+     */
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public long getFileLength() {
+        return fileLength;
+    }
+
+    public void setFileLength(long fileLength) {
+        this.fileLength = fileLength;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(long lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return the number of bytes from the start of the file the server has stored, the offset to resume from
+     */
+    public long getBytesAcknowledged() {
+        return bytesAcknowledged;
+    }
+
+    public void setBytesAcknowledged(long bytesAcknowledged) {
+        this.bytesAcknowledged = bytesAcknowledged;
+    }
+}
@@ -0,0 +1,26 @@
+package com.cloudinary.upload;
+
+import java.io.IOException;
+
+/**
+ * Persists {@link UploadCheckpoint}s so an interrupted chunked upload can be resumed by another process.
+ * Implementations must be safe for use by concurrent uploads of different files.
+ */
+public interface UploadCheckpointStore {
+
+    /**
+     * @param key the checkpoint key, see {@link UploadCheckpoint#getKey()}
+     * @return the stored checkpoint, or null when there is none
+     */
+    UploadCheckpoint load(String key) throws IOException;
+
+    /**
+     * Stores the checkpoint, replacing any previous checkpoint with the same key.
+     */
+    void save(UploadCheckpoint checkpoint) throws IOException;
+
+    /**
+     * Removes the checkpoint with the given key, if any.
+     */
+    void remove(String key) throws IOException;
+}
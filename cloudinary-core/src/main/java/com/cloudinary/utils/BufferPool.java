@@ -0,0 +1,65 @@
+package com.cloudinary.utils;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * A bounded pool of reusable {@link ByteBuffer}s. Borrowing never blocks: when no pooled buffer is large enough a new
+ * one is allocated, and buffers released while the pool is full are dropped.
+ */
+public class BufferPool {
+
+    private final int maxPooled;
+    private final boolean direct;
+    private final ArrayDeque<ByteBuffer> pooled = new ArrayDeque<ByteBuffer>();
+
+    /**
+     * @param maxPooled the maximum number of buffers kept for reuse, 0 disables pooling
+     * @param direct    whether to allocate direct buffers outside of the Java heap
+     */
+    public BufferPool(int maxPooled, boolean direct) {
+        this.maxPooled = maxPooled;
+        this.direct = direct;
+    }
+
+    /**
+     * Borrows a cleared buffer whose limit is set to {@code size}.
+     *
+     * @param size the required number of bytes
+     * @return a buffer with at least {@code size} bytes of capacity
+     */
+    public ByteBuffer acquire(int size) {
+        synchronized (pooled) {
+            Iterator<ByteBuffer> iterator = pooled.iterator();
+            while (iterator.hasNext()) {
+                ByteBuffer buffer = iterator.next();
+                if (buffer.capacity() >= size) {
+                    iterator.remove();
+                    // Buffer casts keep the Java 8 method signatures when compiled on a newer JDK
+                    ((Buffer) buffer).clear();
+                    ((Buffer) buffer).limit(size);
+                    return buffer;
+                }
+            }
+        }
+        return direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+    }
+
+    /**
+     * Returns a buffer obtained from {@link #acquire(int)}. The caller must not use it afterwards.
+     *
+     * @param buffer the buffer to return, may be null
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || buffer.isDirect() != direct || buffer.isReadOnly()) {
+            return;
+        }
+        synchronized (pooled) {
+            if (pooled.size() < maxPooled) {
+                pooled.push(buffer);
+            }
+        }
+    }
+}
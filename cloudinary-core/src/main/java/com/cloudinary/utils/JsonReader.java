@@ -0,0 +1,760 @@
+package com.cloudinary.utils;
+
+import com.cloudinary.api.ElementHandler;
+import org.cloudinary.json.JSONException;
+import org.cloudinary.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses JSON from a stream straight into {@link HashMap}s and {@link ArrayList}s, the structure
+ * {@link ObjectUtils#toMap(JSONObject)} builds from a {@link JSONObject}, without buffering the whole document or
+ * building an intermediate tree. Numbers are converted like {@link JSONObject#stringToValue(String)} does and JSON
+ * nulls become {@code null}.
+ * <p>
+ * Objects can also be read member by member, to bind them to other types without building maps:
+ * {@link #beginObject()}, then {@link #nextName()} and one of the value methods while {@link #hasNext()}, then
+ * {@link #endObject()}. Arrays are read the same way between {@link #beginArray()} and {@link #endArray()}.
+ * <p>
+ * Syntax errors are reported with a {@link JSONException}. A reader is not thread safe.
+ *
+ * @see LazyJsonMap
+ */
+public class JsonReader implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char[] buffer;
+    // JSON held in memory is read in place instead of through the buffer
+    private final String text;
+    private int position;
+    private int limit;
+    // characters consumed before the current buffer, for error messages
+    private long offset;
+    private final StringBuilder builder = new StringBuilder();
+    // whether nested objects and arrays are returned as views parsed on first access
+    private final boolean lazy;
+    // whether a value was just read, so a comma must come before the next member or element
+    private boolean afterValue;
+    // the value of the last literal read when it is an integer
+    private long integer;
+
+    public JsonReader(Reader reader) {
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+        this.text = null;
+        this.lazy = false;
+    }
+
+    /**
+     * Reads JSON held in memory, starting at {@code start}.
+     *
+     * @param lazy whether nested objects and arrays are returned as {@link LazyJsonMap}s and {@link LazyJsonList}s
+     *             over the source instead of being parsed
+     */
+    JsonReader(String source, int start, boolean lazy) {
+        this.reader = null;
+        this.buffer = null;
+        this.text = source;
+        this.position = start;
+        this.limit = source.length();
+        this.lazy = lazy;
+    }
+
+    /**
+     * @param in a stream of UTF-8 encoded JSON
+     */
+    public JsonReader(InputStream in) {
+        this(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a JSON object that makes up the whole stream.
+     *
+     * @param in a stream of UTF-8 encoded JSON, it is read to the end but not closed
+     * @return the parsed object
+     * @throws JSONException if the stream does not hold a single JSON object
+     */
+    public static Map<String, Object> parseObject(InputStream in) throws IOException {
+        return new JsonReader(in).readDocument();
+    }
+
+    /**
+     * Parses a JSON object that makes up the whole stream, passing the elements of one of its arrays to a handler
+     * as they are parsed instead of keeping them.
+     *
+     * @param in          a stream of UTF-8 encoded JSON, it is read to the end but not closed
+     * @param elementsKey the key of the array within the object
+     * @param handler     receives the elements of the array
+     * @return the parsed object, without the array
+     * @throws JSONException if the stream does not hold a single JSON object
+     * @throws Exception     thrown by the handler
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> parseObject(InputStream in, String elementsKey, ElementHandler<?> handler) throws Exception {
+        JsonReader reader = new JsonReader(in);
+        if (reader.nextClean() != '{') {
+            throw reader.syntaxError("A JSONObject text must begin with '{'");
+        }
+        Map<String, Object> result = reader.readObjectContent(elementsKey, (ElementHandler<Object>) handler);
+        if (reader.nextClean() != -1) {
+            throw reader.syntaxError("Unexpected content after the JSONObject text");
+        }
+        return result;
+    }
+
+    /**
+     * Parses a JSON object that makes up the whole string.
+     *
+     * @throws JSONException if the string does not hold a single JSON object
+     */
+    public static Map<String, Object> parseObject(String json) {
+        try {
+            return new JsonReader(new StringReader(json)).readDocument();
+        } catch (IOException e) {
+            // a StringReader does not fail
+            throw new JSONException(e);
+        }
+    }
+
+    Map<String, Object> readDocument() throws IOException {
+        if (nextClean() != '{') {
+            throw syntaxError("A JSONObject text must begin with '{'");
+        }
+        Map<String, Object> result = readObjectContent();
+        if (nextClean() != -1) {
+            throw syntaxError("Unexpected content after the JSONObject text");
+        }
+        return result;
+    }
+
+    /**
+     * Reads the next value: a {@link Map}, a {@link List}, a {@link String}, a {@link Number}, a {@link Boolean} or
+     * {@code null}.
+     */
+    public Object readValue() throws IOException {
+        Object value = value();
+        afterValue = true;
+        return value;
+    }
+
+    private Object value() throws IOException {
+        int c = nextClean();
+        switch (c) {
+            case '{':
+                return lazy ? new LazyJsonMap(text, skipStructure()) : readObjectContent();
+            case '[':
+                return lazy ? new LazyJsonList(text, skipStructure()) : readArrayContent();
+            case '"':
+                return readString();
+            case -1:
+                throw syntaxError("Missing value");
+            default:
+                return readLiteral(c);
+        }
+    }
+
+    /**
+     * Reads the next value, which must be an object.
+     */
+    public Map<String, Object> readObject() throws IOException {
+        if (nextClean() != '{') {
+            throw syntaxError("A JSONObject text must begin with '{'");
+        }
+        Map<String, Object> result = readObjectContent();
+        afterValue = true;
+        return result;
+    }
+
+    /**
+     * Reads the next value, which must be an array.
+     */
+    public List<Object> readArray() throws IOException {
+        if (nextClean() != '[') {
+            throw syntaxError("A JSONArray text must start with '['");
+        }
+        List<Object> result = readArrayContent();
+        afterValue = true;
+        return result;
+    }
+
+    /**
+     * Consumes the opening brace of an object, whose members are then read with {@link #nextName()} and the value
+     * methods while {@link #hasNext()}.
+     */
+    public void beginObject() throws IOException {
+        if (nextClean() != '{') {
+            throw syntaxError("A JSONObject text must begin with '{'");
+        }
+        afterValue = false;
+    }
+
+    /**
+     * Consumes the closing brace of an object once {@link #hasNext()} returned false.
+     */
+    public void endObject() throws IOException {
+        if (nextClean() != '}') {
+            throw syntaxError("Expected a ',' or '}'");
+        }
+        afterValue = true;
+    }
+
+    /**
+     * Consumes the opening bracket of an array, whose elements are then read with the value methods while
+     * {@link #hasNext()}.
+     */
+    public void beginArray() throws IOException {
+        if (nextClean() != '[') {
+            throw syntaxError("A JSONArray text must start with '['");
+        }
+        afterValue = false;
+    }
+
+    /**
+     * Consumes the closing bracket of an array once {@link #hasNext()} returned false.
+     */
+    public void endArray() throws IOException {
+        if (nextClean() != ']') {
+            throw syntaxError("Expected a ',' or ']'");
+        }
+        afterValue = true;
+    }
+
+    /**
+     * @return whether the current object or array has another member or element, the comma before it is consumed
+     */
+    public boolean hasNext() throws IOException {
+        int c = nextClean();
+        if (c == '}' || c == ']' || c == -1) {
+            if (c != -1) {
+                position--;
+            }
+            return false;
+        }
+        if (!afterValue) {
+            position--;
+        } else if (c != ',') {
+            throw syntaxError("Expected a ',' or the end of the object or array");
+        } else {
+            c = nextClean();
+            if (c == '}' || c == ']' || c == -1) {
+                throw syntaxError("Missing value");
+            }
+            position--;
+        }
+        afterValue = false;
+        return true;
+    }
+
+    /**
+     * Reads the name of the next member of an object and the colon following it.
+     */
+    public String nextName() throws IOException {
+        if (nextClean() != '"') {
+            throw syntaxError("A JSONObject key must be a string");
+        }
+        String name = readString();
+        if (nextClean() != ':') {
+            throw syntaxError("Expected a ':' after a key");
+        }
+        return name;
+    }
+
+    /**
+     * Reads the next value, which must be a string or null.
+     */
+    public String nextString() throws IOException {
+        int c = nextClean();
+        String value;
+        if (c == '"') {
+            value = readString();
+        } else if (c == 'n' && readLiteral(c) == null) {
+            value = null;
+        } else {
+            throw syntaxError("Expected a string");
+        }
+        afterValue = true;
+        return value;
+    }
+
+    /**
+     * Reads the next value, which must be an integer, without creating an object for it.
+     */
+    public long nextLong() throws IOException {
+        int c = nextClean();
+        boolean negative = c == '-';
+        if (negative) {
+            c = read();
+        }
+        if (c < '0' || c > '9') {
+            throw syntaxError("Expected an integer");
+        }
+        long value = 0;
+        while (c >= '0' && c <= '9') {
+            if (value > (Long.MAX_VALUE - (c - '0')) / 10) {
+                throw syntaxError("Integer out of range");
+            }
+            value = value * 10 + (c - '0');
+            c = read();
+        }
+        if (c == '.' || c == 'e' || c == 'E') {
+            throw syntaxError("Expected an integer");
+        }
+        if (c != -1) {
+            position--;
+        }
+        afterValue = true;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Reads the next value, which must be a number, converted like {@link #readValue()} does. Unlike
+     * {@link #nextLong()} it accepts fractions and exponents, for fields whose type the server does not guarantee.
+     */
+    public Number nextNumber() throws IOException {
+        int c = nextClean();
+        Object value = c == '"' || c == '{' || c == '[' || c == -1 ? null : readLiteral(c);
+        if (!(value instanceof Number)) {
+            throw syntaxError("Expected a number");
+        }
+        afterValue = true;
+        return (Number) value;
+    }
+
+    /**
+     * Reads the next value, which must be a number, narrowed to a long like {@link Number#longValue()} does. Integers
+     * are decoded without creating an object for them, fractions and exponents are accepted like
+     * {@link #nextNumber()} does.
+     */
+    public long nextLongValue() throws IOException {
+        int c = nextClean();
+        if (c == '"' || c == '{' || c == '[' || c == -1) {
+            throw syntaxError("Expected a number");
+        }
+        long value;
+        if (scanLiteral(c)) {
+            value = integer;
+        } else {
+            Object literal = literalValue();
+            if (!(literal instanceof Number)) {
+                throw syntaxError("Expected a number");
+            }
+            value = ((Number) literal).longValue();
+        }
+        afterValue = true;
+        return value;
+    }
+
+    /**
+     * @return whether the next value is null, without consuming it
+     */
+    public boolean peekNull() throws IOException {
+        int c = nextClean();
+        if (c != -1) {
+            position--;
+        }
+        return c == 'n';
+    }
+
+    /**
+     * Skips the next value, objects and arrays are skipped without being parsed.
+     */
+    public void skipValue() throws IOException {
+        int c = nextClean();
+        switch (c) {
+            case '{':
+            case '[':
+                skipStructure();
+                break;
+            case '"':
+                skipString();
+                break;
+            case -1:
+                throw syntaxError("Missing value");
+            default:
+                scanLiteral(c);
+        }
+        afterValue = true;
+    }
+
+    private Map<String, Object> readObjectContent() throws IOException {
+        Map<String, Object> map = new HashMap<String, Object>();
+        int c = nextClean();
+        if (c == '}') {
+            return map;
+        }
+        while (true) {
+            if (c != '"') {
+                throw syntaxError("A JSONObject key must be a string");
+            }
+            String key = readString();
+            if (nextClean() != ':') {
+                throw syntaxError("Expected a ':' after a key");
+            }
+            if (map.containsKey(key)) {
+                throw syntaxError("Duplicate key \"" + key + "\"");
+            }
+            map.put(key, value());
+            c = nextClean();
+            if (c == '}') {
+                return map;
+            }
+            if (c != ',') {
+                throw syntaxError("Expected a ',' or '}'");
+            }
+            c = nextClean();
+        }
+    }
+
+    private List<Object> readArrayContent() throws IOException {
+        List<Object> list = new ArrayList<Object>();
+        int c = nextClean();
+        if (c == ']') {
+            return list;
+        }
+        if (c == -1) {
+            throw syntaxError("Expected a ',' or ']'");
+        }
+        position--;
+        while (true) {
+            list.add(value());
+            c = nextClean();
+            if (c == ']') {
+                return list;
+            }
+            if (c != ',') {
+                throw syntaxError("Expected a ',' or ']'");
+            }
+        }
+    }
+
+    /**
+     * Reads an object whose opening brace was consumed like {@link #readObjectContent()}, except that the elements
+     * of the array under {@code elementsKey} are passed to the handler.
+     */
+    private Map<String, Object> readObjectContent(String elementsKey, ElementHandler<Object> handler) throws Exception {
+        Map<String, Object> map = new HashMap<String, Object>();
+        int c = nextClean();
+        if (c == '}') {
+            return map;
+        }
+        while (true) {
+            if (c != '"') {
+                throw syntaxError("A JSONObject key must be a string");
+            }
+            String key = readString();
+            if (nextClean() != ':') {
+                throw syntaxError("Expected a ':' after a key");
+            }
+            if (map.containsKey(key)) {
+                throw syntaxError("Duplicate key \"" + key + "\"");
+            }
+            c = nextClean();
+            if (c == '[' && key.equals(elementsKey)) {
+                readElements(handler);
+            } else {
+                if (c != -1) {
+                    position--;
+                }
+                map.put(key, value());
+            }
+            c = nextClean();
+            if (c == '}') {
+                return map;
+            }
+            if (c != ',') {
+                throw syntaxError("Expected a ',' or '}'");
+            }
+            c = nextClean();
+        }
+    }
+
+    /**
+     * Reads an array whose opening bracket was consumed, passing each element to the handler.
+     */
+    private void readElements(ElementHandler<Object> handler) throws Exception {
+        int c = nextClean();
+        if (c == ']') {
+            return;
+        }
+        if (c == -1) {
+            throw syntaxError("Expected a ',' or ']'");
+        }
+        position--;
+        while (true) {
+            handler.handle(value());
+            c = nextClean();
+            if (c == ']') {
+                return;
+            }
+            if (c != ',') {
+                throw syntaxError("Expected a ',' or ']'");
+            }
+        }
+    }
+
+    /**
+     * Skips an object or array whose opening bracket was consumed, only strings and brackets are looked at.
+     *
+     * @return the position of the opening bracket
+     */
+    private int skipStructure() throws IOException {
+        int start = position - 1;
+        int depth = 1;
+        while (depth > 0) {
+            int c = read();
+            switch (c) {
+                case -1:
+                    throw syntaxError("Unterminated object or array");
+                case '"':
+                    skipString();
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    depth--;
+                    break;
+            }
+        }
+        return start;
+    }
+
+    private void skipString() throws IOException {
+        while (true) {
+            switch (read()) {
+                case '"':
+                    return;
+                case '\\':
+                    read();
+                    break;
+                case -1:
+                case '\n':
+                case '\r':
+                    throw syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    /**
+     * Reads a string whose opening quote was consumed.
+     */
+    private String readString() throws IOException {
+        // common case: no escapes and the string ends within the buffer
+        for (int i = position; i < limit; i++) {
+            char c = charAt(i);
+            if (c == '"') {
+                String string = text != null ? text.substring(position, i) : new String(buffer, position, i - position);
+                position = i + 1;
+                return string;
+            }
+            if (c == '\\' || c == '\n' || c == '\r') {
+                break;
+            }
+        }
+
+        builder.setLength(0);
+        while (true) {
+            int start = position;
+            while (position < limit) {
+                char c = charAt(position);
+                if (c == '"') {
+                    append(start, position);
+                    position++;
+                    return builder.toString();
+                }
+                if (c == '\\' || c == '\n' || c == '\r') {
+                    break;
+                }
+                position++;
+            }
+            append(start, position);
+            int c = read();
+            switch (c) {
+                case -1:
+                case '\n':
+                case '\r':
+                    throw syntaxError("Unterminated string");
+                case '\\':
+                    builder.append(readEscape());
+                    break;
+                default:
+                    // the buffer was refilled
+                    position--;
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case 'b':
+                return '\b';
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'f':
+                return '\f';
+            case 'r':
+                return '\r';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw syntaxError("Illegal escape.");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            case '"':
+            case '\'':
+            case '\\':
+            case '/':
+                return (char) c;
+            default:
+                throw syntaxError("Illegal escape.");
+        }
+    }
+
+    /**
+     * Reads an unquoted value starting with {@code first}: a number, {@code true}, {@code false} or {@code null}.
+     */
+    private Object readLiteral(int first) throws IOException {
+        if (scanLiteral(first)) {
+            if (integer == (int) integer) {
+                return (int) integer;
+            }
+            return integer;
+        }
+        return literalValue();
+    }
+
+    /**
+     * Reads an unquoted value starting with {@code first} into the builder. An integer is decoded into
+     * {@link #integer} as it is read, so only fractions, exponents and the other literals go through a string.
+     *
+     * @return whether the literal is an integer in the form {@link JSONObject#stringToValue(String)} converts to one,
+     * without leading zeros and within the range of a long
+     */
+    private boolean scanLiteral(int first) throws IOException {
+        if (first == ',' || first == '}' || first == ']' || first == ':') {
+            throw syntaxError("Missing value");
+        }
+        builder.setLength(0);
+        builder.append((char) first);
+        boolean negative = first == '-';
+        boolean decoded = negative || first >= '0' && first <= '9';
+        long value = negative ? 0 : first - '0';
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                break;
+            }
+            if (c == ',' || c == '}' || c == ']' || c == ':' || isWhitespace(c)) {
+                position--;
+                break;
+            }
+            builder.append((char) c);
+            if (decoded) {
+                int digit = c - '0';
+                // Long.MIN_VALUE is left to the fallback
+                if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+                    decoded = false;
+                } else {
+                    value = value * 10 + digit;
+                }
+            }
+        }
+
+        int length = builder.length();
+        int digits = negative ? length - 1 : length;
+        // stringToValue keeps 007 and -0 as strings
+        if (decoded && digits > 0 && (builder.charAt(length - digits) != '0' || digits == 1 && !negative)) {
+            integer = negative ? -value : value;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the value of the literal in the builder that is not an integer, see {@link #scanLiteral(int)}
+     */
+    private Object literalValue() {
+        String literal = builder.toString();
+        if (literal.equals("null")) {
+            return null;
+        }
+        Object value = JSONObject.stringToValue(literal);
+        return value == JSONObject.NULL ? null : value;
+    }
+
+    private int nextClean() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1 || !isWhitespace(c)) {
+                return c;
+            }
+        }
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c <= ' ';
+    }
+
+    private char charAt(int index) {
+        return text != null ? text.charAt(index) : buffer[index];
+    }
+
+    private void append(int start, int end) {
+        if (text != null) {
+            builder.append(text, start, end);
+        } else {
+            builder.append(buffer, start, end - start);
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            if (reader == null) {
+                return -1;
+            }
+            offset += limit;
+            position = 0;
+            limit = 0;
+            int read = reader.read(buffer, 0, buffer.length);
+            while (read == 0) {
+                read = reader.read(buffer, 0, buffer.length);
+            }
+            if (read < 0) {
+                return -1;
+            }
+            limit = read;
+        }
+        return charAt(position++);
+    }
+
+    private JSONException syntaxError(String message) {
+        return new JSONException(message + " at " + (offset + position));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.cloudinary.utils;
+
+import org.cloudinary.json.JSONException;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A JSON array parsed on first access, the list counterpart of {@link LazyJsonMap}. Its elements are parsed at once,
+ * objects and arrays among them are parsed once they are read themselves.
+ */
+public class LazyJsonList extends AbstractList<Object> implements RandomAccess {
+    private final String source;
+    private final int start;
+    private volatile List<Object> list;
+
+    LazyJsonList(String source, int start) {
+        this.source = source;
+        this.start = start;
+    }
+
+    private List<Object> list() {
+        List<Object> result = list;
+        if (result == null) {
+            synchronized (this) {
+                result = list;
+                if (result == null) {
+                    try {
+                        list = result = new JsonReader(source, start, true).readArray();
+                    } catch (IOException e) {
+                        throw new JSONException(e);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Object get(int index) {
+        return list().get(index);
+    }
+
+    @Override
+    public int size() {
+        return list().size();
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+        return list().set(index, element);
+    }
+
+    @Override
+    public void add(int index, Object element) {
+        list().add(index, element);
+    }
+
+    @Override
+    public Object remove(int index) {
+        return list().remove(index);
+    }
+}
@@ -0,0 +1,127 @@
+package com.cloudinary.utils;
+
+import org.cloudinary.json.JSONException;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A JSON object parsed on first access. Only the members of the object itself are parsed, nested objects and arrays
+ * are {@link LazyJsonMap}s and {@link LazyJsonList}s over the same source that are parsed once they are read
+ * themselves. Values are converted like {@link JsonReader} does.
+ * <p>
+ * The map holds on to the whole JSON source, and syntax errors within a nested object or array are only reported
+ * with a {@link JSONException} when it is read. The map can be modified like a {@link java.util.HashMap}, parsing
+ * is thread safe but modifications are not.
+ */
+public class LazyJsonMap extends AbstractMap<String, Object> {
+    private final String source;
+    private final int start;
+    private volatile Map<String, Object> map;
+
+    LazyJsonMap(String source, int start) {
+        this.source = source;
+        this.start = start;
+    }
+
+    private LazyJsonMap(String source, Map<String, Object> map) {
+        this.source = source;
+        this.start = 0;
+        this.map = map;
+    }
+
+    /**
+     * Parses the members of a JSON object that makes up the whole string, nested objects and arrays are parsed on
+     * first access.
+     *
+     * @throws JSONException if the string does not hold a single JSON object
+     */
+    public static LazyJsonMap parse(String json) {
+        try {
+            return new LazyJsonMap(json, new JsonReader(json, 0, true).readDocument());
+        } catch (IOException e) {
+            // the source is in memory
+            throw new JSONException(e);
+        }
+    }
+
+    private Map<String, Object> map() {
+        Map<String, Object> result = map;
+        if (result == null) {
+            synchronized (this) {
+                result = map;
+                if (result == null) {
+                    try {
+                        map = result = new JsonReader(source, start, true).readObject();
+                    } catch (IOException e) {
+                        throw new JSONException(e);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return map().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map().isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map().containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return map().containsValue(value);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return map().get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return map().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return map().remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        map().putAll(m);
+    }
+
+    @Override
+    public void clear() {
+        map().clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return map().keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return map().values();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return map().entrySet();
+    }
+}
@@ -0,0 +1,46 @@
+package com.cloudinary.utils;
+
+/**
+ * Measures the rate at which a byte count grows over consecutive time windows.
+ */
+public class ThroughputMeter {
+    public static final long DEFAULT_WINDOW_MILLIS = 250;
+
+    private final long windowNanos;
+    private long windowStartNanos;
+    private long windowStartBytes;
+    private boolean started;
+
+    public ThroughputMeter() {
+        this(DEFAULT_WINDOW_MILLIS);
+    }
+
+    public ThroughputMeter(long windowMillis) {
+        this.windowNanos = windowMillis * 1000000L;
+    }
+
+    /**
+     * Records the current byte count. The first call starts the first window.
+     *
+     * @param totalBytes the number of bytes transferred so far
+     * @return the throughput in bytes per second over the window that this call closed, or -1 while the current
+     * window is still open
+     */
+    public synchronized double update(long totalBytes) {
+        long now = System.nanoTime();
+        if (!started) {
+            started = true;
+            windowStartNanos = now;
+            windowStartBytes = totalBytes;
+            return -1;
+        }
+        long elapsed = now - windowStartNanos;
+        if (elapsed < windowNanos) {
+            return -1;
+        }
+        double bytesPerSecond = (totalBytes - windowStartBytes) * 1000000000.0 / elapsed;
+        windowStartNanos = now;
+        windowStartBytes = totalBytes;
+        return bytesPerSecond;
+    }
+}
@@ -1,11 +1,10 @@
 package org.cloudinary.json;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.io.StringReader;
+import java.util.Arrays;
 
 /*
 Copyright (c) 2002 JSON.org
@@ -35,20 +34,38 @@ SOFTWARE.
  * A JSONTokener takes a source string and extracts characters and tokens from
  * it. It is used by the JSONObject and JSONArray constructors to parse
  * JSON source strings.
+ * <p>
+ * The source is scanned in a character buffer: a string source is copied into it once
+ * and a reader is read in blocks. Runs of plain characters in strings and
+ * unquoted values are taken from the buffer in bulk, and the line and
+ * character positions reported in syntax errors are only counted when an
+ * error message is built.
  *
  * @author JSON.org
  * @version 2014-05-03
  */
 public class JSONTokener {
+    private static final int BUFFER_SIZE = 8192;
 
-    private long character;
-    private boolean eof;
-    private long index;
-    private long line;
-    private char previous;
     private Reader reader;
+    private char[] buffer;
+    private int position;
+    private int limit;
+    // the start of the characters that must stay in the buffer, or -1
+    private int mark = -1;
+    // characters dropped from the front of the buffer
+    private long discarded;
+    // reads past the end of the source not stepped back from
+    private int endReads;
+    private boolean eof;
     private boolean usePrevious;
 
+    // the error position, counted up to the index counted
+    private long counted;
+    private long character = 1;
+    private long line = 1;
+    private char previous;
+
 
     /**
      * Construct a JSONTokener from a Reader.
@@ -56,15 +73,8 @@ public class JSONTokener {
      * @param reader A reader.
      */
     public JSONTokener(Reader reader) {
-        this.reader = reader.markSupported()
-                ? reader
-                : new BufferedReader(reader);
-        this.eof = false;
-        this.usePrevious = false;
-        this.previous = 0;
-        this.index = 0;
-        this.character = 1;
-        this.line = 1;
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
     }
 
 
@@ -84,7 +94,8 @@ public class JSONTokener {
      * @param s A source string.
      */
     public JSONTokener(String s) {
-        this(new StringReader(s));
+        this.buffer = s.toCharArray();
+        this.limit = this.buffer.length;
     }
 
 
@@ -94,11 +105,14 @@ public class JSONTokener {
      * the next number or identifier.
      */
     public void back() throws JSONException {
-        if (this.usePrevious || this.index <= 0) {
+        if (this.usePrevious || this.index() <= 0) {
             throw new JSONException("Stepping back two steps is not supported");
         }
-        this.index -= 1;
-        this.character -= 1;
+        if (this.endReads > 0) {
+            this.endReads -= 1;
+        } else {
+            this.position -= 1;
+        }
         this.usePrevious = true;
         this.eof = false;
     }
@@ -151,34 +165,17 @@ public class JSONTokener {
      * @return The next character, or 0 if past the end of the source string.
      */
     public char next() throws JSONException {
-        int c;
-        if (this.usePrevious) {
-            this.usePrevious = false;
-            c = this.previous;
-        } else {
-            try {
-                c = this.reader.read();
-            } catch (IOException exception) {
-                throw new JSONException(exception);
-            }
-
-            if (c <= 0) { // End of stream
+        this.usePrevious = false;
+        if (this.endReads == 0 && (this.position < this.limit || this.fill())) {
+            char c = this.buffer[this.position++];
+            if (c == 0) {
                 this.eof = true;
-                c = 0;
             }
+            return c;
         }
-        this.index += 1;
-        if (this.previous == '\r') {
-            this.line += 1;
-            this.character = c == '\n' ? 0 : 1;
-        } else if (c == '\n') {
-            this.line += 1;
-            this.character = 0;
-        } else {
-            this.character += 1;
-        }
-        this.previous = (char) c;
-        return this.previous;
+        this.endReads += 1;
+        this.eof = true;
+        return 0;
     }
 
 
@@ -235,6 +232,18 @@ public class JSONTokener {
      */
     public char nextClean() throws JSONException {
         for (; ; ) {
+            while (this.endReads == 0 && this.position < this.limit) {
+                char c = this.buffer[this.position++];
+                if (c > ' ') {
+                    this.usePrevious = false;
+                    return c;
+                }
+                if (c == 0) {
+                    this.usePrevious = false;
+                    this.eof = true;
+                    return c;
+                }
+            }
             char c = this.next();
             if (c == 0 || c > ' ') {
                 return c;
@@ -257,8 +266,28 @@ public class JSONTokener {
      */
     public String nextString(char quote) throws JSONException {
         char c;
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = null;
         for (; ; ) {
+            int start = this.position;
+            if (this.endReads == 0) {
+                while (this.position < this.limit) {
+                    c = this.buffer[this.position];
+                    if (c == quote || c == '\\' || c == '\n' || c == '\r' || c == 0) {
+                        break;
+                    }
+                    this.position += 1;
+                }
+            }
+            if (sb == null && this.position < this.limit && this.buffer[this.position] == quote) {
+                // no escapes: the whole string is in the buffer
+                this.usePrevious = false;
+                this.position += 1;
+                return new String(this.buffer, start, this.position - 1 - start);
+            }
+            if (sb == null) {
+                sb = new StringBuilder(Math.max(16, 2 * (this.position - start)));
+            }
+            sb.append(this.buffer, start, this.position - start);
             c = this.next();
             switch (c) {
                 case 0:
@@ -361,7 +390,6 @@ public class JSONTokener {
      */
     public Object nextValue() throws JSONException {
         char c = this.nextClean();
-        String string;
 
         switch (c) {
             case '"':
@@ -380,18 +408,29 @@ public class JSONTokener {
          * null, or it can be a number. An implementation (such as this one)
          * is allowed to also accept non-standard forms.
          *
-         * Accumulate characters until we reach the end of the text or a
-         * formatting character.
+         * Take characters until we reach the end of the text or a
+         * formatting character. They stay in the buffer while scanning.
          */
 
-        StringBuilder sb = new StringBuilder();
-        while (c >= ' ' && ",:]}/\\\"[{;=#".indexOf(c) < 0) {
-            sb.append(c);
-            c = this.next();
+        if (isValueTerminator(c)) {
+            this.back();
+            throw this.syntaxError("Missing value");
         }
-        this.back();
+        this.mark = this.position - 1;
+        while (this.position < this.limit || this.fill()) {
+            if (isValueTerminator(this.buffer[this.position])) {
+                break;
+            }
+            this.position += 1;
+        }
+        int start = this.mark;
+        this.mark = -1;
 
-        string = sb.toString().trim();
+        Object value = this.parseLiteral(start, this.position);
+        if (value != null) {
+            return value;
+        }
+        String string = new String(this.buffer, start, this.position - start).trim();
         if ("".equals(string)) {
             throw this.syntaxError("Missing value");
         }
@@ -399,6 +438,58 @@ public class JSONTokener {
     }
 
 
+    private static boolean isValueTerminator(char c) {
+        return c < ' ' || ",:]}/\\\"[{;=#".indexOf(c) >= 0;
+    }
+
+
+    /**
+     * Convert the common unquoted values straight from the buffer: the
+     * literals true, false and null as written in JSON, and integers in the
+     * canonical form JSONObject.stringToValue turns into an Integer or a Long.
+     *
+     * @return The value, or null if the text needs the general conversion.
+     */
+    private Object parseLiteral(int start, int end) {
+        char[] chars = this.buffer;
+        int length = end - start;
+        char first = chars[start];
+        if (first == 't' && length == 4 && chars[start + 1] == 'r' && chars[start + 2] == 'u' && chars[start + 3] == 'e') {
+            return Boolean.TRUE;
+        }
+        if (first == 'f' && length == 5 && chars[start + 1] == 'a' && chars[start + 2] == 'l' && chars[start + 3] == 's'
+                && chars[start + 4] == 'e') {
+            return Boolean.FALSE;
+        }
+        if (first == 'n' && length == 4 && chars[start + 1] == 'u' && chars[start + 2] == 'l' && chars[start + 3] == 'l') {
+            return JSONObject.NULL;
+        }
+
+        boolean negative = first == '-';
+        int i = negative ? start + 1 : start;
+        int digits = end - i;
+        // 18 digits always fit a long; "-0" and leading zeros are not canonical and stay strings
+        if (digits == 0 || digits > 18 || chars[i] == '0' && (digits > 1 || negative)) {
+            return null;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c < '0' || c > '9') {
+                return null;
+            }
+            value = value * 10 + (c - '0');
+        }
+        if (negative) {
+            value = -value;
+        }
+        if (value == (int) value) {
+            return (int) value;
+        }
+        return value;
+    }
+
+
     /**
      * Skip characters until the next character is the requested character.
      * If the requested character is not found, no characters are skipped.
@@ -409,24 +500,27 @@ public class JSONTokener {
      */
     public char skipTo(char to) throws JSONException {
         char c;
-        try {
-            long startIndex = this.index;
-            long startCharacter = this.character;
-            long startLine = this.line;
-            this.reader.mark(1000000);
-            do {
-                c = this.next();
-                if (c == 0) {
-                    this.reader.reset();
-                    this.index = startIndex;
-                    this.character = startCharacter;
-                    this.line = startLine;
-                    return c;
-                }
-            } while (c != to);
-        } catch (IOException exception) {
-            throw new JSONException(exception);
-        }
+        this.countPosition();
+        long startCounted = this.counted;
+        long startCharacter = this.character;
+        long startLine = this.line;
+        char startPrevious = this.previous;
+        int startEndReads = this.endReads;
+        this.mark = this.position;
+        do {
+            c = this.next();
+            if (c == 0) {
+                this.position = this.mark;
+                this.mark = -1;
+                this.endReads = startEndReads;
+                this.counted = startCounted;
+                this.character = startCharacter;
+                this.line = startLine;
+                this.previous = startPrevious;
+                return c;
+            }
+        } while (c != to);
+        this.mark = -1;
         this.back();
         return c;
     }
@@ -449,7 +543,75 @@ public class JSONTokener {
      * @return " at {index} [character {character} line {line}]"
      */
     public String toString() {
-        return " at " + this.index + " [character " + this.character + " line " +
+        this.countPosition();
+        return " at " + this.index() + " [character " + (this.character + this.endReads) + " line " +
                 this.line + "]";
     }
+
+
+    private long index() {
+        return this.discarded + this.position + this.endReads;
+    }
+
+
+    /**
+     * Bring the line and character counts up to the current position.
+     */
+    private void countPosition() {
+        long index = this.discarded + this.position;
+        for (; this.counted < index; this.counted++) {
+            char c = this.buffer[(int) (this.counted - this.discarded)];
+            if (this.previous == '\r') {
+                this.line += 1;
+                this.character = c == '\n' ? 0 : 1;
+            } else if (c == '\n') {
+                this.line += 1;
+                this.character = 0;
+            } else {
+                this.character += 1;
+            }
+            this.previous = c;
+        }
+    }
+
+
+    /**
+     * Read more of the source into the buffer, keeping the last character
+     * for back() and everything from the mark.
+     *
+     * @return false at the end of the source.
+     */
+    private boolean fill() throws JSONException {
+        if (this.reader == null) {
+            return false;
+        }
+        this.countPosition();
+        int keep = this.mark >= 0 ? this.mark : Math.max(0, this.position - 1);
+        if (keep > 0) {
+            System.arraycopy(this.buffer, keep, this.buffer, 0, this.limit - keep);
+            this.discarded += keep;
+            this.position -= keep;
+            this.limit -= keep;
+            if (this.mark >= 0) {
+                this.mark -= keep;
+            }
+        }
+        if (this.limit == this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, 2 * this.buffer.length);
+        }
+        try {
+            int read;
+            do {
+                read = this.reader.read(this.buffer, this.limit, this.buffer.length - this.limit);
+            } while (read == 0);
+            if (read < 0) {
+                this.reader = null;
+                return false;
+            }
+            this.limit += read;
+            return true;
+        } catch (IOException exception) {
+            throw new JSONException(exception);
+        }
+    }
 }
@@ -0,0 +1,84 @@
+package com.cloudinary.api;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class LruApiResponseCacheTest {
+
+    @SuppressWarnings("rawtypes")
+    private static class TestResponse extends HashMap implements ApiResponse {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Map<String, RateLimit> rateLimits() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public RateLimit apiRateLimit() {
+            return null;
+        }
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        LruApiResponseCache cache = new LruApiResponseCache(2);
+        ApiResponse first = new TestResponse();
+        ApiResponse second = new TestResponse();
+        cache.put("first", "resources", first);
+        cache.put("second", "resources", second);
+        assertSame(first, cache.get("first"));
+
+        cache.put("third", "resources", new TestResponse());
+        assertEquals(2, cache.size());
+        assertSame(first, cache.get("first"));
+        assertNull(cache.get("second"));
+    }
+
+    @Test
+    public void testTtlPerAction() throws Exception {
+        LruApiResponseCache cache = new LruApiResponseCache(10, 60000)
+                .setTtl("resources", 50)
+                .setTtl("usage", 0);
+        cache.put("resource", "resources", new TestResponse());
+        cache.put("preset", "upload_presets", new TestResponse());
+        cache.put("usage", "usage", new TestResponse());
+        assertNotNull(cache.get("resource"));
+        assertNull(cache.get("usage"));
+
+        Thread.sleep(100);
+        assertNull(cache.get("resource"));
+        assertNotNull(cache.get("preset"));
+    }
+
+    @Test
+    public void testInvalidateAction() {
+        LruApiResponseCache cache = new LruApiResponseCache(10);
+        cache.put("resource", "resources", new TestResponse());
+        cache.put("other resource", "resources", new TestResponse());
+        cache.put("preset", "upload_presets", new TestResponse());
+
+        cache.invalidate("resources");
+        assertNull(cache.get("resource"));
+        assertNull(cache.get("other resource"));
+        assertNotNull(cache.get("preset"));
+    }
+
+    @Test
+    public void testSkipsResponseInFlightDuringInvalidation() {
+        LruApiResponseCache cache = new LruApiResponseCache(10);
+        long invalidations = cache.invalidations("resources");
+
+        cache.invalidate("resources");
+        cache.put("resource", "resources", invalidations, new TestResponse());
+        assertNull(cache.get("resource"));
+
+        cache.put("resource", "resources", cache.invalidations("resources"), new TestResponse());
+        assertNotNull(cache.get("resource"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.cloudinary.api;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class RateLimiterTest {
+    private static final long NOW = 1000000L;
+
+    private static Map<String, RateLimit> limits(long limit, long remaining, long resetMillis) {
+        RateLimit rateLimit = new RateLimit();
+        rateLimit.setLimit(limit);
+        rateLimit.setRemaining(remaining);
+        rateLimit.setReset(new Date(resetMillis));
+        return Collections.singletonMap(RateLimiter.API_FEATURE, rateLimit);
+    }
+
+    @Test
+    public void testUnknownLimitsAreNotPaced() {
+        RateLimiter limiter = new RateLimiter(2);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.reserve(RateLimiter.API_FEATURE, NOW));
+        }
+    }
+
+    @Test
+    public void testSpreadsRemainingCallsUntilReset() {
+        RateLimiter limiter = new RateLimiter(2);
+        limiter.update(limits(500, 100, NOW + 100000), NOW);
+
+        assertEquals(0, limiter.reserve(RateLimiter.API_FEATURE, NOW));
+        assertEquals(0, limiter.reserve(RateLimiter.API_FEATURE, NOW));
+        // the burst is used up, each further call waits for a token: 100 calls over 100 seconds
+        assertEquals(1000, limiter.reserve(RateLimiter.API_FEATURE, NOW));
+        assertEquals(2000, limiter.reserve(RateLimiter.API_FEATURE, NOW));
+        assertEquals(0, limiter.reserve(RateLimiter.API_FEATURE, NOW + 3000));
+    }
+
+    @Test
+    public void testWaitsForResetWhenBudgetIsUsedUp() {
+        RateLimiter limiter = new RateLimiter(RateLimiter.DEFAULT_BURST, 0);
+        limiter.update(limits(500, 0, NOW + 5000), NOW);
+
+        assertEquals(5000, limiter.reserve(RateLimiter.API_FEATURE, NOW));
+        // once the limit has reset calls are not paced until a response reports the new budget
+        assertEquals(0, limiter.reserve(RateLimiter.API_FEATURE, NOW + 5000));
+        assertEquals(0, limiter.reserve(RateLimiter.API_FEATURE, NOW + 5000));
+    }
+
+    @Test
+    public void testSpreadsCallsWaitingForReset() {
+        RateLimiter limiter = new RateLimiter(RateLimiter.DEFAULT_BURST, 1000);
+        limiter.update(limits(500, 0, NOW + 5000), NOW);
+
+        for (int i = 0; i < 20; i++) {
+            long delay = limiter.reserve(RateLimiter.API_FEATURE, NOW);
+            assertTrue(delay >= 5000 && delay <= 6000);
+        }
+    }
+
+    @Test
+    public void testTryReserveDoesNotQueue() {
+        RateLimiter limiter = new RateLimiter(2);
+        assertTrue(limiter.tryReserve(RateLimiter.API_FEATURE, NOW));
+        limiter.update(limits(500, 100, NOW + 100000), NOW);
+
+        assertTrue(limiter.tryReserve(RateLimiter.API_FEATURE, NOW));
+        assertTrue(limiter.tryReserve(RateLimiter.API_FEATURE, NOW));
+        // no token is left, a refused call does not push back the calls waiting for one
+        assertFalse(limiter.tryReserve(RateLimiter.API_FEATURE, NOW));
+        assertEquals(1000, limiter.reserve(RateLimiter.API_FEATURE, NOW));
+        assertTrue(limiter.tryReserve(RateLimiter.API_FEATURE, NOW + 2000));
+    }
+
+    @Test
+    public void testFeaturesArePacedSeparately() {
+        RateLimiter limiter = new RateLimiter();
+        limiter.update(limits(500, 0, NOW + 5000), NOW);
+
+        assertEquals(0, limiter.reserve("Search", NOW));
+    }
+}
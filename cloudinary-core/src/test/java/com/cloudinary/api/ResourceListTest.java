@@ -0,0 +1,102 @@
+package com.cloudinary.api;
+
+import com.cloudinary.utils.JsonReader;
+import com.cloudinary.utils.ObjectUtils;
+import org.cloudinary.json.JSONException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+public class ResourceListTest {
+    private static final String RESPONSE = "{\"resources\": [{\"asset_id\": \"b5e6d2b39ba3e0869d67141ba7dba6cf\","
+            + " \"public_id\": \"sample\", \"format\": \"jpg\", \"version\": 1719304891, \"resource_type\": \"image\","
+            + " \"type\": \"upload\", \"created_at\": \"2024-06-25T08:41:31Z\", \"bytes\": 120253, \"width\": 864,"
+            + " \"height\": 576, \"tags\": [\"a\", \"b\"], \"context\": {\"custom\": {\"alt\": \"x\"}}, \"aspect_ratio\": 1.5},"
+            + " {\"public_id\": \"raw_file\", \"resource_type\": \"raw\", \"type\": \"upload\", \"bytes\": 12, \"width\": null}],"
+            + " \"next_cursor\": \"8edbc61040178db60b0973ca9494bf3a\", \"rate_limit_allowed\": 500}";
+
+    @Test
+    public void testReadsResources() throws IOException {
+        ResourceList list = ResourceList.read(new JsonReader(new StringReader(RESPONSE)), "resources");
+
+        assertEquals("8edbc61040178db60b0973ca9494bf3a", list.getNextCursor());
+        assertEquals(2, list.getResources().size());
+
+        ResourceInfo sample = list.getResources().get(0);
+        assertEquals("sample", sample.getPublicId());
+        assertEquals("image", sample.getResourceType());
+        assertEquals("upload", sample.getType());
+        assertEquals("jpg", sample.getFormat());
+        assertEquals(1719304891L, sample.getVersion());
+        assertEquals(120253L, sample.getBytes());
+        assertEquals(864, sample.getWidth());
+        assertEquals(576, sample.getHeight());
+        assertEquals(1719304891000L, sample.getCreatedAtMillis());
+
+        ResourceInfo raw = list.getResources().get(1);
+        assertEquals("raw_file", raw.getPublicId());
+        assertNull(raw.getFormat());
+        assertEquals(0, raw.getWidth());
+        assertNull(raw.getCreatedAt());
+    }
+
+    @Test
+    public void testLastPage() throws IOException {
+        ResourceList list = ResourceList.read(new JsonReader(new StringReader("{\"resources\": []}")), "resources");
+
+        assertTrue(list.getResources().isEmpty());
+        assertNull(list.getNextCursor());
+    }
+
+    @Test
+    public void testDecodesUploadResult() throws Exception {
+        ResourceInfo info = ResourceInfo.decoder().decode(new JsonReader(new StringReader("{\"public_id\": \"sample\","
+                + " \"version\": 1719304891, \"bytes\": 120253, \"width\": 864, \"height\": 576, \"format\": \"jpg\","
+                + " \"created_at\": \"2024-06-25T08:41:31Z\", \"eager\": [{\"width\": 100}], \"secure_url\": \"https://x\"}")));
+
+        assertEquals("sample", info.getPublicId());
+        assertEquals(1719304891L, info.getVersion());
+        assertEquals(864, info.getWidth());
+        assertEquals(ObjectUtils.fromISO8601("2024-06-25T08:41:31Z"), info.getCreatedAt());
+    }
+
+    @Test
+    public void testParsesTimestamps() throws Exception {
+        String[] timestamps = {"1970-01-01T00:00:00Z", "2000-02-29T23:59:59Z", "2024-12-31T12:00:00Z", "1969-07-20T20:17:40Z",
+                "2024-06-25T10:41:31+02:00"};
+        for (String timestamp : timestamps) {
+            assertEquals(timestamp, ObjectUtils.fromISO8601(timestamp).getTime(), ResourceInfo.parseTimestamp(timestamp));
+        }
+        assertEquals(new Date(0), new ResourceInfo(null, null, null, null, 0, 0, 0, 0, new Date(0)).getCreatedAt());
+    }
+
+    @Test
+    public void testRejectsImpossibleTimestamps() {
+        String[] timestamps = {"2017-02-31T00:00:00Z", "2023-02-29T00:00:00Z", "1900-02-29T00:00:00Z", "2024-04-31T00:00:00Z",
+                "2024-13-01T00:00:00Z", "2024-06-25T24:00:00Z", "2024-06-2xT00:00:00Z"};
+        for (String timestamp : timestamps) {
+            try {
+                ResourceInfo.parseTimestamp(timestamp);
+                fail("Expected a JSONException for " + timestamp);
+            } catch (JSONException expected) {
+            }
+        }
+        assertEquals(951782400000L, ResourceInfo.parseTimestamp("2000-02-29T00:00:00Z"));
+    }
+
+    @Test
+    public void testReadsNonIntegerNumbers() throws IOException {
+        ResourceList list = ResourceList.read(new JsonReader(new StringReader("{\"resources\": [{\"public_id\": \"sample\","
+                + " \"version\": 1.719304891E9, \"bytes\": 120253.0, \"width\": 864.0, \"height\": 576.5}]}")), "resources");
+
+        ResourceInfo sample = list.getResources().get(0);
+        assertEquals(1719304891L, sample.getVersion());
+        assertEquals(120253L, sample.getBytes());
+        assertEquals(864, sample.getWidth());
+        assertEquals(576, sample.getHeight());
+    }
+}
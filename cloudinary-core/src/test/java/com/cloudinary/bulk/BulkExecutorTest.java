@@ -0,0 +1,113 @@
+package com.cloudinary.bulk;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class BulkExecutorTest {
+
+    @Test
+    public void testReturnsResultsAndErrorsInTaskOrder() throws Exception {
+        BulkExecutor bulk = new BulkExecutor(4);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+            for (int i = 0; i < 20; i++) {
+                final int value = i;
+                tasks.add(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        if (value % 5 == 0) {
+                            throw new IOException("failed " + value);
+                        }
+                        return value * 2;
+                    }
+                });
+            }
+
+            List<BulkResult<Integer>> results = bulk.invokeAll(tasks);
+
+            assertEquals(20, results.size());
+            for (int i = 0; i < 20; i++) {
+                BulkResult<Integer> result = results.get(i);
+                assertEquals(i, result.getIndex());
+                if (i % 5 == 0) {
+                    assertFalse(result.isSuccess());
+                    assertTrue(result.getError() instanceof IOException);
+                    assertEquals("failed " + i, result.getError().getMessage());
+                } else {
+                    assertTrue(result.isSuccess());
+                    assertEquals(Integer.valueOf(i * 2), result.getResult());
+                }
+            }
+        } finally {
+            bulk.close();
+        }
+    }
+
+    @Test
+    public void testLimitsRunningTasks() throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (int i = 0; i < 30; i++) {
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    int now = running.incrementAndGet();
+                    maxRunning.accumulateAndGet(now, Math::max);
+                    Thread.sleep(10);
+                    running.decrementAndGet();
+                    return null;
+                }
+            });
+        }
+
+        // a cached pool would start a thread per task, the cap must hold anyway
+        ExecutorService executor = Executors.newCachedThreadPool();
+        BulkExecutor bulk = new BulkExecutor(executor, 3);
+        try {
+            for (BulkResult<Void> result : bulk.invokeAll(tasks)) {
+                assertTrue(result.isSuccess());
+            }
+            assertTrue(maxRunning.get() <= 3);
+            assertEquals(3, bulk.getMaxConcurrency());
+
+            // the executor belongs to the caller
+            bulk.close();
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUsesVirtualThreadsWhenAvailable() throws Exception {
+        ExecutorService probe = BulkExecutor.newVirtualThreadExecutor();
+        BulkExecutor bulk = new BulkExecutor(0);
+        try {
+            boolean available = probe != null;
+            assertEquals(available, bulk.usesVirtualThreads());
+            assertEquals(available ? BulkExecutor.DEFAULT_VIRTUAL_CONCURRENCY : BulkExecutor.DEFAULT_PLATFORM_CONCURRENCY,
+                    bulk.getMaxConcurrency());
+            assertEquals("done", bulk.submit(new Callable<String>() {
+                @Override
+                public String call() {
+                    return "done";
+                }
+            }).get());
+        } finally {
+            bulk.close();
+            if (probe != null) {
+                probe.shutdown();
+            }
+        }
+    }
+}
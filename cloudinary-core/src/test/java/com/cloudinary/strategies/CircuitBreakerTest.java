@@ -0,0 +1,168 @@
+package com.cloudinary.strategies;
+
+import com.cloudinary.Configuration;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CircuitBreakerTest {
+
+    private static CircuitBreakerRegistry registry(long openDurationMillis) {
+        return new CircuitBreakerRegistry.Builder()
+                .setWindowSize(4).setMinimumCalls(4).setFailureRateThreshold(0.5)
+                .setSlowCallDurationMillis(1000).setSlowCallRateThreshold(1)
+                .setOpenDurationMillis(openDurationMillis).setHalfOpenCalls(2).build();
+    }
+
+    private static CircuitBreaker.Permission permit(CircuitBreaker circuitBreaker) {
+        try {
+            return circuitBreaker.acquirePermission();
+        } catch (CircuitBreakerOpenException e) {
+            assertEquals(circuitBreaker.getName(), e.getCircuitBreakerName());
+            return null;
+        }
+    }
+
+    private static boolean permitted(CircuitBreaker circuitBreaker) {
+        return permit(circuitBreaker) != null;
+    }
+
+    private static void call(CircuitBreaker circuitBreaker, long durationMillis, int statusCode) throws CircuitBreakerOpenException {
+        circuitBreaker.onResult(circuitBreaker.acquirePermission(), durationMillis, statusCode);
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        CircuitBreaker circuitBreaker = CircuitBreakerRegistry.forEndpoint(new Configuration(), "https://api.cloudinary.com/v1_1/demo/image/upload", "upload");
+        for (int i = 0; i < 100; i++) {
+            circuitBreaker.onResult(circuitBreaker.acquirePermission(), 0, true);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testKeyedByHostAndAction() {
+        CircuitBreakerRegistry registry = registry(1000);
+        Configuration config = new Configuration();
+        config.properties.put("circuitBreakers", registry);
+
+        String apiUrl = "https://api.cloudinary.com/v1_1/demo/resources/image/upload";
+        assertEquals("resources", CircuitBreakerRegistry.apiAction(apiUrl));
+        CircuitBreaker resources = CircuitBreakerRegistry.forEndpoint(config, apiUrl, CircuitBreakerRegistry.apiAction(apiUrl));
+        assertEquals("api.cloudinary.com/resources", resources.getName());
+        assertSame(resources, registry.get("https://api.cloudinary.com/v1_1/demo/resources/raw", "resources"));
+        assertNotSame(resources, registry.get("https://api-eu.cloudinary.com/v1_1/demo/resources", "resources"));
+        assertNotSame(resources, registry.get("https://api.cloudinary.com/v1_1/demo/tags", "tags"));
+        assertEquals(3, registry.getCircuitBreakers().size());
+    }
+
+    @Test
+    public void testOpensOnFailureRate() throws Exception {
+        CircuitBreaker circuitBreaker = registry(60000).get("https://api.cloudinary.com", "upload");
+        call(circuitBreaker, 10, 200);
+        call(circuitBreaker, 10, 404);
+        call(circuitBreaker, 10, 503);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        circuitBreaker.onResult(circuitBreaker.acquirePermission(), 10, true);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(permitted(circuitBreaker));
+    }
+
+    @Test
+    public void testOpensOnSlowCallRate() throws Exception {
+        CircuitBreaker circuitBreaker = registry(60000).get("https://api.cloudinary.com", "upload");
+        call(circuitBreaker, 10, 200);
+        call(circuitBreaker, 2000, 200);
+        call(circuitBreaker, 2000, 200);
+        call(circuitBreaker, 2000, 200);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        // the fast call leaves the sliding window
+        call(circuitBreaker, 2000, 200);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testHalfOpenProbes() throws Exception {
+        CircuitBreakerRegistry registry = registry(0);
+        final List<CircuitBreaker.State> states = new ArrayList<CircuitBreaker.State>();
+        registry.addListener(new CircuitBreaker.StateListener() {
+            @Override
+            public void onStateChange(CircuitBreaker circuitBreaker, CircuitBreaker.State from, CircuitBreaker.State to) {
+                states.add(to);
+            }
+        });
+        CircuitBreaker circuitBreaker = registry.get("https://api.cloudinary.com", "upload");
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onResult(circuitBreaker.acquirePermission(), 10, true);
+        }
+
+        CircuitBreaker.Permission first = permit(circuitBreaker);
+        assertNotNull(first);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        CircuitBreaker.Permission second = permit(circuitBreaker);
+        assertNotNull(second);
+        assertFalse(permitted(circuitBreaker));
+        circuitBreaker.onResult(first, 10, 200);
+        circuitBreaker.onResult(second, 10, 500);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        first = permit(circuitBreaker);
+        second = permit(circuitBreaker);
+        circuitBreaker.onResult(first, 10, 200);
+        circuitBreaker.onResult(second, 10, 200);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        assertEquals(Arrays.asList(CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN,
+                CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN, CircuitBreaker.State.CLOSED), states);
+    }
+
+    @Test
+    public void testReleasedProbeIsGivenBack() throws Exception {
+        CircuitBreaker circuitBreaker = registry(0).get("https://api.cloudinary.com", "upload");
+        for (int i = 0; i < 4; i++) {
+            call(circuitBreaker, 10, 500);
+        }
+
+        CircuitBreaker.Permission first = permit(circuitBreaker);
+        CircuitBreaker.Permission second = permit(circuitBreaker);
+        assertFalse(permitted(circuitBreaker));
+        // a probe aborted by an unexpected exception frees its place, releasing it again changes nothing
+        circuitBreaker.release(first);
+        circuitBreaker.release(first);
+        CircuitBreaker.Permission third = permit(circuitBreaker);
+        assertNotNull(third);
+        assertFalse(permitted(circuitBreaker));
+        // releasing a call whose outcome was recorded does not free a second place
+        circuitBreaker.onResult(second, 10, 200);
+        circuitBreaker.release(second);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(permitted(circuitBreaker));
+        assertFalse(permitted(circuitBreaker));
+        circuitBreaker.onResult(third, 10, 200);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testResultsOfEarlierStatesAreIgnored() throws Exception {
+        CircuitBreaker circuitBreaker = registry(0).get("https://api.cloudinary.com", "upload");
+        CircuitBreaker.Permission closed = circuitBreaker.acquirePermission();
+        for (int i = 0; i < 4; i++) {
+            call(circuitBreaker, 10, 500);
+        }
+
+        CircuitBreaker.Permission probe = permit(circuitBreaker);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertNotNull(permit(circuitBreaker));
+        // the late result of a call made while closed neither frees a probe nor counts as one
+        circuitBreaker.onResult(closed, 10, 200);
+        assertFalse(permitted(circuitBreaker));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.onResult(probe, 10, 500);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+}
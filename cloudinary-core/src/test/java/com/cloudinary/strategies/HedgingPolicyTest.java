@@ -0,0 +1,49 @@
+package com.cloudinary.strategies;
+
+import com.cloudinary.Configuration;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HedgingPolicyTest {
+
+    @Test
+    public void testDisabledByDefault() {
+        assertNull(HedgingPolicy.forConfiguration(new Configuration()));
+    }
+
+    @Test
+    public void testInitialDelayUntilEnoughSamples() {
+        HedgingPolicy hedgingPolicy = new HedgingPolicy.Builder().setInitialDelayMillis(500).setMinSamples(5).build();
+        for (int i = 0; i < 4; i++) {
+            hedgingPolicy.recordLatency("resources", 100);
+        }
+        assertEquals(500, hedgingPolicy.delayMillis("resources"));
+        hedgingPolicy.recordLatency("resources", 100);
+        assertEquals(100, hedgingPolicy.delayMillis("resources"));
+        assertEquals(500, hedgingPolicy.delayMillis("tags"));
+    }
+
+    @Test
+    public void testDelayIsLatencyPercentile() {
+        HedgingPolicy hedgingPolicy = new HedgingPolicy.Builder()
+                .setPercentile(0.9).setMinSamples(1).setMinDelayMillis(0).setWindowSize(100).build();
+        for (int latency = 1; latency <= 100; latency++) {
+            hedgingPolicy.recordLatency("resources", latency);
+        }
+        assertEquals(90, hedgingPolicy.delayMillis("resources"));
+
+        // older latencies leave the window
+        for (int i = 0; i < 100; i++) {
+            hedgingPolicy.recordLatency("resources", 1000);
+        }
+        assertEquals(1000, hedgingPolicy.delayMillis("resources"));
+    }
+
+    @Test
+    public void testMinDelay() {
+        HedgingPolicy hedgingPolicy = new HedgingPolicy.Builder().setMinSamples(1).setMinDelayMillis(50).build();
+        hedgingPolicy.recordLatency("resources", 5);
+        assertEquals(50, hedgingPolicy.delayMillis("resources"));
+    }
+}
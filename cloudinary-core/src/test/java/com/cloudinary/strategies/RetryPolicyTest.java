@@ -0,0 +1,74 @@
+package com.cloudinary.strategies;
+
+import com.cloudinary.Api.HttpMethod;
+import com.cloudinary.Configuration;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void testNoRetriesByDefault() {
+        Configuration config = new Configuration();
+        assertSame(RetryPolicy.NONE, RetryPolicy.forConfiguration(config));
+        assertFalse(RetryPolicy.NONE.shouldRetry(true, 1, 503));
+
+        RetryPolicy retryPolicy = new RetryPolicy.Builder().build();
+        config.properties.put("retryPolicy", retryPolicy);
+        assertSame(retryPolicy, RetryPolicy.forConfiguration(config));
+    }
+
+    @Test
+    public void testRetriesOnlyIdempotentRequests() {
+        RetryPolicy retryPolicy = new RetryPolicy.Builder().setMaxAttempts(3).build();
+        assertTrue(RetryPolicy.isIdempotent(HttpMethod.GET));
+        assertTrue(RetryPolicy.isIdempotent(HttpMethod.PUT));
+        assertTrue(RetryPolicy.isIdempotent(HttpMethod.DELETE));
+        assertFalse(RetryPolicy.isIdempotent(HttpMethod.POST));
+
+        assertTrue(retryPolicy.shouldRetry(true, 1, 503));
+        assertTrue(retryPolicy.shouldRetry(true, 2, 420));
+        assertFalse(retryPolicy.shouldRetry(true, 3, 503));
+        assertFalse(retryPolicy.shouldRetry(true, 1, 404));
+        assertFalse(retryPolicy.shouldRetry(false, 1, 503));
+
+        RetryPolicy retryAll = new RetryPolicy.Builder().setRetryNonIdempotent(true).build();
+        assertTrue(retryAll.shouldRetry(false, 1, 503));
+    }
+
+    @Test
+    public void testRetriesExceptionsAndTheirCauses() {
+        RetryPolicy retryPolicy = new RetryPolicy.Builder().build();
+        assertTrue(retryPolicy.shouldRetry(true, 1, new SocketTimeoutException()));
+        assertTrue(retryPolicy.shouldRetry(true, 1, new RuntimeException(new IOException())));
+        assertFalse(retryPolicy.shouldRetry(true, 1, new IllegalStateException()));
+    }
+
+    @Test
+    public void testBackoffWithJitter() {
+        RetryPolicy retryPolicy = new RetryPolicy.Builder()
+                .setInitialBackoffMillis(100).setMultiplier(2).setMaxBackoffMillis(300).setJitter(0.5).build();
+        for (int i = 0; i < 20; i++) {
+            long first = retryPolicy.delayMillis(1, null);
+            assertTrue(first >= 50 && first <= 100);
+            long second = retryPolicy.delayMillis(2, null);
+            assertTrue(second >= 100 && second <= 200);
+            long capped = retryPolicy.delayMillis(5, null);
+            assertTrue(capped >= 150 && capped <= 300);
+        }
+    }
+
+    @Test
+    public void testWaitsForRateLimitReset() {
+        RetryPolicy retryPolicy = new RetryPolicy.Builder()
+                .setInitialBackoffMillis(0).setMaxRateLimitWaitMillis(10000).build();
+        long delay = retryPolicy.delayMillis(1, new Date(System.currentTimeMillis() + 5000));
+        assertTrue(delay > 4000 && delay <= 5000);
+        assertEquals(-1, retryPolicy.delayMillis(1, new Date(System.currentTimeMillis() + 60000)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.cloudinary.upload;
+
+import org.junit.Test;
+
+import static com.cloudinary.upload.AdaptiveChunkSizer.MIN_CHUNK_SIZE;
+import static org.junit.Assert.*;
+
+public class AdaptiveChunkSizerTest {
+    private static final long SECOND = 1000000000L;
+
+    @Test
+    public void testStartsAtLowerBoundNotBelowServerMinimum() {
+        assertEquals(MIN_CHUNK_SIZE, new AdaptiveChunkSizer(1024, 100 * MIN_CHUNK_SIZE, 1000).nextChunkSize());
+        assertEquals(2 * MIN_CHUNK_SIZE, new AdaptiveChunkSizer(2 * MIN_CHUNK_SIZE, 100 * MIN_CHUNK_SIZE, 1000).nextChunkSize());
+    }
+
+    @Test
+    public void testGrowsOnFastLinkUpToUpperBound() {
+        AdaptiveChunkSizer sizer = new AdaptiveChunkSizer(MIN_CHUNK_SIZE, 4 * MIN_CHUNK_SIZE, 1000);
+        // a part sent in a tenth of the target time only doubles the size
+        sizer.record(MIN_CHUNK_SIZE, SECOND / 10);
+        assertEquals(2 * MIN_CHUNK_SIZE, sizer.nextChunkSize());
+        sizer.record(2 * MIN_CHUNK_SIZE, SECOND / 10);
+        assertEquals(4 * MIN_CHUNK_SIZE, sizer.nextChunkSize());
+        sizer.record(4 * MIN_CHUNK_SIZE, SECOND / 10);
+        assertEquals(4 * MIN_CHUNK_SIZE, sizer.nextChunkSize());
+    }
+
+    @Test
+    public void testShrinksOnSlowLinkDownToLowerBound() {
+        AdaptiveChunkSizer sizer = new AdaptiveChunkSizer(MIN_CHUNK_SIZE, 8 * MIN_CHUNK_SIZE, 1000);
+        sizer.record(MIN_CHUNK_SIZE, SECOND / 10);
+        sizer.record(2 * MIN_CHUNK_SIZE, SECOND / 10);
+        assertEquals(4 * MIN_CHUNK_SIZE, sizer.nextChunkSize());
+
+        sizer.record(4 * MIN_CHUNK_SIZE, 60 * SECOND);
+        sizer.record(MIN_CHUNK_SIZE, 60 * SECOND);
+        assertEquals(MIN_CHUNK_SIZE, sizer.nextChunkSize());
+    }
+}
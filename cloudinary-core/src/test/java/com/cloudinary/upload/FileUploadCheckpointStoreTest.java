@@ -0,0 +1,64 @@
+package com.cloudinary.upload;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class FileUploadCheckpointStoreTest {
+    private File directory;
+    private FileUploadCheckpointStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("checkpoints").toFile();
+        store = new FileUploadCheckpointStore(directory);
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        store.save(new UploadCheckpoint("/videos/master.mov", "upload-id", 1000L, 42L, 100, 300L));
+
+        UploadCheckpoint checkpoint = store.load("/videos/master.mov");
+        assertNotNull(checkpoint);
+        assertEquals("upload-id", checkpoint.getUploadId());
+        assertEquals(1000L, checkpoint.getFileLength());
+        assertEquals(42L, checkpoint.getLastModified());
+        assertEquals(100, checkpoint.getChunkSize());
+        assertEquals(300L, checkpoint.getBytesAcknowledged());
+    }
+
+    @Test
+    public void testSaveReplacesPreviousCheckpoint() throws IOException {
+        store.save(new UploadCheckpoint("/videos/master.mov", "upload-id", 1000L, 42L, 100, 300L));
+        store.save(new UploadCheckpoint("/videos/master.mov", "upload-id", 1000L, 42L, 100, 500L));
+
+        assertEquals(500L, store.load("/videos/master.mov").getBytesAcknowledged());
+        assertEquals(1, directory.listFiles().length);
+    }
+
+    @Test
+    public void testRemove() throws IOException {
+        store.save(new UploadCheckpoint("/videos/master.mov", "upload-id", 1000L, 42L, 100, 300L));
+        store.remove("/videos/master.mov");
+
+        assertNull(store.load("/videos/master.mov"));
+        assertNull(store.load("/videos/other.mov"));
+    }
+}
@@ -0,0 +1,239 @@
+package com.cloudinary.utils;
+
+import com.cloudinary.api.ElementHandler;
+import org.cloudinary.json.JSONException;
+import org.cloudinary.json.JSONObject;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+@SuppressWarnings("unchecked")
+public class JsonReaderTest {
+    private static final String RESPONSE = "{\"resources\": [{\"public_id\": \"sample\", \"bytes\": 120253, \"width\": 864,"
+            + " \"aspect_ratio\": 1.5, \"version\": 1719304891, \"large\": 12345678901, \"negative\": -3, \"zero\": 0,"
+            + " \"exp\": 1e3, \"tags\": [], \"context\": {}, \"placeholder\": false, \"backup\": true, \"etag\": null,"
+            + " \"caption\": \"line\\nbreak \\\"quoted\\\" \\u00e9t\\u00e9 \\/ \\\\ caf\u00e9\"}],"
+            + " \"next_cursor\": \"8edbc61040178db60b0973ca9494bf3a\", \"rate_limit_allowed\": 500}";
+
+    @Test
+    public void testMatchesJSONObject() throws IOException {
+        Map<String, Object> expected = ObjectUtils.toMap(new JSONObject(RESPONSE));
+
+        assertEquals(expected, JsonReader.parseObject(RESPONSE));
+        assertEquals(expected, JsonReader.parseObject(new ByteArrayInputStream(RESPONSE.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void testValueTypes() {
+        Map<String, Object> resource = (Map<String, Object>) ((List<Object>) JsonReader.parseObject(RESPONSE).get("resources")).get(0);
+
+        assertEquals(120253, resource.get("bytes"));
+        assertEquals(1719304891, resource.get("version"));
+        assertEquals(12345678901L, resource.get("large"));
+        assertEquals(-3, resource.get("negative"));
+        assertEquals(0, resource.get("zero"));
+        assertEquals(1.5, resource.get("aspect_ratio"));
+        assertEquals(1000.0, resource.get("exp"));
+        assertEquals(Boolean.FALSE, resource.get("placeholder"));
+        assertTrue(resource.containsKey("etag"));
+        assertNull(resource.get("etag"));
+        assertEquals("line\nbreak \"quoted\" \u00e9t\u00e9 / \\ caf\u00e9", resource.get("caption"));
+    }
+
+    @Test
+    public void testIntegersMatchStringToValue() throws IOException {
+        String[] literals = {"0", "7", "-7", "999999999", "2147483647", "2147483648", "-2147483648", "-2147483649",
+                "12345678901", "9223372036854775807", "-9223372036854775807", "-9223372036854775808",
+                "9223372036854775808", "-0", "007", "-01", "-", "1.0", "1e3", "true"};
+        for (String literal : literals) {
+            assertEquals(literal, JSONObject.stringToValue(literal), new JsonReader(new StringReader(literal)).readValue());
+        }
+    }
+
+    @Test
+    public void testNextLongValue() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("[1719304891, -12345678901, 1.9, 1e3, 0]"));
+        reader.beginArray();
+        List<Long> list = new ArrayList<Long>();
+        while (reader.hasNext()) {
+            list.add(reader.nextLongValue());
+        }
+        reader.endArray();
+        assertEquals(Arrays.asList(1719304891L, -12345678901L, 1L, 1000L, 0L), list);
+
+        reader = new JsonReader(new StringReader("[true]"));
+        reader.beginArray();
+        try {
+            reader.nextLongValue();
+            fail("Expected a JSONException for a boolean");
+        } catch (JSONException expected) {
+        }
+    }
+
+    @Test
+    public void testControlCharactersAreWhitespace() {
+        assertEquals(ObjectUtils.asMap("a", 1), JsonReader.parseObject("{\f\"a\":\u000b1\u0000}"));
+    }
+
+    @Test
+    public void testValuesSplitAcrossReads() throws IOException {
+        // a reader returning one character at a time splits every string and number across buffer refills
+        Reader trickle = new StringReader(RESPONSE) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(1, length));
+            }
+        };
+
+        assertEquals(JsonReader.parseObject(RESPONSE), new JsonReader(trickle).readObject());
+    }
+
+    @Test
+    public void testLongDocument() throws IOException {
+        StringBuilder json = new StringBuilder("{\"resources\":[");
+        for (int i = 0; i < 2000; i++) {
+            json.append(i > 0 ? "," : "").append("{\"public_id\":\"folder/asset_").append(i).append("\",\"bytes\":").append(i).append('}');
+        }
+        json.append("]}");
+
+        List<Object> resources = (List<Object>) JsonReader.parseObject(new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8))).get("resources");
+
+        assertEquals(2000, resources.size());
+        assertEquals("folder/asset_1999", ((Map<String, Object>) resources.get(1999)).get("public_id"));
+        assertEquals(1999, ((Map<String, Object>) resources.get(1999)).get("bytes"));
+    }
+
+    @Test
+    public void testStreamsElements() throws Exception {
+        final List<Object> handled = new ArrayList<Object>();
+        Map<String, Object> result = JsonReader.parseObject(new ByteArrayInputStream(RESPONSE.getBytes(StandardCharsets.UTF_8)), "resources",
+                new ElementHandler<Map<String, Object>>() {
+                    @Override
+                    public void handle(Map<String, Object> element) {
+                        handled.add(element);
+                    }
+                });
+
+        Map<String, Object> expected = JsonReader.parseObject(RESPONSE);
+        assertEquals(expected.remove("resources"), handled);
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void testHandlerExceptionAbortsParsing() throws Exception {
+        final List<Object> handled = new ArrayList<Object>();
+        try {
+            JsonReader.parseObject(new ByteArrayInputStream("{\"tags\": [\"a\", \"b\", \"c\"]}".getBytes(StandardCharsets.UTF_8)), "tags",
+                    new ElementHandler<String>() {
+                        @Override
+                        public void handle(String element) throws Exception {
+                            handled.add(element);
+                            if (element.equals("b")) {
+                                throw new IllegalStateException("enough");
+                            }
+                        }
+                    });
+            fail("Expected the handler exception");
+        } catch (IllegalStateException e) {
+            assertEquals("enough", e.getMessage());
+        }
+        assertEquals(Arrays.<Object>asList("a", "b"), handled);
+    }
+
+    @Test
+    public void testReadsMembersOneByOne() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("{\"id\": \"a\", \"size\": -42, \"skip\": {\"x\": [1, \"]\"]},"
+                + " \"list\": [7, 8], \"ratio\": 1.5, \"none\": null}"));
+        reader.beginObject();
+        assertTrue(reader.hasNext());
+        assertEquals("id", reader.nextName());
+        assertEquals("a", reader.nextString());
+        assertTrue(reader.hasNext());
+        assertEquals("size", reader.nextName());
+        assertEquals(-42L, reader.nextLong());
+        assertTrue(reader.hasNext());
+        assertEquals("skip", reader.nextName());
+        reader.skipValue();
+        assertTrue(reader.hasNext());
+        assertEquals("list", reader.nextName());
+        reader.beginArray();
+        List<Long> list = new ArrayList<Long>();
+        while (reader.hasNext()) {
+            list.add(reader.nextLong());
+        }
+        reader.endArray();
+        assertEquals(Arrays.asList(7L, 8L), list);
+        assertTrue(reader.hasNext());
+        assertEquals("ratio", reader.nextName());
+        assertEquals(1.5, reader.nextNumber());
+        assertTrue(reader.hasNext());
+        assertEquals("none", reader.nextName());
+        assertTrue(reader.peekNull());
+        assertNull(reader.nextString());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+    }
+
+    @Test
+    public void testPullRejectsInvalidJson() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("{\"a\": 1 \"b\": 2}"));
+        reader.beginObject();
+        reader.nextName();
+        reader.nextLong();
+        try {
+            reader.hasNext();
+            fail("Expected a JSONException for the missing comma");
+        } catch (JSONException expected) {
+        }
+
+        reader = new JsonReader(new StringReader("[1.5]"));
+        reader.beginArray();
+        try {
+            reader.nextLong();
+            fail("Expected a JSONException for a fraction");
+        } catch (JSONException expected) {
+        }
+
+        reader = new JsonReader(new StringReader("[\"1\"]"));
+        reader.beginArray();
+        try {
+            reader.nextNumber();
+            fail("Expected a JSONException for a string");
+        } catch (JSONException expected) {
+        }
+
+        reader = new JsonReader(new StringReader("[{},]"));
+        reader.beginArray();
+        assertTrue(reader.hasNext());
+        reader.skipValue();
+        try {
+            reader.hasNext();
+            fail("Expected a JSONException for the trailing comma");
+        } catch (JSONException expected) {
+        }
+    }
+
+    @Test
+    public void testRejectsInvalidJson() {
+        String[] invalid = {"", "[]", "{\"a\":1", "{\"a\" 1}", "{\"a\":1,}", "{\"a\":\"unterminated}", "{\"a\":1} trailing",
+                "{\"a\":[1,2}", "{a:1}", "{\"a\":\"\\x\"}", "{\"a\":[1,,2]}", "{\"a\":[{},]}", "{\"a\":[1,]}", "{\"a\":,}",
+                "{\"a\":1,\"a\":2}"};
+        for (String json : invalid) {
+            try {
+                JsonReader.parseObject(json);
+                fail("Expected a JSONException for " + json);
+            } catch (JSONException expected) {
+            }
+        }
+    }
+}
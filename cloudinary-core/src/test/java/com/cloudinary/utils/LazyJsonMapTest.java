@@ -0,0 +1,80 @@
+package com.cloudinary.utils;
+
+import org.cloudinary.json.JSONException;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+@SuppressWarnings("unchecked")
+public class LazyJsonMapTest {
+    private static final String RESPONSE = "{\"resources\": [{\"public_id\": \"sample\", \"bytes\": 120253,"
+            + " \"large\": 12345678901, \"aspect_ratio\": 1.5, \"tags\": [\"a\", \"b\"], \"context\": {\"custom\": {\"alt\": \"}]\"}},"
+            + " \"etag\": null, \"caption\": \"line\\nbreak \\\"quoted\\\" \\\\\"}, {\"public_id\": \"other\"}],"
+            + " \"next_cursor\": \"8edbc61040178db60b0973ca9494bf3a\", \"rate_limit_allowed\": 500}";
+
+    @Test
+    public void testMatchesJsonReader() {
+        Map<String, Object> expected = JsonReader.parseObject(RESPONSE);
+        LazyJsonMap lazy = LazyJsonMap.parse(RESPONSE);
+
+        assertEquals(expected, lazy);
+        assertEquals(lazy, expected);
+        assertEquals(expected.hashCode(), lazy.hashCode());
+    }
+
+    @Test
+    public void testNestedValuesAreLazy() {
+        LazyJsonMap lazy = LazyJsonMap.parse(RESPONSE);
+
+        assertEquals("8edbc61040178db60b0973ca9494bf3a", lazy.get("next_cursor"));
+        assertEquals(500, lazy.get("rate_limit_allowed"));
+        assertTrue(lazy.get("resources") instanceof LazyJsonList);
+
+        List<Object> resources = (List<Object>) lazy.get("resources");
+        assertEquals(2, resources.size());
+        Map<String, Object> resource = (Map<String, Object>) resources.get(0);
+        assertTrue(resource instanceof LazyJsonMap);
+        assertEquals(12345678901L, resource.get("large"));
+        assertEquals("}]", ((Map<String, Object>) ((Map<String, Object>) resource.get("context")).get("custom")).get("alt"));
+        assertTrue(resource.containsKey("etag"));
+        assertNull(resource.get("etag"));
+        assertEquals("line\nbreak \"quoted\" \\", resource.get("caption"));
+    }
+
+    @Test
+    public void testNestedSyntaxErrorsAreReportedOnAccess() {
+        LazyJsonMap lazy = LazyJsonMap.parse("{\"ok\": 1, \"nested\": {\"a\": tru e}}");
+
+        assertEquals(1, lazy.get("ok"));
+        try {
+            ((Map<String, Object>) lazy.get("nested")).get("a");
+            fail("Expected a syntax error");
+        } catch (JSONException e) {
+            assertEquals("Expected a ',' or '}' at 31", e.getMessage());
+        }
+    }
+
+    @Test(expected = JSONException.class)
+    public void testUnbalancedDocument() {
+        LazyJsonMap.parse("{\"resources\": [{\"public_id\": \"sample\"}}");
+    }
+
+    @Test
+    public void testModifiable() {
+        LazyJsonMap lazy = LazyJsonMap.parse(RESPONSE);
+        List<Object> resources = (List<Object>) lazy.get("resources");
+
+        resources.remove(1);
+        resources.add("added");
+        ((Map<String, Object>) resources.get(0)).put("public_id", "renamed");
+        lazy.remove("next_cursor");
+
+        assertEquals(2, resources.size());
+        assertEquals("added", resources.get(1));
+        assertEquals("renamed", ((Map<String, Object>) ((List<Object>) lazy.get("resources")).get(0)).get("public_id"));
+        assertFalse(lazy.containsKey("next_cursor"));
+    }
+}
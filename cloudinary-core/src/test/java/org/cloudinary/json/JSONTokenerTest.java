@@ -0,0 +1,111 @@
+package org.cloudinary.json;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+public class JSONTokenerTest {
+    private static final String RESPONSE = "{\"resources\": [{\"public_id\": \"sample\", \"bytes\": 120253, \"width\": 864,"
+            + " \"aspect_ratio\": 1.5, \"version\": 1719304891, \"large\": 12345678901, \"negative\": -3, \"zero\": 0,"
+            + " \"exp\": 1e3, \"tags\": [], \"context\": {}, \"placeholder\": false, \"backup\": true, \"etag\": null,"
+            + " \"caption\": \"line\\nbreak \\\"quoted\\\" \\u00e9t\\u00e9 \\/ \\\\ caf\u00e9\", 'single': 'quoted'}],"
+            + " \"next_cursor\": \"8edbc61040178db60b0973ca9494bf3a\", \"rate_limit_allowed\": 500}";
+
+    private static Reader trickle(String source) {
+        // a reader returning one character at a time splits every token across buffer refills
+        return new StringReader(source) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(1, length));
+            }
+        };
+    }
+
+    @Test
+    public void testValueTypes() {
+        JSONObject resource = new JSONObject(RESPONSE).getJSONArray("resources").getJSONObject(0);
+
+        assertEquals(120253, resource.get("bytes"));
+        assertEquals(1719304891, resource.get("version"));
+        assertEquals(12345678901L, resource.get("large"));
+        assertEquals(-3, resource.get("negative"));
+        assertEquals(0, resource.get("zero"));
+        assertEquals(1.5, resource.get("aspect_ratio"));
+        assertEquals(1000.0, resource.get("exp"));
+        assertEquals(Boolean.FALSE, resource.get("placeholder"));
+        assertEquals(Boolean.TRUE, resource.get("backup"));
+        assertEquals(JSONObject.NULL, resource.get("etag"));
+        assertEquals("line\nbreak \"quoted\" \u00e9t\u00e9 / \\ caf\u00e9", resource.get("caption"));
+    }
+
+    @Test
+    public void testUnquotedValuesConvertLikeStringToValue() {
+        String[] literals = {"0", "-0", "007", "-12", "2147483647", "2147483648", "-2147483648", "-2147483649",
+                "123456789012345678", "9223372036854775807", "9223372036854775808", "1.5", "-1E-2", "TRUE", "Null",
+                "abc", "+1", "0x10", "1 2", "12 "};
+        for (String literal : literals) {
+            Object value = new JSONArray("[" + literal + "]").get(0);
+            assertEquals(literal, JSONObject.stringToValue(literal.trim()), value);
+        }
+    }
+
+    @Test
+    public void testReaderMatchesString() {
+        StringBuilder big = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++) {
+            big.append(i > 0 ? ",\n" : "").append(RESPONSE);
+        }
+        String source = big.append("]").toString();
+
+        assertEquals(new JSONObject(RESPONSE).toString(), new JSONObject(new JSONTokener(trickle(RESPONSE))).toString());
+        assertEquals(new JSONArray(source).toString(), new JSONArray(new JSONTokener(new StringReader(source))).toString());
+    }
+
+    @Test
+    public void testSyntaxErrors() {
+        assertSyntaxError("{\"a\": 1,\n \"b\": \"open", "Unterminated string at 21 [character 12 line 2]");
+        assertSyntaxError("{\"a\": \"\\q\"}", "Illegal escape. at 9 [character 10 line 1]");
+        assertSyntaxError("{\"a\": }", "Missing value at 6 [character 7 line 1]");
+        assertSyntaxError("{\"a\" 1}", "Expected a ':' after a key at 6 [character 7 line 1]");
+        assertSyntaxError("[1\r\n2]", "Expected a ',' or ']' at 5 [character 1 line 2]");
+        assertSyntaxError("{\"a\": 1", "Expected a ',' or '}' at 8 [character 9 line 1]");
+    }
+
+    private static void assertSyntaxError(String source, String message) {
+        for (int i = 0; i < 2; i++) {
+            JSONTokener tokener = i == 0 ? new JSONTokener(source) : new JSONTokener(trickle(source));
+            try {
+                tokener.nextValue();
+                fail("Expected a syntax error for " + source);
+            } catch (JSONException e) {
+                assertEquals(message, e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testBackAndSkipTo() {
+        JSONTokener tokener = new JSONTokener(trickle("ab=cd"));
+
+        assertEquals('a', tokener.next());
+        tokener.back();
+        assertEquals('a', tokener.next());
+        assertEquals('=', tokener.skipTo('='));
+        assertEquals(0, tokener.skipTo('x'));
+        assertEquals('=', tokener.next());
+        assertEquals("cd", tokener.nextTo(';'));
+        assertFalse(tokener.more());
+        assertTrue(tokener.end());
+        tokener.back();
+        try {
+            tokener.back();
+            fail("Expected stepping back twice to fail");
+        } catch (JSONException e) {
+            assertEquals("Stepping back two steps is not supported", e.getMessage());
+        }
+    }
+}
@@ -3,78 +3,110 @@ package com.cloudinary.http5;
 
 import com.cloudinary.Api;
 import com.cloudinary.api.ApiResponse;
+import com.cloudinary.api.ElementHandler;
+import com.cloudinary.api.RateLimiter;
+import com.cloudinary.api.ResponseDecoder;
 import com.cloudinary.api.exceptions.GeneralError;
 import com.cloudinary.http5.api.Response;
 import com.cloudinary.strategies.AbstractApiStrategy;
+import com.cloudinary.strategies.CircuitBreaker;
+import com.cloudinary.strategies.CircuitBreakerRegistry;
+import com.cloudinary.strategies.HedgingPolicy;
+import com.cloudinary.strategies.RetryPolicy;
+import com.cloudinary.utils.JsonReader;
 import com.cloudinary.utils.ObjectUtils;
 import org.apache.hc.client5.http.classic.methods.*;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.entity.UrlEncodedFormEntity;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
-import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.client5.http.io.HttpClientConnectionManager;
 import org.apache.hc.core5.http.HttpEntity;
-import org.apache.hc.core5.http.HttpHost;
 import org.apache.hc.core5.http.NameValuePair;
+import org.apache.hc.core5.http.ParseException;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.net.URIBuilder;
-import org.apache.hc.core5.util.Timeout;
 import org.cloudinary.json.JSONException;
 import org.cloudinary.json.JSONObject;
 
 import java.io.IOException;
-import java.lang.reflect.Constructor;
+import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.*;
 
 import static com.cloudinary.http5.ApiUtils.prepareParams;
+import static com.cloudinary.http5.ApiUtils.rateLimitReset;
 import static com.cloudinary.http5.ApiUtils.setTimeouts;
+import static com.cloudinary.http5.ApiUtils.toApiResponse;
 
 public class ApiStrategy extends AbstractApiStrategy {
 
     private static final String APACHE_HTTP_CLIENT_VERSION = System.getProperty("apache.http.client.version", "5.3.1");
-
-    private CloseableHttpClient client;
-
-    public void init(Api api) {
-        super.init(api);
-
-        HttpClientBuilder clientBuilder = HttpClients.custom();
-        clientBuilder.useSystemProperties().setUserAgent(this.api.cloudinary.getUserAgent() + " ApacheHttpClient/" + APACHE_HTTP_CLIENT_VERSION);
-
-        HttpClientConnectionManager connectionManager = (HttpClientConnectionManager) api.cloudinary.config.properties.get("connectionManager");
-        if (connectionManager != null) {
-            clientBuilder.setConnectionManager(connectionManager);
+    // the size of the default connection pool of the client
+    private static final int DEFAULT_HEDGING_THREADS = 25;
+
+    private volatile CloseableHttpClient client;
+    private volatile ExecutorService hedgingExecutor;
+    // set by close(), a closed strategy throws instead of creating new clients
+    private boolean closed;
+
+    /**
+     * Returns the HTTP client shared by all {@link Api} instances of the owning Cloudinary instance,
+     * creating it on first use.
+     */
+    protected CloseableHttpClient getClient() {
+        CloseableHttpClient result = client;
+        if (result == null) {
+            synchronized (this) {
+                result = client;
+                if (result == null) {
+                    if (closed) {
+                        throw new IllegalStateException("The Cloudinary instance has been closed");
+                    }
+                    client = result = createClient();
+                }
+            }
         }
+        return result;
+    }
 
-        RequestConfig requestConfig = buildRequestConfig();
+    private CloseableHttpClient createClient() {
+        return ApiUtils.buildClient(api.cloudinary.config);
+    }
 
-        client = clientBuilder
-                .setDefaultRequestConfig(requestConfig)
-                .build();
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        if (hedgingExecutor != null) {
+            hedgingExecutor.shutdownNow();
+            hedgingExecutor = null;
+        }
+        if (client != null) {
+            client.close();
+            client = null;
+        }
     }
 
     public RequestConfig buildRequestConfig() {
-        RequestConfig.Builder requestConfigBuilder = RequestConfig.custom();
-
-        if (api.cloudinary.config.proxyHost != null && api.cloudinary.config.proxyPort != 0) {
-            HttpHost proxy = new HttpHost(api.cloudinary.config.proxyHost, api.cloudinary.config.proxyPort);
-            requestConfigBuilder.setProxy(proxy);
-        }
+        return ApiUtils.buildRequestConfig(this.api.cloudinary.config);
+    }
 
-        int timeout = this.api.cloudinary.config.timeout;
-        if (timeout > 0) {
-            requestConfigBuilder.setResponseTimeout(Timeout.ofSeconds(timeout))
-                    .setConnectionRequestTimeout(Timeout.ofSeconds(timeout))
-                    .setConnectTimeout(Timeout.ofSeconds(timeout));
+    @Override
+    public boolean warmUpConnection(String apiUrl) {
+        HttpHead request = new HttpHead(apiUrl);
+        request.setHeader("User-Agent", getUserAgent());
+        request.setConfig(buildRequestConfig());
+        // any response proves the host is reachable, reading it fully returns the connection to the pool
+        try (CloseableHttpResponse response = getClient().execute(request)) {
+            EntityUtils.consume(response.getEntity());
+            return true;
+        } catch (IOException e) {
+            return false;
         }
-
-        return requestConfigBuilder.build();
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
@@ -83,55 +115,250 @@ public class ApiStrategy extends AbstractApiStrategy {
 
         request.setHeader("Authorization", autorizationHeader);
 
-        return getApiResponse(request);
+        return getApiResponse(method, apiUrl, request, api.rateLimiter(options), null, null);
     }
 
-    private ApiResponse getApiResponse(HttpUriRequestBase request) throws Exception {
-        String responseData = null;
-        int code = 0;
-        CloseableHttpResponse response;
-        try  {
-            response = client.execute(request);
-            code = response.getCode();
-            HttpEntity entity = response.getEntity();
-            if (entity != null) {
-                responseData = EntityUtils.toString(entity, StandardCharsets.UTF_8);
-            }
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public ApiResponse callApi(Api.HttpMethod method, String apiUrl, Map<String, ?> params, Map options, String authorizationHeader,
+                               String elementsKey, ElementHandler<?> handler) throws Exception {
+        HttpUriRequestBase request = prepareRequest(method, apiUrl, params, options);
+
+        request.setHeader("Authorization", authorizationHeader);
+
+        return getApiResponse(method, apiUrl, request, api.rateLimiter(options), elementsKey, handler);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public <T> T callApi(Api.HttpMethod method, String apiUrl, Map<String, ?> params, Map options, String authorizationHeader,
+                         ResponseDecoder<T> decoder) throws Exception {
+        HttpUriRequestBase request = prepareRequest(method, apiUrl, params, options);
+
+        request.setHeader("Authorization", authorizationHeader);
+
+        // a decoded response is not hedged, like a streamed one
+        BufferedResponse buffered = send(method, apiUrl, request, null, true);
+        if (!buffered.streamed) {
+            // an error or empty response, converting it throws the exception matching its status code
+            toApiResponse(buffered.response, buffered.data, false);
+            throw new GeneralError("Server returned an empty response");
+        }
+        try (InputStream content = buffered.response.getEntity().getContent()) {
+            return decoder.decode(new JsonReader(content));
+        } catch (JSONException e) {
+            throw new RuntimeException("Invalid JSON response from server " + e.getMessage());
         } catch (IOException e) {
-            throw new GeneralError("Error executing request: " + e.getMessage());
+            throw new GeneralError("Error reading response: " + e.getMessage());
         }
+    }
+
+    /**
+     * @param rateLimiter charged for hedged requests, or null if calls are not paced
+     * @param handler     receives the elements of the array under {@code elementsKey} of a successful response as they
+     *                    are parsed, or null to parse the whole response
+     */
+    private ApiResponse getApiResponse(Api.HttpMethod method, String apiUrl, HttpUriRequestBase request, RateLimiter rateLimiter,
+                                       String elementsKey, ElementHandler<?> handler) throws Exception {
+        BufferedResponse buffered = send(method, apiUrl, request, rateLimiter, handler != null);
+        CloseableHttpResponse response = buffered.response;
+        if (buffered.streamed) {
+            return streamApiResponse(response, elementsKey, handler);
+        }
+        return buffered.result != null ? new Response(response, buffered.result) : toApiResponse(response, buffered.data, api.cloudinary.config.lazyApiResponses);
+    }
 
-        if (code != 200) {
-            Map<String, Object> result;
+    /**
+     * Sends the request, retrying it as configured. A GET request is hedged unless its response is streamed.
+     *
+     * @param rateLimiter charged for hedged requests, or null if calls are not paced
+     * @param stream      whether a successful response is left unread
+     * @return the final response, its entity is read unless it was streamed
+     */
+    private BufferedResponse send(Api.HttpMethod method, String apiUrl, HttpUriRequestBase request, RateLimiter rateLimiter, boolean stream) throws Exception {
+        RetryPolicy retryPolicy = RetryPolicy.forConfiguration(api.cloudinary.config);
+        String action = CircuitBreakerRegistry.apiAction(apiUrl);
+        CircuitBreaker circuitBreaker = CircuitBreakerRegistry.forEndpoint(api.cloudinary.config, apiUrl, action);
+        // a streamed response is parsed only once, so it cannot come from either of two hedged requests
+        HedgingPolicy hedgingPolicy = method == Api.HttpMethod.GET && !stream ? HedgingPolicy.forConfiguration(api.cloudinary.config) : null;
+        boolean idempotent = RetryPolicy.isIdempotent(method);
+        for (int attempt = 1; ; attempt++) {
+            CircuitBreaker.Permission permission = circuitBreaker.acquirePermission();
             try {
-                JSONObject responseJSON = new JSONObject(responseData);
-                result = ObjectUtils.toMap(responseJSON);
+                long start = System.currentTimeMillis();
+                BufferedResponse buffered;
+                try {
+                    buffered = hedgingPolicy != null ? executeHedged(hedgingPolicy, action, request, rateLimiter) : execute(request, stream);
+                } catch (IOException e) {
+                    circuitBreaker.onResult(permission, System.currentTimeMillis() - start, true);
+                    if (retryPolicy.shouldRetry(idempotent, attempt, e) && retryPolicy.sleep(retryPolicy.delayMillis(attempt, null))) {
+                        continue;
+                    }
+                    throw new GeneralError("Error executing request: " + e.getMessage());
+                } catch (Exception e) {
+                    circuitBreaker.onResult(permission, System.currentTimeMillis() - start, true);
+                    throw e;
+                }
+                CloseableHttpResponse response = buffered.response;
+                circuitBreaker.onResult(permission, System.currentTimeMillis() - start, response.getCode());
+
+                if (retryPolicy.shouldRetry(idempotent, attempt, response.getCode())) {
+                    long delay = retryPolicy.delayMillis(attempt, rateLimitReset(response));
+                    if (delay >= 0 && retryPolicy.sleep(delay)) {
+                        continue;
+                    }
+                }
+                return buffered;
+            } finally {
+                // a call ended by an unexpected exception has no outcome, its probe is given back
+                circuitBreaker.release(permission);
+            }
+        }
+    }
+
+    /**
+     * Parses a successful response as it is read, after the call was recorded and is no longer retried.
+     */
+    private ApiResponse streamApiResponse(CloseableHttpResponse response, String elementsKey, ElementHandler<?> handler) throws Exception {
+        try (InputStream content = response.getEntity().getContent()) {
+            return new Response(response, JsonReader.parseObject(content, elementsKey, handler));
+        } catch (JSONException e) {
+            throw new RuntimeException("Invalid JSON response from server " + e.getMessage());
+        } catch (IOException e) {
+            throw new GeneralError("Error reading response: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param stream whether a successful response is left unread, to be parsed once the call is no longer retried
+     */
+    private BufferedResponse execute(HttpUriRequestBase request, boolean stream) throws IOException, ParseException {
+        CloseableHttpResponse response = getClient().execute(request);
+        HttpEntity entity = response.getEntity();
+        if (stream && response.getCode() == 200 && entity != null) {
+            return new BufferedResponse(response, null, null, true);
+        }
+        if (response.getCode() == 200 && entity != null && !api.cloudinary.config.lazyApiResponses) {
+            // successful responses are parsed straight from the connection, the body is never held as a string
+            try (InputStream content = entity.getContent()) {
+                return new BufferedResponse(response, JsonReader.parseObject(content), null, false);
             } catch (JSONException e) {
                 throw new RuntimeException("Invalid JSON response from server " + e.getMessage());
             }
+        }
+        String data = entity != null ? EntityUtils.toString(entity, StandardCharsets.UTF_8) : null;
+        return new BufferedResponse(response, null, data, false);
+    }
 
-            // Extract the error message from the result map
-            String message = (String) ((Map<String, Object>) result.get("error")).get("message");
+    /**
+     * Sends a copy of the GET request, and a second copy if no response arrived within the delay of the hedging
+     * policy. The first successful response is returned and the other request is cancelled. The request is sent
+     * without hedging when all the hedging threads are busy, and the second copy is not sent when it would have to
+     * wait for the rate limit.
+     */
+    private BufferedResponse executeHedged(HedgingPolicy hedgingPolicy, String action, HttpUriRequestBase request, RateLimiter rateLimiter) throws Exception {
+        long start = System.currentTimeMillis();
+        CompletionService<BufferedResponse> completionService = new ExecutorCompletionService<BufferedResponse>(getHedgingExecutor());
+        // copies are sent so cancelling the losing one leaves the original request reusable for retries
+        List<HttpUriRequestBase> sent = new ArrayList<HttpUriRequestBase>(2);
+        try {
+            if (!submitCopy(completionService, request, sent)) {
+                return execute(request, false);
+            }
+            Future<BufferedResponse> first = completionService.poll(hedgingPolicy.delayMillis(action), TimeUnit.MILLISECONDS);
+            if (first == null) {
+                if (rateLimiter == null || rateLimiter.tryAcquire(RateLimiter.API_FEATURE)) {
+                    submitCopy(completionService, request, sent);
+                }
+                first = completionService.take();
+            }
 
-            // Get the appropriate exception class based on status code
-            Class<? extends Exception> exceptionClass = Api.CLOUDINARY_API_ERROR_CLASSES.get(code);
-            if (exceptionClass != null) {
-                Constructor<? extends Exception> exceptionConstructor = exceptionClass.getConstructor(String.class);
-                throw exceptionConstructor.newInstance(message);
-            } else {
-                throw new GeneralError("Server returned unexpected status code - " + code + " - " + responseData);
+            BufferedResponse result;
+            try {
+                result = first.get();
+            } catch (ExecutionException e) {
+                if (sent.size() == 1) {
+                    throw unwrap(e);
+                }
+                // the other request may still succeed
+                try {
+                    result = completionService.take().get();
+                } catch (ExecutionException other) {
+                    throw unwrap(other);
+                }
+            }
+            hedgingPolicy.recordLatency(action, System.currentTimeMillis() - start);
+            return result;
+        } finally {
+            for (HttpUriRequestBase copy : sent) {
+                copy.cancel();
             }
         }
+    }
 
-        Map<String, Object> result;
+    /**
+     * @return whether the copy was submitted, false if all the hedging threads are busy
+     */
+    private boolean submitCopy(CompletionService<BufferedResponse> completionService, HttpUriRequestBase request, List<HttpUriRequestBase> sent) throws URISyntaxException {
+        final HttpGet copy = new HttpGet(request.getUri());
+        copy.setHeaders(request.getHeaders());
+        copy.setConfig(request.getConfig());
         try {
-            JSONObject responseJSON = new JSONObject(responseData);
-            result = ObjectUtils.toMap(responseJSON);
-        } catch (JSONException e) {
-            throw new RuntimeException("Invalid JSON response from server " + e.getMessage());
+            completionService.submit(() -> execute(copy, false));
+        } catch (RejectedExecutionException e) {
+            return false;
         }
+        sent.add(copy);
+        return true;
+    }
 
-        return new Response(response, result);
+    private static Exception unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return cause instanceof Exception ? (Exception) cause : e;
+    }
+
+    private ExecutorService getHedgingExecutor() {
+        ExecutorService result = hedgingExecutor;
+        if (result == null) {
+            synchronized (this) {
+                result = hedgingExecutor;
+                if (result == null) {
+                    // more threads than pooled connections would only wait for a connection
+                    int threads = api.cloudinary.config.maxConnectionsTotal > 0 ? api.cloudinary.config.maxConnectionsTotal : DEFAULT_HEDGING_THREADS;
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                            new SynchronousQueue<Runnable>(), runnable -> {
+                        Thread thread = new Thread(runnable, "cloudinary-hedged-request");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    executor.allowCoreThreadTimeOut(true);
+                    hedgingExecutor = result = executor;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A response whose entity has been read, so the connection is released back to the pool. Holds the parsed
+     * result of a successful response, or the body of an error response or of a response parsed lazily. A streamed
+     * response is left unread.
+     */
+    private static class BufferedResponse {
+        final CloseableHttpResponse response;
+        final Map<String, Object> result;
+        final String data;
+        final boolean streamed;
+
+        BufferedResponse(CloseableHttpResponse response, Map<String, Object> result, String data, boolean streamed) {
+            this.response = response;
+            this.result = result;
+            this.data = data;
+            this.streamed = streamed;
+        }
     }
 
     @Override
@@ -144,7 +371,7 @@ public class ApiStrategy extends AbstractApiStrategy {
         request.setHeader("Authorization", authorizationHeader);
 
         // Execute the request and return the response
-        return getApiResponse(request);
+        return getApiResponse(method, apiUrl, request, api.rateLimiter(options), null, null);
     }
 
     private HttpUriRequestBase prepareRequest(Api.HttpMethod method, String apiUrl, Map<String, ? extends Object> params, Map<String, ?> options) throws URISyntaxException {
@@ -175,10 +402,16 @@ public class ApiStrategy extends AbstractApiStrategy {
             default:
                 throw new IllegalArgumentException("Unknown HTTP method");
         }
+        request.setHeader("User-Agent", getUserAgent());
+        request.setConfig(buildRequestConfig());
         setTimeouts(request, options);
         return request;
     }
 
+    private String getUserAgent() {
+        return this.api.cloudinary.getUserAgent() + " ApacheHttpClient/" + APACHE_HTTP_CLIENT_VERSION;
+    }
+
     private void setEntity(HttpUriRequestBase request, Map<String, ?> params, String contentType) {
         if ("json".equals(contentType)) {
             JSONObject json = ObjectUtils.toJSON(params);
@@ -1,20 +1,245 @@
 package com.cloudinary.http5;
 
+import com.cloudinary.Api;
+import com.cloudinary.Configuration;
+import com.cloudinary.api.ApiResponse;
+import com.cloudinary.api.RateLimit;
+import com.cloudinary.api.exceptions.GeneralError;
+import com.cloudinary.http5.api.LazyResponse;
+import com.cloudinary.http5.api.Response;
+import com.cloudinary.utils.JsonReader;
+import com.cloudinary.utils.LazyJsonMap;
 import com.cloudinary.utils.ObjectUtils;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.nio.AsyncClientConnectionManager;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpResponse;
 import org.apache.hc.core5.http.NameValuePair;
+import org.apache.hc.core5.http.io.SocketConfig;
 import org.apache.hc.core5.http.message.BasicNameValuePair;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.util.Timeout;
+import org.cloudinary.json.JSONException;
 import org.cloudinary.json.JSONObject;
 
+import java.lang.reflect.Constructor;
+import java.text.ParseException;
 import java.util.*;
 
 public final class ApiUtils {
+    // the pool size of httpclient5's connection managers when none is configured
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 5;
+    private static final int DEFAULT_MAX_CONNECTIONS_TOTAL = 25;
+
     private ApiUtils() {}
 
+    /**
+     * Builds the default request config (proxy and timeouts) from the Cloudinary configuration.
+     */
+    public static RequestConfig buildRequestConfig(Configuration config) {
+        RequestConfig.Builder requestConfigBuilder = RequestConfig.custom();
+
+        if (config.proxyHost != null && config.proxyPort != 0) {
+            HttpHost proxy = new HttpHost(config.proxyHost, config.proxyPort);
+            requestConfigBuilder.setProxy(proxy);
+        }
+
+        int timeout = config.timeout;
+        if (timeout > 0) {
+            requestConfigBuilder.setResponseTimeout(Timeout.ofSeconds(timeout))
+                    .setConnectionRequestTimeout(Timeout.ofSeconds(timeout))
+                    .setConnectTimeout(Timeout.ofSeconds(timeout));
+        }
+
+        // the millisecond timeouts refine the single timeout in seconds
+        if (config.responseTimeoutMillis > 0) {
+            requestConfigBuilder.setResponseTimeout(Timeout.ofMilliseconds(config.responseTimeoutMillis));
+        }
+        if (config.connectionRequestTimeoutMillis > 0) {
+            requestConfigBuilder.setConnectionRequestTimeout(Timeout.ofMilliseconds(config.connectionRequestTimeoutMillis));
+        }
+        if (config.connectTimeoutMillis > 0) {
+            requestConfigBuilder.setConnectTimeout(Timeout.ofMilliseconds(config.connectTimeoutMillis));
+        }
+
+        return requestConfigBuilder.build();
+    }
+
+    /**
+     * Builds the blocking HTTP client of a strategy, with the connection pool, keep alive and idle eviction settings
+     * of the Cloudinary configuration. A {@code connectionManager} set in the configuration properties is used as is
+     * instead of a pool built from the settings.
+     */
+    public static CloseableHttpClient buildClient(Configuration config) {
+        HttpClientBuilder clientBuilder = HttpClients.custom();
+        clientBuilder.useSystemProperties();
+
+        HttpClientConnectionManager connectionManager = (HttpClientConnectionManager) config.properties.get("connectionManager");
+        if (connectionManager != null) {
+            // the connection manager is owned by the caller, closing the client must not shut it down
+            clientBuilder.setConnectionManager(connectionManager).setConnectionManagerShared(true);
+        } else if (hasPoolSettings(config)) {
+            clientBuilder.setConnectionManager(buildConnectionManager(config));
+        }
+
+        if (config.idleConnectionTimeout > 0) {
+            clientBuilder.evictExpiredConnections().evictIdleConnections(TimeValue.ofSeconds(config.idleConnectionTimeout));
+        }
+
+        if (config.keepAliveMillis > 0) {
+            final TimeValue keepAlive = TimeValue.ofMilliseconds(config.keepAliveMillis);
+            clientBuilder.setKeepAliveStrategy((response, context) -> keepAlive);
+        }
+
+        return clientBuilder.build();
+    }
+
+    /**
+     * Builds and starts the non-blocking HTTP client of a strategy, with the same connection pool, keep alive, socket
+     * and idle eviction settings as {@link #buildClient(Configuration)}. An {@link AsyncClientConnectionManager} set in
+     * the {@code asyncConnectionManager} configuration property is used as is instead of a pool built from the
+     * settings.
+     */
+    public static CloseableHttpAsyncClient buildAsyncClient(Configuration config) {
+        return buildAsyncClient(config, 0);
+    }
+
+    /**
+     * Builds and starts a non-blocking HTTP client like {@link #buildAsyncClient(Configuration)}, whose pool holds at
+     * least {@code minConnections} connections to a single host.
+     *
+     * @param minConnections the number of requests to a host the strategy admits at once, which must not wait for a
+     *                       connection, 0 for none
+     */
+    public static CloseableHttpAsyncClient buildAsyncClient(Configuration config, int minConnections) {
+        HttpAsyncClientBuilder clientBuilder = HttpAsyncClients.custom();
+        clientBuilder.useSystemProperties();
+
+        AsyncClientConnectionManager connectionManager = (AsyncClientConnectionManager) config.properties.get("asyncConnectionManager");
+        if (connectionManager != null) {
+            // the connection manager is owned by the caller, closing the client must not shut it down
+            clientBuilder.setConnectionManager(connectionManager).setConnectionManagerShared(true);
+        } else if (hasPoolSettings(config) || minConnections > 0) {
+            clientBuilder.setConnectionManager(buildAsyncConnectionManager(config, minConnections));
+        }
+
+        // the async client sets its socket options on the I/O reactor rather than on the connection manager
+        if (config.socketTimeoutMillis > 0 || config.socketSendBufferSize > 0 || config.socketReceiveBufferSize > 0) {
+            IOReactorConfig.Builder ioReactorConfig = IOReactorConfig.custom();
+            if (config.socketTimeoutMillis > 0) {
+                ioReactorConfig.setSoTimeout(Timeout.ofMilliseconds(config.socketTimeoutMillis));
+            }
+            if (config.socketSendBufferSize > 0) {
+                ioReactorConfig.setSndBufSize(config.socketSendBufferSize);
+            }
+            if (config.socketReceiveBufferSize > 0) {
+                ioReactorConfig.setRcvBufSize(config.socketReceiveBufferSize);
+            }
+            clientBuilder.setIOReactorConfig(ioReactorConfig.build());
+        }
+
+        if (config.idleConnectionTimeout > 0) {
+            clientBuilder.evictExpiredConnections().evictIdleConnections(TimeValue.ofSeconds(config.idleConnectionTimeout));
+        }
+
+        if (config.keepAliveMillis > 0) {
+            final TimeValue keepAlive = TimeValue.ofMilliseconds(config.keepAliveMillis);
+            clientBuilder.setKeepAliveStrategy((response, context) -> keepAlive);
+        }
+
+        CloseableHttpAsyncClient client = clientBuilder.build();
+        client.start();
+        return client;
+    }
+
+    private static boolean hasPoolSettings(Configuration config) {
+        return config.maxConnectionsTotal > 0 || config.maxConnectionsPerRoute > 0 || config.connectionTtlMillis > 0
+                || config.socketTimeoutMillis > 0 || config.socketSendBufferSize > 0 || config.socketReceiveBufferSize > 0;
+    }
+
+    private static PoolingHttpClientConnectionManager buildConnectionManager(Configuration config) {
+        PoolingHttpClientConnectionManagerBuilder builder = PoolingHttpClientConnectionManagerBuilder.create()
+                .useSystemProperties();
+        if (config.maxConnectionsTotal > 0) {
+            builder.setMaxConnTotal(config.maxConnectionsTotal);
+        }
+        if (config.maxConnectionsPerRoute > 0) {
+            builder.setMaxConnPerRoute(config.maxConnectionsPerRoute);
+        }
+
+        SocketConfig.Builder socketConfig = SocketConfig.custom();
+        if (config.socketTimeoutMillis > 0) {
+            socketConfig.setSoTimeout(Timeout.ofMilliseconds(config.socketTimeoutMillis));
+        }
+        if (config.socketSendBufferSize > 0) {
+            socketConfig.setSndBufSize(config.socketSendBufferSize);
+        }
+        if (config.socketReceiveBufferSize > 0) {
+            socketConfig.setRcvBufSize(config.socketReceiveBufferSize);
+        }
+        builder.setDefaultSocketConfig(socketConfig.build());
+
+        builder.setDefaultConnectionConfig(buildConnectionConfig(config));
+
+        return builder.build();
+    }
+
+    private static ConnectionConfig buildConnectionConfig(Configuration config) {
+        ConnectionConfig.Builder connectionConfig = ConnectionConfig.custom();
+        if (config.connectionTtlMillis > 0) {
+            connectionConfig.setTimeToLive(TimeValue.ofMilliseconds(config.connectionTtlMillis));
+        }
+        if (config.socketTimeoutMillis > 0) {
+            connectionConfig.setSocketTimeout(Timeout.ofMilliseconds(config.socketTimeoutMillis));
+        }
+        return connectionConfig.build();
+    }
+
+    private static PoolingAsyncClientConnectionManager buildAsyncConnectionManager(Configuration config, int minConnections) {
+        PoolingAsyncClientConnectionManagerBuilder builder = PoolingAsyncClientConnectionManagerBuilder.create()
+                .useSystemProperties();
+        int maxConnectionsTotal = config.maxConnectionsTotal;
+        int maxConnectionsPerRoute = config.maxConnectionsPerRoute;
+        if (minConnections > 0) {
+            maxConnectionsTotal = Math.max(maxConnectionsTotal > 0 ? maxConnectionsTotal : DEFAULT_MAX_CONNECTIONS_TOTAL, minConnections);
+            maxConnectionsPerRoute = Math.max(maxConnectionsPerRoute > 0 ? maxConnectionsPerRoute : DEFAULT_MAX_CONNECTIONS_PER_ROUTE, minConnections);
+        }
+        if (maxConnectionsTotal > 0) {
+            builder.setMaxConnTotal(maxConnectionsTotal);
+        }
+        if (maxConnectionsPerRoute > 0) {
+            builder.setMaxConnPerRoute(maxConnectionsPerRoute);
+        }
+        builder.setDefaultConnectionConfig(buildConnectionConfig(config));
+        return builder.build();
+    }
+
     public static void setTimeouts(HttpUriRequestBase request, Map<String, ? extends Object> options) {
-        RequestConfig config = request.getConfig();
+        request.setConfig(withTimeouts(request.getConfig(), options));
+    }
+
+    /**
+     * Applies the per-call timeout options on top of the given request config.
+     *
+     * @param config  the base config, may be null
+     * @param options the call options
+     * @return a new config holding the overridden timeouts
+     */
+    public static RequestConfig withTimeouts(RequestConfig config, Map<String, ? extends Object> options) {
         final RequestConfig.Builder builder;
 
         if (config != null) {
@@ -23,24 +248,94 @@ public final class ApiUtils {
             builder = RequestConfig.custom();
         }
 
-        Integer timeout = (Integer) options.get("timeout");
+        // options may come from parsed strings or JSON as well as from code
+        Integer timeout = ObjectUtils.asInteger(options.get("timeout"), null);
         if (timeout != null) {
             builder.setResponseTimeout(Timeout.ofSeconds(timeout));
         }
 
-        Integer connectionRequestTimeout = (Integer) options.get("connection_request_timeout");
+        Integer connectionRequestTimeout = ObjectUtils.asInteger(options.get("connection_request_timeout"), null);
         if (connectionRequestTimeout != null) {
             builder.setConnectionRequestTimeout(Timeout.ofSeconds(connectionRequestTimeout));
         }
 
-        Integer connectTimeout = (Integer) options.get("connect_timeout");
+        Integer connectTimeout = ObjectUtils.asInteger(options.get("connect_timeout"), null);
         if (connectTimeout != null) {
             builder.setConnectTimeout(Timeout.ofSeconds(connectTimeout));
         }
 
-        request.setConfig(builder.build());
+        return builder.build();
+    }
+
+    /**
+     * Converts a raw Admin API response to an {@link ApiResponse}, throwing the exception matching the
+     * status code for error responses.
+     *
+     * @param response     the HTTP response, kept for access to the rate limit headers
+     * @param responseData the response body
+     * @return the parsed response
+     * @throws Exception the {@link Api#CLOUDINARY_API_ERROR_CLASSES} exception matching an error status code
+     */
+    public static ApiResponse toApiResponse(HttpResponse response, String responseData) throws Exception {
+        return toApiResponse(response, responseData, false);
     }
 
+    /**
+     * Converts a raw Admin API response to an {@link ApiResponse}, throwing the exception matching the
+     * status code for error responses.
+     *
+     * @param response     the HTTP response, kept for access to the rate limit headers
+     * @param responseData the response body
+     * @param lazy         whether a successful response is a {@link LazyResponse} parsed on access
+     * @return the parsed response
+     * @throws Exception the {@link Api#CLOUDINARY_API_ERROR_CLASSES} exception matching an error status code
+     */
+    @SuppressWarnings("unchecked")
+    public static ApiResponse toApiResponse(HttpResponse response, String responseData, boolean lazy) throws Exception {
+        int code = response.getCode();
+        if (code != 200) {
+            Map<String, Object> result;
+            try {
+                result = JsonReader.parseObject(responseData);
+            } catch (JSONException e) {
+                throw new RuntimeException("Invalid JSON response from server " + e.getMessage());
+            }
+
+            // Extract the error message from the result map
+            String message = (String) ((Map<String, Object>) result.get("error")).get("message");
+
+            // Get the appropriate exception class based on status code
+            Class<? extends Exception> exceptionClass = Api.CLOUDINARY_API_ERROR_CLASSES.get(code);
+            if (exceptionClass != null) {
+                Constructor<? extends Exception> exceptionConstructor = exceptionClass.getConstructor(String.class);
+                throw exceptionConstructor.newInstance(message);
+            } else {
+                throw new GeneralError("Server returned unexpected status code - " + code + " - " + responseData);
+            }
+        }
+
+        try {
+            if (lazy) {
+                return new LazyResponse(response, LazyJsonMap.parse(responseData));
+            }
+            return new Response(response, JsonReader.parseObject(responseData));
+        } catch (JSONException e) {
+            throw new RuntimeException("Invalid JSON response from server " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * @return when the rate limit announced in the response headers resets, or null if the response has none
+     */
+    public static Date rateLimitReset(HttpResponse response) {
+        try {
+            RateLimit rateLimit = new Response(response, Collections.<String, Object>emptyMap()).apiRateLimit();
+            return rateLimit != null ? rateLimit.getReset() : null;
+        } catch (ParseException | RuntimeException e) {
+            return null;
+        }
+    }
 
     public static List<NameValuePair> prepareParams(Map<String, ?> params) {
         List<NameValuePair> requestParams = new ArrayList<>();
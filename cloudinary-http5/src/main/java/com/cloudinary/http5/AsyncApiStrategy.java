@@ -0,0 +1,198 @@
+package com.cloudinary.http5;
+
+import com.cloudinary.Api.HttpMethod;
+import com.cloudinary.api.ApiResponse;
+import com.cloudinary.api.exceptions.GeneralError;
+import com.cloudinary.strategies.AbstractAsyncApiStrategy;
+import com.cloudinary.strategies.CircuitBreakerOpenException;
+import com.cloudinary.strategies.CircuitBreakerRegistry;
+import com.cloudinary.strategies.RetryPolicy;
+import com.cloudinary.strategies.RetryingAsyncCall;
+import com.cloudinary.utils.ObjectUtils;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.NameValuePair;
+import org.apache.hc.core5.net.URIBuilder;
+import org.apache.hc.core5.net.WWWFormCodec;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import static com.cloudinary.http5.ApiUtils.prepareParams;
+import static com.cloudinary.http5.ApiUtils.toApiResponse;
+
+/**
+ * Admin API strategy backed by the non-blocking {@link CloseableHttpAsyncClient}. A small number of I/O reactor
+ * threads multiplex all in-flight requests, no thread is held while waiting for the server.
+ */
+public class AsyncApiStrategy extends AbstractAsyncApiStrategy {
+
+    private static final String APACHE_HTTP_CLIENT_VERSION = System.getProperty("apache.http.client.version", "5.3.1");
+
+    private volatile CloseableHttpAsyncClient client;
+    // set by close(), a closed strategy throws instead of creating new clients
+    private boolean closed;
+
+    /**
+     * Returns the started async client shared by all {@link com.cloudinary.AsyncApi} instances of the owning
+     * Cloudinary instance, creating it on first use.
+     */
+    protected CloseableHttpAsyncClient getClient() {
+        CloseableHttpAsyncClient result = client;
+        if (result == null) {
+            synchronized (this) {
+                result = client;
+                if (result == null) {
+                    if (closed) {
+                        throw new IllegalStateException("The Cloudinary instance has been closed");
+                    }
+                    client = result = ApiUtils.buildAsyncClient(api.cloudinary.config);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+    }
+
+    public RequestConfig buildRequestConfig() {
+        return ApiUtils.buildRequestConfig(api.cloudinary.config);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public CompletableFuture<ApiResponse> callApi(HttpMethod method, String apiUrl, Map<String, ? extends Object> params, Map options, String authorizationHeader) {
+        final CompletableFuture<ApiResponse> result = new CompletableFuture<ApiResponse>();
+        final SimpleHttpRequest request;
+        try {
+            request = prepareRequest(method, apiUrl, params, options);
+        } catch (URISyntaxException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        request.setHeader("Authorization", authorizationHeader);
+
+        // failed attempts are retried like the calls of the blocking strategy, without holding a thread while waiting,
+        // and the circuit breaker of the endpoint may reject them
+        final CompletableFuture<SimpleHttpResponse> call = RetryingAsyncCall.execute(api.cloudinary,
+                RetryPolicy.forConfiguration(api.cloudinary.config), RetryPolicy.isIdempotent(method),
+                CircuitBreakerRegistry.forEndpoint(api.cloudinary.config, apiUrl, CircuitBreakerRegistry.apiAction(apiUrl)), new RetryingAsyncCall.Exchange<SimpleHttpResponse>() {
+                    @Override
+                    public CompletableFuture<SimpleHttpResponse> send() {
+                        return AsyncApiStrategy.this.send(request);
+                    }
+
+                    @Override
+                    public int statusCode(SimpleHttpResponse response) {
+                        return response.getCode();
+                    }
+
+                    @Override
+                    public Date rateLimitReset(SimpleHttpResponse response) {
+                        return ApiUtils.rateLimitReset(response);
+                    }
+                });
+
+        call.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) {
+                result.cancel(false);
+                return;
+            }
+            if (error instanceof CircuitBreakerOpenException || error instanceof RuntimeException) {
+                // not a transport error, such as an open circuit breaker or a closed Cloudinary instance
+                result.completeExceptionally(error);
+                return;
+            }
+            if (error != null) {
+                result.completeExceptionally(new GeneralError("Error executing request: " + error.getMessage()));
+                return;
+            }
+            byte[] body = response.getBodyBytes();
+            String responseData = body != null ? new String(body, StandardCharsets.UTF_8) : null;
+            try {
+                result.complete(toApiResponse(response, responseData, api.cloudinary.config.lazyApiResponses));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        // cancelling the returned future aborts the underlying exchange
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Sends one attempt of the request.
+     */
+    private CompletableFuture<SimpleHttpResponse> send(SimpleHttpRequest request) {
+        final CompletableFuture<SimpleHttpResponse> attempt = new CompletableFuture<SimpleHttpResponse>();
+        final Future<SimpleHttpResponse> call = getClient().execute(request, new FutureCallback<SimpleHttpResponse>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                attempt.complete(response);
+            }
+
+            @Override
+            public void failed(Exception e) {
+                attempt.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                attempt.cancel(false);
+            }
+        });
+        attempt.whenComplete((response, error) -> {
+            if (attempt.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        return attempt;
+    }
+
+    private SimpleHttpRequest prepareRequest(HttpMethod method, String apiUrl, Map<String, ? extends Object> params, Map<String, ?> options) throws URISyntaxException {
+        String contentType = ObjectUtils.asString(options.get("content_type"), "urlencoded");
+        SimpleHttpRequest request;
+
+        if (method == HttpMethod.GET) {
+            URIBuilder uriBuilder = new URIBuilder(apiUrl);
+            for (NameValuePair param : prepareParams(params)) {
+                uriBuilder.addParameter(param.getName(), param.getValue());
+            }
+            request = new SimpleHttpRequest(method.name(), uriBuilder.build());
+        } else {
+            request = new SimpleHttpRequest(method.name(), new URIBuilder(apiUrl).build());
+            if ("json".equals(contentType)) {
+                request.setBody(ObjectUtils.toJSON(params).toString(), ContentType.APPLICATION_JSON);
+            } else {
+                request.setBody(WWWFormCodec.format(prepareParams(params), StandardCharsets.UTF_8),
+                        ContentType.APPLICATION_FORM_URLENCODED.withCharset(StandardCharsets.UTF_8));
+            }
+        }
+
+        request.setHeader("User-Agent", api.cloudinary.getUserAgent() + " ApacheHttpClient/" + APACHE_HTTP_CLIENT_VERSION);
+        request.setConfig(ApiUtils.withTimeouts(buildRequestConfig(), options));
+        return request;
+    }
+}
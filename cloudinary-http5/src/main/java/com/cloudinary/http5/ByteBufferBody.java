@@ -0,0 +1,45 @@
+package com.cloudinary.http5;
+
+import org.apache.hc.client5.http.entity.mime.AbstractContentBody;
+import org.apache.hc.core5.http.ContentType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+/**
+ * Multipart body writing the remaining bytes of a {@link ByteBuffer} without copying them into an intermediate array.
+ * The buffer's position is left untouched, so the body can be written more than once.
+ */
+class ByteBufferBody extends AbstractContentBody {
+
+    private final ByteBuffer data;
+    private final String filename;
+
+    ByteBufferBody(ByteBuffer data, ContentType contentType, String filename) {
+        super(contentType);
+        this.data = data;
+        this.filename = filename;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        if (data.hasArray()) {
+            out.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+        } else {
+            ByteBuffer source = data.duplicate();
+            Channels.newChannel(out).write(source);
+        }
+    }
+
+    @Override
+    public long getContentLength() {
+        return data.remaining();
+    }
+}
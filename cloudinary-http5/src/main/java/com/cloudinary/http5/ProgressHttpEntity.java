@@ -0,0 +1,82 @@
+package com.cloudinary.http5;
+
+import com.cloudinary.ProgressCallback;
+import com.cloudinary.ThroughputProgressCallback;
+import com.cloudinary.utils.ThroughputMeter;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Reports the bytes of the wrapped entity written to the connection to a {@link ProgressCallback}, and the measured
+ * throughput to a {@link ThroughputProgressCallback}. Large writes are split so progress is reported at least every
+ * {@value #REPORT_INTERVAL} bytes.
+ */
+class ProgressHttpEntity extends HttpEntityWrapper {
+
+    static final int REPORT_INTERVAL = 64 * 1024;
+
+    private final ProgressCallback progressCallback;
+
+    ProgressHttpEntity(HttpEntity wrappedEntity, ProgressCallback progressCallback) {
+        super(wrappedEntity);
+        this.progressCallback = progressCallback;
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        CountingOutputStream out = new CountingOutputStream(outStream, getContentLength());
+        super.writeTo(out);
+        out.flush();
+        out.report(true);
+    }
+
+    private final class CountingOutputStream extends FilterOutputStream {
+        private final long totalBytes;
+        private final ThroughputMeter meter = new ThroughputMeter();
+        private long bytesWritten;
+        private long bytesReported;
+
+        CountingOutputStream(OutputStream out, long totalBytes) {
+            super(out);
+            this.totalBytes = totalBytes;
+            meter.update(0);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytesWritten++;
+            report(false);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int slice = Math.min(len, REPORT_INTERVAL);
+                out.write(b, off, slice);
+                bytesWritten += slice;
+                off += slice;
+                len -= slice;
+                report(false);
+            }
+        }
+
+        void report(boolean done) {
+            if (!done && bytesWritten - bytesReported < REPORT_INTERVAL) {
+                return;
+            }
+            bytesReported = bytesWritten;
+            progressCallback.onProgress(bytesWritten, totalBytes);
+            if (progressCallback instanceof ThroughputProgressCallback) {
+                double bytesPerSecond = meter.update(bytesWritten);
+                if (bytesPerSecond >= 0) {
+                    ((ThroughputProgressCallback) progressCallback).onThroughput(bytesWritten, totalBytes, bytesPerSecond);
+                }
+            }
+        }
+    }
+}
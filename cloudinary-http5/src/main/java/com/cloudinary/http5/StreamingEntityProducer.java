@@ -0,0 +1,86 @@
+package com.cloudinary.http5;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.apache.hc.core5.http.nio.support.classic.AbstractClassicEntityProducer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Sends a blocking {@link HttpEntity}, such as a multipart upload, through the async client without encoding it up
+ * front. The entity is written on a thread of the executor into a buffer of {@value #BUFFER_SIZE} bytes, which the
+ * I/O reactor drains as the connection accepts data, so the body is never held in memory as a whole. The content
+ * length of the entity is kept, so a body of known length is not sent chunked.
+ */
+class StreamingEntityProducer implements AsyncEntityProducer {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final HttpEntity entity;
+    private final AbstractClassicEntityProducer producer;
+
+    StreamingEntityProducer(final HttpEntity entity, Executor executor) {
+        this.entity = entity;
+        this.producer = new AbstractClassicEntityProducer(BUFFER_SIZE, ContentType.parse(entity.getContentType()), executor) {
+            @Override
+            protected void produceData(ContentType contentType, OutputStream outputStream) throws IOException {
+                entity.writeTo(outputStream);
+            }
+        };
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return false;
+    }
+
+    @Override
+    public void failed(Exception cause) {
+        producer.failed(cause);
+    }
+
+    @Override
+    public int available() {
+        return producer.available();
+    }
+
+    @Override
+    public void produce(DataStreamChannel channel) throws IOException {
+        producer.produce(channel);
+    }
+
+    @Override
+    public void releaseResources() {
+        producer.releaseResources();
+    }
+
+    @Override
+    public long getContentLength() {
+        return entity.getContentLength();
+    }
+
+    @Override
+    public String getContentType() {
+        return entity.getContentType();
+    }
+
+    @Override
+    public String getContentEncoding() {
+        return entity.getContentEncoding();
+    }
+
+    @Override
+    public boolean isChunked() {
+        return entity.getContentLength() < 0;
+    }
+
+    @Override
+    public Set<String> getTrailerNames() {
+        return null;
+    }
+}
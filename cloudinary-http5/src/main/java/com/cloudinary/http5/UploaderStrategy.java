@@ -3,83 +3,225 @@ package com.cloudinary.http5;
 import com.cloudinary.ProgressCallback;
 import com.cloudinary.Uploader;
 import com.cloudinary.Util;
+import com.cloudinary.api.ResponseDecoder;
 import com.cloudinary.strategies.AbstractUploaderStrategy;
+import com.cloudinary.strategies.CircuitBreaker;
+import com.cloudinary.strategies.CircuitBreakerRegistry;
+import com.cloudinary.strategies.RetryPolicy;
+import com.cloudinary.strategies.RetryingAsyncCall;
 import com.cloudinary.utils.ObjectUtils;
 import com.cloudinary.utils.StringUtils;
+import org.apache.hc.client5.http.async.methods.ConfigurableHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.entity.mime.ByteArrayBody;
 import org.apache.hc.client5.http.entity.mime.FileBody;
 import org.apache.hc.client5.http.entity.mime.HttpMultipartMode;
+import org.apache.hc.client5.http.entity.mime.InputStreamBody;
 import org.apache.hc.client5.http.entity.mime.MultipartEntityBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
-import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.hc.core5.http.ContentType;
-import org.apache.hc.core5.http.HttpHost;
-import org.apache.hc.core5.http.ParseException;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.Method;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
-import org.apache.hc.core5.util.Timeout;
+import org.apache.hc.core5.http.nio.AsyncRequestProducer;
+import org.apache.hc.core5.http.nio.support.BasicRequestProducer;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static com.cloudinary.http5.ApiUtils.rateLimitReset;
 
 public class UploaderStrategy extends AbstractUploaderStrategy {
 
     private static final String APACHE_HTTP_CLIENT_VERSION = System.getProperty("apache.http.client.version", "5.3.1");
 
-    private CloseableHttpClient client;
-
-    @Override
-    public void init(Uploader uploader) {
-        super.init(uploader);
+    private volatile CloseableHttpClient client;
+    private volatile CloseableHttpAsyncClient asyncClient;
+    private volatile ExecutorService bodyWriter;
+    private Semaphore uploadPermits;
+    private int uploadPermitsSize;
+    // set by close(), a closed strategy throws instead of creating new clients
+    private boolean closed;
+
+    /**
+     * Returns the HTTP client shared by all {@link Uploader} instances of the owning Cloudinary instance,
+     * creating it on first use.
+     */
+    protected CloseableHttpClient getClient() {
+        CloseableHttpClient result = client;
+        if (result == null) {
+            synchronized (this) {
+                result = client;
+                if (result == null) {
+                    if (closed) {
+                        throw new IllegalStateException("The Cloudinary instance has been closed");
+                    }
+                    client = result = createClient();
+                }
+            }
+        }
+        return result;
+    }
 
-        HttpClientBuilder clientBuilder = HttpClients.custom();
-        clientBuilder.useSystemProperties().setUserAgent(cloudinary().getUserAgent() + " ApacheHttpClient/" + APACHE_HTTP_CLIENT_VERSION);
+    private CloseableHttpClient createClient() {
+        return ApiUtils.buildClient(cloudinary().config);
+    }
 
-        HttpClientConnectionManager connectionManager = (HttpClientConnectionManager) cloudinary().config.properties.get("connectionManager");
-        if (connectionManager != null) {
-            clientBuilder.setConnectionManager(connectionManager);
+    /**
+     * Returns the started async client used by the non-blocking upload methods, creating it on first use. Its pool
+     * holds a connection for each of the {@link com.cloudinary.Configuration#maxConcurrentUploads} uploads admitted
+     * at once, as set when the client is created.
+     */
+    protected CloseableHttpAsyncClient getAsyncClient() {
+        CloseableHttpAsyncClient result = asyncClient;
+        if (result == null) {
+            synchronized (this) {
+                result = asyncClient;
+                if (result == null) {
+                    if (closed) {
+                        throw new IllegalStateException("The Cloudinary instance has been closed");
+                    }
+                    asyncClient = result = ApiUtils.buildAsyncClient(cloudinary().config, cloudinary().config.maxConcurrentUploads);
+                }
+            }
         }
+        return result;
+    }
 
-        RequestConfig requestConfig = buildRequestConfig();
-
-        client = clientBuilder
-                .setDefaultRequestConfig(requestConfig)
-                .build();
+    /**
+     * Returns the executor writing the bodies of async uploads as they are sent, creating it on first use. A body
+     * holds its thread only while it is being written.
+     */
+    private ExecutorService getBodyWriter() {
+        ExecutorService result = bodyWriter;
+        if (result == null) {
+            synchronized (this) {
+                result = bodyWriter;
+                if (result == null) {
+                    if (closed) {
+                        throw new IllegalStateException("The Cloudinary instance has been closed");
+                    }
+                    bodyWriter = result = Executors.newCachedThreadPool(runnable -> {
+                        Thread thread = new Thread(runnable, "cloudinary-upload-body-writer");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return result;
     }
 
-    public RequestConfig buildRequestConfig() {
-        RequestConfig.Builder requestConfigBuilder = RequestConfig.custom();
+    /**
+     * Returns the permits bounding the number of in-flight async uploads, or null when
+     * {@link com.cloudinary.Configuration#maxConcurrentUploads} is not set. The permits are replaced when the
+     * setting changes, uploads in flight release the permits they acquired.
+     */
+    private synchronized Semaphore getUploadPermits() {
+        int maxConcurrentUploads = cloudinary().config.maxConcurrentUploads;
+        if (maxConcurrentUploads <= 0) {
+            return null;
+        }
+        if (uploadPermits == null || uploadPermitsSize != maxConcurrentUploads) {
+            uploadPermits = new Semaphore(maxConcurrentUploads);
+            uploadPermitsSize = maxConcurrentUploads;
+        }
+        return uploadPermits;
+    }
 
-        if (cloudinary().config.proxyHost != null && cloudinary().config.proxyPort != 0) {
-            HttpHost proxy = new HttpHost(cloudinary().config.proxyHost, cloudinary().config.proxyPort);
-            requestConfigBuilder.setProxy(proxy);
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        try {
+            if (client != null) {
+                client.close();
+                client = null;
+            }
+        } finally {
+            try {
+                if (asyncClient != null) {
+                    asyncClient.close();
+                    asyncClient = null;
+                }
+            } finally {
+                if (bodyWriter != null) {
+                    bodyWriter.shutdownNow();
+                    bodyWriter = null;
+                }
+            }
         }
+    }
 
-        int timeout = cloudinary().config.timeout;
-        if (timeout > 0) {
-            requestConfigBuilder.setResponseTimeout(Timeout.ofSeconds(timeout))
-                    .setConnectionRequestTimeout(Timeout.ofSeconds(timeout))
-                    .setConnectTimeout(Timeout.ofSeconds(timeout));
+    @Override
+    public boolean warmUpConnection() {
+        HttpGet request = new HttpGet(buildUploadUrl("upload", ObjectUtils.emptyMap()));
+        request.setHeader("User-Agent", cloudinary().getUserAgent() + " ApacheHttpClient/" + APACHE_HTTP_CLIENT_VERSION);
+        request.setConfig(buildRequestConfig());
+        // any response proves the host is reachable, reading it fully returns the connection to the pool
+        try (CloseableHttpResponse response = getClient().execute(request)) {
+            EntityUtils.consume(response.getEntity());
+            return true;
+        } catch (IOException e) {
+            return false;
         }
+    }
 
-        return requestConfigBuilder.build();
+    @Override
+    public boolean supportsByteBuffers() {
+        return true;
     }
 
-    @SuppressWarnings({"rawtypes", "unchecked"})
+    public RequestConfig buildRequestConfig() {
+        return ApiUtils.buildRequestConfig(cloudinary().config);
+    }
+
+    @SuppressWarnings("rawtypes")
     @Override
     public Map callApi(String action, Map<String, Object> params, Map options, Object file, ProgressCallback progressCallback) throws IOException {
-        if (progressCallback != null) {
-            throw new IllegalArgumentException("Progress callback is not supported");
-        }
+        return (Map) execute(action, params, options, file, progressCallback, null);
+    }
 
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public <T> T callApi(String action, Map<String, Object> params, Map options, Object file, ProgressCallback progressCallback,
+                         ResponseDecoder<T> decoder) throws IOException {
+        return (T) execute(action, params, options, file, progressCallback, decoder);
+    }
+
+    /**
+     * @param decoder binds a successful response as it is read, or null to parse it into a map
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Object execute(String action, Map<String, Object> params, Map options, Object file, ProgressCallback progressCallback,
+                           ResponseDecoder<?> decoder) throws IOException {
         // Initialize options if passed as null
         if (options == null) {
             options = ObjectUtils.emptyMap();
@@ -97,25 +239,203 @@ public class UploaderStrategy extends AbstractUploaderStrategy {
 
         // Prepare the request
         HttpUriRequestBase request = prepareRequest(apiUrl, params, options, file);
+        if (progressCallback != null) {
+            request.setEntity(new ProgressHttpEntity(request.getEntity(), progressCallback));
+        }
+
+        // Execute the request and handle the response, chunks of a large upload may safely be sent again
+        RetryPolicy retryPolicy = RetryPolicy.forConfiguration(cloudinary().config);
+        boolean idempotent = request.containsHeader("X-Unique-Upload-Id");
+        boolean repeatable = request.getEntity().isRepeatable();
+        CircuitBreaker circuitBreaker = CircuitBreakerRegistry.forEndpoint(cloudinary().config, apiUrl, action);
+
+        for (int attempt = 1; ; attempt++) {
+            CircuitBreaker.Permission permission = circuitBreaker.acquirePermission();
+            try {
+                long start = System.currentTimeMillis();
+                boolean recorded = false;
+                long retryDelay = -1;
+                try (CloseableHttpResponse response = getClient().execute(request)) {
+                    int code = response.getCode();
+                    circuitBreaker.onResult(permission, System.currentTimeMillis() - start, code);
+                    recorded = true;
+
+                    if (repeatable && retryPolicy.shouldRetry(idempotent, attempt, code)) {
+                        retryDelay = retryPolicy.delayMillis(attempt, rateLimitReset(response));
+                    }
+                    if (retryDelay < 0) {
+                        // Process and return the response, parsed straight from the connection
+                        try (InputStream responseStream = response.getEntity().getContent()) {
+                            return decoder != null ? decodeResponse(code, responseStream, decoder) : processResponse(returnError, code, responseStream);
+                        }
+                    }
+                    EntityUtils.consume(response.getEntity());
+                } catch (IOException e) {
+                    if (!recorded) {
+                        circuitBreaker.onResult(permission, System.currentTimeMillis() - start, true);
+                    }
+                    if (repeatable && retryPolicy.shouldRetry(idempotent, attempt, e) && retryPolicy.sleep(retryPolicy.delayMillis(attempt, null))) {
+                        continue;
+                    }
+                    throw e;
+                }
+
+                if (!retryPolicy.sleep(retryDelay)) {
+                    throw new InterruptedIOException("Interrupted while waiting to retry the request");
+                }
+            } finally {
+                // a call ended by an unexpected exception has no outcome, its probe is given back
+                circuitBreaker.release(permission);
+            }
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public CompletableFuture<Map> callApiAsync(String action, Map<String, Object> params, Map options, Object file) {
+        final CompletableFuture<Map> result = new CompletableFuture<Map>();
 
-        // Execute the request and handle the response
-        String responseData;
-        int code;
+        if (options == null) {
+            options = ObjectUtils.emptyMap();
+        }
 
-        try (CloseableHttpResponse response = client.execute(request)) {
-            code = response.getCode();
-            responseData = EntityUtils.toString(response.getEntity());
-        } catch (ParseException e) {
-            throw new RuntimeException(e);
+        final boolean returnError = ObjectUtils.asBoolean(options.get("return_error"), false);
+
+        // block the caller while too many uploads are in flight. The request is signed and its body opened only
+        // once a permit is acquired, so at most that many bodies are being sent and signatures do not go stale
+        // while waiting.
+        final Semaphore permits = getUploadPermits();
+        if (permits != null) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.completeExceptionally(e);
+                return result;
+            }
+            result.whenComplete((response, error) -> permits.release());
         }
 
-        // Process and return the response
-        return processResponse(returnError, code, responseData);
+        final String apiUrl;
+        final HttpEntity entity;
+        try {
+            if (requiresSigning(action, options)) {
+                uploader.signRequestParams(params, options);
+            } else {
+                Util.clearEmpty(params);
+            }
+            apiUrl = buildUploadUrl(action, options);
+            entity = buildMultipartEntity(params, options, file);
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        // chunks of a large upload may safely be sent again, a body read from a stream can only be sent once. The
+        // circuit breaker of the endpoint may reject each attempt, like those of a blocking upload.
+        final Map<String, ?> requestOptions = options;
+        RetryPolicy retryPolicy = entity.isRepeatable() ? RetryPolicy.forConfiguration(cloudinary().config) : RetryPolicy.NONE;
+        Map<String, String> extraHeaders = (Map<String, String>) options.get("extra_headers");
+        boolean idempotent = extraHeaders != null && extraHeaders.containsKey("X-Unique-Upload-Id");
+        CircuitBreaker circuitBreaker = CircuitBreakerRegistry.forEndpoint(cloudinary().config, apiUrl, action);
+        final CompletableFuture<SimpleHttpResponse> call = RetryingAsyncCall.execute(cloudinary(), retryPolicy, idempotent, circuitBreaker,
+                new RetryingAsyncCall.Exchange<SimpleHttpResponse>() {
+                    @Override
+                    public CompletableFuture<SimpleHttpResponse> send() {
+                        return UploaderStrategy.this.send(prepareAsyncRequest(apiUrl, entity, requestOptions));
+                    }
+
+                    @Override
+                    public int statusCode(SimpleHttpResponse response) {
+                        return response.getCode();
+                    }
+
+                    @Override
+                    public Date rateLimitReset(SimpleHttpResponse response) {
+                        return ApiUtils.rateLimitReset(response);
+                    }
+                });
+
+        call.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) {
+                result.cancel(false);
+                return;
+            }
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            byte[] body = response.getBodyBytes();
+            String responseData = body != null ? new String(body, StandardCharsets.UTF_8) : null;
+            try {
+                result.complete(processResponse(returnError, response.getCode(), responseData));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        // cancelling the returned future aborts the underlying exchange
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Sends one attempt of an async upload.
+     */
+    private CompletableFuture<SimpleHttpResponse> send(AsyncRequestProducer request) {
+        final CompletableFuture<SimpleHttpResponse> attempt = new CompletableFuture<SimpleHttpResponse>();
+        final Future<SimpleHttpResponse> call = getAsyncClient().execute(request, SimpleResponseConsumer.create(), new FutureCallback<SimpleHttpResponse>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                attempt.complete(response);
+            }
+
+            @Override
+            public void failed(Exception e) {
+                attempt.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                attempt.cancel(false);
+            }
+        });
+        attempt.whenComplete((response, error) -> {
+            if (attempt.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        return attempt;
+    }
+
+    /**
+     * @param entity the multipart body, streamed like the body of a blocking upload so files are read as they are
+     *               sent. A repeatable body is sent again by each attempt.
+     */
+    private AsyncRequestProducer prepareAsyncRequest(String apiUrl, HttpEntity entity, Map<String, ?> options) {
+        ConfigurableHttpRequest request = new ConfigurableHttpRequest(Method.POST.name(), URI.create(apiUrl));
+        request.setHeader("User-Agent", cloudinary().getUserAgent() + " ApacheHttpClient/" + APACHE_HTTP_CLIENT_VERSION);
+        request.setConfig(buildRequestConfig());
+        addExtraHeaders(request, options);
+        return new BasicRequestProducer(request, new StreamingEntityProducer(entity, getBodyWriter()));
     }
 
     private HttpUriRequestBase prepareRequest(String apiUrl, Map<String, Object> params, Map<String, ?> options, Object file) throws IOException {
         HttpPost request = new HttpPost(apiUrl);
+        request.setHeader("User-Agent", cloudinary().getUserAgent() + " ApacheHttpClient/" + APACHE_HTTP_CLIENT_VERSION);
+        request.setConfig(buildRequestConfig());
+
+        request.setEntity(buildMultipartEntity(params, options, file));
+        addExtraHeaders(request, options);
+
+        return request;
+    }
 
+    private HttpEntity buildMultipartEntity(Map<String, Object> params, Map<String, ?> options, Object file) throws IOException {
         MultipartEntityBuilder multipartBuilder = MultipartEntityBuilder.create()
                 .setCharset(StandardCharsets.UTF_8).setMode(HttpMultipartMode.LEGACY);
 
@@ -136,17 +456,17 @@ public class UploaderStrategy extends AbstractUploaderStrategy {
         // Add file part
         addFilePart(multipartBuilder, file, options);
 
-        request.setEntity(multipartBuilder.build());
+        return multipartBuilder.build();
+    }
 
-        // Add extra headers if provided
+    @SuppressWarnings("unchecked")
+    private void addExtraHeaders(HttpRequest request, Map<String, ?> options) {
         Map<String, String> extraHeaders = (Map<String, String>) options.get("extra_headers");
         if (extraHeaders != null) {
             for (Map.Entry<String, String> header : extraHeaders.entrySet()) {
                 request.addHeader(header.getKey(), header.getValue());
             }
         }
-
-        return request;
     }
 
 
@@ -161,6 +481,10 @@ public class UploaderStrategy extends AbstractUploaderStrategy {
             file = _file;
         }
 
+        if (file instanceof Path && ((Path) file).getFileSystem() == FileSystems.getDefault()) {
+            file = ((Path) file).toFile();
+        }
+
         if (file instanceof File) {
             if (filename == null) {
                 filename = ((File) file).getName();
@@ -179,6 +503,25 @@ public class UploaderStrategy extends AbstractUploaderStrategy {
             }
             ByteArrayBody byteArrayBody = new ByteArrayBody((byte[]) file, ContentType.APPLICATION_OCTET_STREAM, filename);
             multipartBuilder.addPart("file", byteArrayBody);
+        } else if (file instanceof ByteBuffer) {
+            if (filename == null) {
+                filename = "file";
+            }
+            multipartBuilder.addPart("file", new ByteBufferBody((ByteBuffer) file, ContentType.APPLICATION_OCTET_STREAM, filename));
+        } else if (file instanceof InputStream || file instanceof ReadableByteChannel || file instanceof Path) {
+            if (filename == null) {
+                filename = file instanceof Path && ((Path) file).getFileName() != null ? ((Path) file).getFileName().toString() : "file";
+            }
+            // streamed into the request as it is written, the body closes the stream once sent
+            InputStream in;
+            if (file instanceof InputStream) {
+                in = (InputStream) file;
+            } else if (file instanceof ReadableByteChannel) {
+                in = Channels.newInputStream((ReadableByteChannel) file);
+            } else {
+                in = Files.newInputStream((Path) file);
+            }
+            multipartBuilder.addPart("file", new InputStreamBody(in, ContentType.APPLICATION_OCTET_STREAM, filename));
         } else if (file == null) {
             // No file to add
         } else {
@@ -4,12 +4,13 @@ import com.cloudinary.api.ApiResponse;
 import com.cloudinary.api.RateLimit;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpResponse;
-import java.text.ParseException;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.text.ParseException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -30,26 +31,30 @@ public class Response extends HashMap implements ApiResponse {
 
     private static final Pattern RATE_LIMIT_REGEX = Pattern
             .compile("X-FEATURE(\\w*)RATELIMIT(-LIMIT|-RESET|-REMAINING)", Pattern.CASE_INSENSITIVE);
-    private static final String RFC1123_PATTERN = "EEE, dd MMM yyyy HH:mm:ss z";
-    private static final DateFormat RFC1123 = new SimpleDateFormat(RFC1123_PATTERN, Locale.ENGLISH);
+    // DateTimeFormatter is immutable, unlike SimpleDateFormat it can be shared between threads
+    private static final DateTimeFormatter RFC1123 = DateTimeFormatter.RFC_1123_DATE_TIME;
 
     public Map<String, RateLimit> rateLimits() throws ParseException {
-        Header[] headers = this.response.getHeaders();
+        return rateLimits(this.response);
+    }
+
+    static Map<String, RateLimit> rateLimits(HttpResponse response) throws ParseException {
+        Header[] headers = response.getHeaders();
         Map<String, RateLimit> limits = new HashMap<>();
         for (Header header : headers) {
             Matcher m = RATE_LIMIT_REGEX.matcher(header.getName());
             if (m.matches()) {
                 String limitName = "Api";
-                RateLimit limit = limits.getOrDefault(limitName, new RateLimit());
                 if (!m.group(1).isEmpty()) {
                     limitName = m.group(1);
                 }
+                RateLimit limit = limits.getOrDefault(limitName, new RateLimit());
                 if (m.group(2).equalsIgnoreCase("-limit")) {
                     limit.setLimit(Long.parseLong(header.getValue()));
                 } else if (m.group(2).equalsIgnoreCase("-remaining")) {
                     limit.setRemaining(Long.parseLong(header.getValue()));
                 } else if (m.group(2).equalsIgnoreCase("-reset")) {
-                    limit.setReset(RFC1123.parse(header.getValue()));
+                    limit.setReset(parseReset(header.getValue()));
                 }
                 limits.put(limitName, limit);
             }
@@ -57,6 +62,14 @@ public class Response extends HashMap implements ApiResponse {
         return limits;
     }
 
+    private static Date parseReset(String value) throws ParseException {
+        try {
+            return Date.from(ZonedDateTime.parse(value, RFC1123).toInstant());
+        } catch (DateTimeParseException e) {
+            throw new ParseException(e.getMessage(), e.getErrorIndex());
+        }
+    }
+
     public RateLimit apiRateLimit() throws ParseException {
         return rateLimits().get("Api");
     }
@@ -0,0 +1,285 @@
+package com.cloudinary.jdkhttp;
+
+import com.cloudinary.Api;
+import com.cloudinary.api.ApiResponse;
+import com.cloudinary.api.ElementHandler;
+import com.cloudinary.api.RateLimiter;
+import com.cloudinary.api.ResponseDecoder;
+import com.cloudinary.api.exceptions.GeneralError;
+import com.cloudinary.jdkhttp.api.Response;
+import com.cloudinary.strategies.AbstractApiStrategy;
+import com.cloudinary.strategies.CircuitBreaker;
+import com.cloudinary.strategies.CircuitBreakerRegistry;
+import com.cloudinary.strategies.HedgingPolicy;
+import com.cloudinary.strategies.RetryPolicy;
+import com.cloudinary.utils.JsonReader;
+import com.cloudinary.utils.StringUtils;
+import org.cloudinary.json.JSONException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.cloudinary.jdkhttp.ApiUtils.buildApiRequest;
+import static com.cloudinary.jdkhttp.ApiUtils.rateLimitReset;
+import static com.cloudinary.jdkhttp.ApiUtils.toApiResponse;
+
+/**
+ * Admin API strategy backed by the {@link HttpClient} of the JDK, without any third party dependency. Register it
+ * with {@code Cloudinary.registerAPIStrategy("com.cloudinary.jdkhttp.ApiStrategy")} to prefer it over the Apache
+ * HTTP client when both are on the class path.
+ */
+public class ApiStrategy extends AbstractApiStrategy {
+
+    private volatile HttpClient client;
+    // set by close(), a closed strategy throws instead of creating new clients
+    private boolean closed;
+
+    /**
+     * Returns the HTTP client shared by all {@link Api} instances of the owning Cloudinary instance,
+     * creating it on first use.
+     */
+    protected HttpClient getClient() {
+        HttpClient result = client;
+        if (result == null) {
+            synchronized (this) {
+                result = client;
+                if (result == null) {
+                    if (closed) {
+                        throw new IllegalStateException("The Cloudinary instance has been closed");
+                    }
+                    client = result = ApiUtils.buildClient(api.cloudinary.config);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean warmUpConnection(String apiUrl) {
+        HttpRequest request = ApiUtils.prepareRequest(HttpRequest.newBuilder(URI.create(apiUrl)).method("HEAD", HttpRequest.BodyPublishers.noBody()),
+                api.cloudinary, Collections.<String, Object>emptyMap()).build();
+        // any response proves the host is reachable, discarding it fully leaves the connection open for reuse
+        try {
+            getClient().send(request, HttpResponse.BodyHandlers.discarding());
+            return true;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        // the client has no close method before Java 21, its connections and selector thread are released once it
+        // is no longer referenced
+        client = null;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public ApiResponse callApi(Api.HttpMethod method, String apiUrl, Map<String, ?> params, Map options, String authorizationHeader) throws Exception {
+        return getApiResponse(method, apiUrl, buildApiRequest(api.cloudinary, method, apiUrl, params, options, authorizationHeader), api.rateLimiter(options), null, null);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public ApiResponse callApi(Api.HttpMethod method, String apiUrl, Map<String, ?> params, Map options, String authorizationHeader,
+                               String elementsKey, ElementHandler<?> handler) throws Exception {
+        return getApiResponse(method, apiUrl, buildApiRequest(api.cloudinary, method, apiUrl, params, options, authorizationHeader), api.rateLimiter(options),
+                elementsKey, handler);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public <T> T callApi(Api.HttpMethod method, String apiUrl, Map<String, ?> params, Map options, String authorizationHeader,
+                         ResponseDecoder<T> decoder) throws Exception {
+        // a decoded response is not hedged, like a streamed one
+        HttpResponse<InputStream> response = send(method, apiUrl, buildApiRequest(api.cloudinary, method, apiUrl, params, options, authorizationHeader), null, false);
+        if (response.statusCode() != 200) {
+            // converting an error response throws the exception matching its status code
+            toApiResponse(response);
+        }
+        try (InputStream body = response.body()) {
+            return decoder.decode(new JsonReader(body));
+        } catch (JSONException e) {
+            throw new RuntimeException("Invalid JSON response from server " + e.getMessage());
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public ApiResponse callAccountApi(Api.HttpMethod method, String apiUrl, Map<String, ?> params, Map options, String authorizationHeader) throws Exception {
+        return getApiResponse(method, apiUrl, buildApiRequest(api.cloudinary, method, apiUrl, params, options, authorizationHeader), api.rateLimiter(options), null, null);
+    }
+
+    /**
+     * @param rateLimiter charged for hedged requests, or null if calls are not paced
+     * @param handler     receives the elements of the array under {@code elementsKey} of a successful response as they
+     *                    are parsed, or null to parse the whole response
+     */
+    private ApiResponse getApiResponse(Api.HttpMethod method, String apiUrl, HttpRequest request, RateLimiter rateLimiter,
+                                       String elementsKey, ElementHandler<?> handler) throws Exception {
+        // the elements of a hedged response would be handled twice
+        HttpResponse<InputStream> response = send(method, apiUrl, request, rateLimiter, handler == null);
+        if (handler != null && response.statusCode() == 200) {
+            return streamApiResponse(response, elementsKey, handler);
+        }
+        // the body is parsed as it arrives, unless it is kept for lazy parsing
+        return toApiResponse(response, api.cloudinary.config.lazyApiResponses);
+    }
+
+    /**
+     * Sends the request, retrying and hedging it as configured.
+     *
+     * @param rateLimiter charged for hedged requests, or null if calls are not paced
+     * @param hedge       whether a GET request may be hedged
+     * @return the final response, its body is left unread
+     */
+    private HttpResponse<InputStream> send(Api.HttpMethod method, String apiUrl, HttpRequest request, RateLimiter rateLimiter, boolean hedge) throws Exception {
+        RetryPolicy retryPolicy = RetryPolicy.forConfiguration(api.cloudinary.config);
+        String action = CircuitBreakerRegistry.apiAction(apiUrl);
+        CircuitBreaker circuitBreaker = CircuitBreakerRegistry.forEndpoint(api.cloudinary.config, apiUrl, action);
+        HedgingPolicy hedgingPolicy = method == Api.HttpMethod.GET && hedge ? HedgingPolicy.forConfiguration(api.cloudinary.config) : null;
+        boolean idempotent = RetryPolicy.isIdempotent(method);
+        for (int attempt = 1; ; attempt++) {
+            CircuitBreaker.Permission permission = circuitBreaker.acquirePermission();
+            try {
+                long start = System.currentTimeMillis();
+                HttpResponse<InputStream> response;
+                try {
+                    response = hedgingPolicy != null ? executeHedged(hedgingPolicy, action, request, rateLimiter) : execute(request);
+                } catch (IOException e) {
+                    circuitBreaker.onResult(permission, System.currentTimeMillis() - start, true);
+                    if (retryPolicy.shouldRetry(idempotent, attempt, e) && retryPolicy.sleep(retryPolicy.delayMillis(attempt, null))) {
+                        continue;
+                    }
+                    throw new GeneralError("Error executing request: " + e.getMessage());
+                } catch (Exception e) {
+                    circuitBreaker.onResult(permission, System.currentTimeMillis() - start, true);
+                    throw e;
+                }
+                circuitBreaker.onResult(permission, System.currentTimeMillis() - start, response.statusCode());
+
+                if (retryPolicy.shouldRetry(idempotent, attempt, response.statusCode())) {
+                    long delay = retryPolicy.delayMillis(attempt, rateLimitReset(response));
+                    if (delay >= 0) {
+                        // error bodies are small, read before waiting so the connection is not held
+                        String responseData;
+                        try (InputStream body = response.body()) {
+                            responseData = StringUtils.read(body);
+                        }
+                        if (retryPolicy.sleep(delay)) {
+                            continue;
+                        }
+                        // interrupted, converting the error response throws the exception matching its status code
+                        toApiResponse(response, responseData);
+                        throw new GeneralError("Server returned unexpected status code - " + response.statusCode() + " - " + responseData);
+                    }
+                }
+                return response;
+            } finally {
+                // a call ended by an unexpected exception has no outcome, its probe is given back
+                circuitBreaker.release(permission);
+            }
+        }
+    }
+
+    private static ApiResponse streamApiResponse(HttpResponse<InputStream> response, String elementsKey, ElementHandler<?> handler) throws Exception {
+        try (InputStream body = response.body()) {
+            return new Response(response, JsonReader.parseObject(body, elementsKey, handler));
+        } catch (JSONException e) {
+            throw new RuntimeException("Invalid JSON response from server " + e.getMessage());
+        }
+    }
+
+    private HttpResponse<InputStream> execute(HttpRequest request) throws IOException, InterruptedException {
+        return getClient().send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    /**
+     * Sends the GET request, and sends it again if no response arrived within the delay of the hedging policy. The
+     * first successful response is returned and the body of the other one is discarded as soon as it arrives. Over
+     * HTTP/2 the second request is a new stream on the same connection. The request is not sent again when that would
+     * have to wait for the rate limit.
+     */
+    private HttpResponse<InputStream> executeHedged(HedgingPolicy hedgingPolicy, String action, HttpRequest request, RateLimiter rateLimiter) throws Exception {
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<HttpResponse<InputStream>>> sent = new ArrayList<>(2);
+        HttpResponse<InputStream> response = null;
+        try {
+            sent.add(getClient().sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()));
+            try {
+                response = sent.get(0).get(hedgingPolicy.delayMillis(action), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (rateLimiter == null || rateLimiter.tryAcquire(RateLimiter.API_FEATURE)) {
+                    sent.add(getClient().sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()));
+                }
+                response = firstSuccessful(sent);
+            } catch (ExecutionException e) {
+                throw unwrap(e);
+            }
+            hedgingPolicy.recordLatency(action, System.currentTimeMillis() - start);
+            return response;
+        } finally {
+            // the exchanges are not cancelled, before Java 16 that would leave the losing body open
+            final HttpResponse<InputStream> winner = response;
+            for (CompletableFuture<HttpResponse<InputStream>> exchange : sent) {
+                exchange.thenAccept(other -> {
+                    if (other != winner) {
+                        discard(other);
+                    }
+                });
+            }
+        }
+    }
+
+    private static void discard(HttpResponse<InputStream> response) {
+        try {
+            response.body().close();
+        } catch (IOException ignore) {
+        }
+    }
+
+    private static HttpResponse<InputStream> firstSuccessful(final List<CompletableFuture<HttpResponse<InputStream>>> exchanges) throws Exception {
+        final CompletableFuture<HttpResponse<InputStream>> first = new CompletableFuture<>();
+        final AtomicInteger failed = new AtomicInteger();
+        for (CompletableFuture<HttpResponse<InputStream>> exchange : exchanges) {
+            exchange.whenComplete((response, error) -> {
+                if (error == null) {
+                    first.complete(response);
+                } else if (failed.incrementAndGet() == exchanges.size()) {
+                    first.completeExceptionally(error);
+                }
+            });
+        }
+        try {
+            return first.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static Exception unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return cause instanceof Exception ? (Exception) cause : e;
+    }
+}
@@ -0,0 +1,247 @@
+package com.cloudinary.jdkhttp;
+
+import com.cloudinary.Api;
+import com.cloudinary.Cloudinary;
+import com.cloudinary.Configuration;
+import com.cloudinary.api.ApiResponse;
+import com.cloudinary.api.RateLimit;
+import com.cloudinary.api.exceptions.GeneralError;
+import com.cloudinary.jdkhttp.api.LazyResponse;
+import com.cloudinary.jdkhttp.api.Response;
+import com.cloudinary.utils.JsonReader;
+import com.cloudinary.utils.LazyJsonMap;
+import com.cloudinary.utils.ObjectUtils;
+import com.cloudinary.utils.StringUtils;
+import org.cloudinary.json.JSONException;
+import org.cloudinary.json.JSONObject;
+
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.ProxySelector;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.*;
+
+public final class ApiUtils {
+    private static final String JAVA_HTTP_CLIENT_VERSION = String.valueOf(Runtime.version().feature());
+
+    private ApiUtils() {}
+
+    /**
+     * Builds the HTTP client of a strategy from the Cloudinary configuration. The client negotiates HTTP/2 with the
+     * server and multiplexes concurrent requests over a single connection, falling back to HTTP/1.1 with a pool of
+     * keep-alive connections.
+     * <p>
+     * The connect timeout and proxy apply to the whole client. The pool settings of the configuration have no
+     * equivalent in {@link HttpClient}, its pool is tuned with the {@code jdk.httpclient.*} system properties.
+     */
+    public static HttpClient buildClient(Configuration config) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2);
+
+        if (config.proxyHost != null && config.proxyPort != 0) {
+            builder.proxy(ProxySelector.of(new InetSocketAddress(config.proxyHost, config.proxyPort)));
+        } else {
+            builder.proxy(ProxySelector.getDefault());
+        }
+
+        if (config.connectTimeoutMillis > 0) {
+            builder.connectTimeout(Duration.ofMillis(config.connectTimeoutMillis));
+        } else if (config.timeout > 0) {
+            builder.connectTimeout(Duration.ofSeconds(config.timeout));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Sets the User-Agent header and the response timeout of a request: the {@code timeout} option in seconds,
+     * otherwise {@link Configuration#responseTimeoutMillis} or {@link Configuration#timeout}.
+     */
+    public static HttpRequest.Builder prepareRequest(HttpRequest.Builder builder, Cloudinary cloudinary, Map<String, ?> options) {
+        builder.header("User-Agent", cloudinary.getUserAgent() + " JavaHttpClient/" + JAVA_HTTP_CLIENT_VERSION);
+
+        Configuration config = cloudinary.config;
+        // options may come from parsed strings or JSON as well as from code
+        Integer timeout = ObjectUtils.asInteger(options.get("timeout"), null);
+        if (timeout != null) {
+            builder.timeout(Duration.ofSeconds(timeout));
+        } else if (config.responseTimeoutMillis > 0) {
+            builder.timeout(Duration.ofMillis(config.responseTimeoutMillis));
+        } else if (config.timeout > 0) {
+            builder.timeout(Duration.ofSeconds(config.timeout));
+        }
+        return builder;
+    }
+
+    /**
+     * Builds an Admin API request, the parameters of a GET request are sent in the query string and those of other
+     * requests in a form or JSON body depending on the {@code content_type} option.
+     */
+    public static HttpRequest buildApiRequest(Cloudinary cloudinary, Api.HttpMethod method, String apiUrl, Map<String, ?> params, Map<String, ?> options, String authorizationHeader) {
+        HttpRequest.Builder builder;
+
+        if (method == Api.HttpMethod.GET) {
+            String query = formEncode(params);
+            builder = HttpRequest.newBuilder(URI.create(query.isEmpty() ? apiUrl : apiUrl + (apiUrl.contains("?") ? "&" : "?") + query)).GET();
+        } else {
+            String contentType = ObjectUtils.asString(options.get("content_type"), "urlencoded");
+            builder = HttpRequest.newBuilder(URI.create(apiUrl));
+            if ("json".equals(contentType)) {
+                builder.method(method.name(), HttpRequest.BodyPublishers.ofString(ObjectUtils.toJSON(params).toString(), StandardCharsets.UTF_8));
+                builder.header("Content-Type", "application/json");
+            } else {
+                builder.method(method.name(), HttpRequest.BodyPublishers.ofString(formEncode(params), StandardCharsets.UTF_8));
+                builder.header("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8");
+            }
+        }
+
+        builder.header("Authorization", authorizationHeader);
+        return prepareRequest(builder, cloudinary, options).build();
+    }
+
+    /**
+     * Converts a raw Admin API response to an {@link ApiResponse}, parsing a successful response straight from the
+     * body stream. The stream is closed.
+     *
+     * @param response the HTTP response, kept for access to the rate limit headers
+     * @return the parsed response
+     * @throws Exception the {@link Api#CLOUDINARY_API_ERROR_CLASSES} exception matching an error status code
+     */
+    public static ApiResponse toApiResponse(HttpResponse<InputStream> response) throws Exception {
+        return toApiResponse(response, false);
+    }
+
+    /**
+     * Converts a raw Admin API response to an {@link ApiResponse}. The body stream is closed.
+     *
+     * @param response the HTTP response, kept for access to the rate limit headers
+     * @param lazy     whether a successful response is a {@link LazyResponse} parsed on access, otherwise it is
+     *                 parsed straight from the body stream
+     * @return the parsed response
+     * @throws Exception the {@link Api#CLOUDINARY_API_ERROR_CLASSES} exception matching an error status code
+     */
+    public static ApiResponse toApiResponse(HttpResponse<InputStream> response, boolean lazy) throws Exception {
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200 || lazy) {
+                return toApiResponse(response, StringUtils.read(body), lazy);
+            }
+            try {
+                return new Response(response, JsonReader.parseObject(body));
+            } catch (JSONException e) {
+                throw new RuntimeException("Invalid JSON response from server " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Converts a raw Admin API response to an {@link ApiResponse}, throwing the exception matching the
+     * status code for error responses.
+     *
+     * @param response     the HTTP response, kept for access to the rate limit headers
+     * @param responseData the response body
+     * @return the parsed response
+     * @throws Exception the {@link Api#CLOUDINARY_API_ERROR_CLASSES} exception matching an error status code
+     */
+    public static ApiResponse toApiResponse(HttpResponse<?> response, String responseData) throws Exception {
+        return toApiResponse(response, responseData, false);
+    }
+
+    /**
+     * Converts a raw Admin API response to an {@link ApiResponse}, throwing the exception matching the
+     * status code for error responses.
+     *
+     * @param response     the HTTP response, kept for access to the rate limit headers
+     * @param responseData the response body
+     * @param lazy         whether a successful response is a {@link LazyResponse} parsed on access
+     * @return the parsed response
+     * @throws Exception the {@link Api#CLOUDINARY_API_ERROR_CLASSES} exception matching an error status code
+     */
+    @SuppressWarnings("unchecked")
+    public static ApiResponse toApiResponse(HttpResponse<?> response, String responseData, boolean lazy) throws Exception {
+        int code = response.statusCode();
+        Map<String, Object> result;
+        try {
+            if (code == 200 && lazy) {
+                return new LazyResponse(response, LazyJsonMap.parse(responseData));
+            }
+            result = JsonReader.parseObject(responseData);
+        } catch (JSONException e) {
+            throw new RuntimeException("Invalid JSON response from server " + e.getMessage());
+        }
+
+        if (code != 200) {
+            String message = (String) ((Map<String, Object>) result.get("error")).get("message");
+            Class<? extends Exception> exceptionClass = Api.CLOUDINARY_API_ERROR_CLASSES.get(code);
+            if (exceptionClass != null) {
+                Constructor<? extends Exception> exceptionConstructor = exceptionClass.getConstructor(String.class);
+                throw exceptionConstructor.newInstance(message);
+            } else {
+                throw new GeneralError("Server returned unexpected status code - " + code + " - " + responseData);
+            }
+        }
+
+        return new Response(response, result);
+    }
+
+    /**
+     * @return when the rate limit announced in the response headers resets, or null if the response has none
+     */
+    public static Date rateLimitReset(HttpResponse<?> response) {
+        try {
+            RateLimit rateLimit = new Response(response, Collections.<String, Object>emptyMap()).apiRateLimit();
+            return rateLimit != null ? rateLimit.getReset() : null;
+        } catch (ParseException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    public static List<Map.Entry<String, String>> prepareParams(Map<String, ?> params) {
+        List<Map.Entry<String, String>> requestParams = new ArrayList<>();
+
+        for (Map.Entry<String, ?> param : params.entrySet()) {
+            String key = param.getKey();
+            Object value = param.getValue();
+
+            if (value instanceof Iterable) {
+                for (Object single : (Iterable<?>) value) {
+                    requestParams.add(new AbstractMap.SimpleEntry<>(key + "[]", ObjectUtils.asString(single)));
+                }
+            } else if (value instanceof Map) {
+                JSONObject jsonObject = new JSONObject();
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    jsonObject.put(entry.getKey().toString(), entry.getValue());
+                }
+                requestParams.add(new AbstractMap.SimpleEntry<>(key, jsonObject.toString()));
+            } else {
+                requestParams.add(new AbstractMap.SimpleEntry<>(key, ObjectUtils.asString(value)));
+            }
+        }
+
+        return requestParams;
+    }
+
+    /**
+     * @return the parameters encoded as {@code application/x-www-form-urlencoded}, usable as a query string
+     */
+    public static String formEncode(Map<String, ?> params) {
+        StringBuilder encoded = new StringBuilder();
+        for (Map.Entry<String, String> param : prepareParams(params)) {
+            if (encoded.length() > 0) {
+                encoded.append('&');
+            }
+            encoded.append(URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8));
+            if (param.getValue() != null) {
+                encoded.append('=').append(URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8));
+            }
+        }
+        return encoded.toString();
+    }
+}
@@ -0,0 +1,124 @@
+package com.cloudinary.jdkhttp;
+
+import com.cloudinary.Api.HttpMethod;
+import com.cloudinary.api.ApiResponse;
+import com.cloudinary.api.exceptions.GeneralError;
+import com.cloudinary.strategies.AbstractAsyncApiStrategy;
+import com.cloudinary.strategies.CircuitBreakerOpenException;
+import com.cloudinary.strategies.CircuitBreakerRegistry;
+import com.cloudinary.strategies.RetryPolicy;
+import com.cloudinary.strategies.RetryingAsyncCall;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+import static com.cloudinary.jdkhttp.ApiUtils.buildApiRequest;
+import static com.cloudinary.jdkhttp.ApiUtils.toApiResponse;
+
+/**
+ * Admin API strategy sending requests with {@link HttpClient#sendAsync}. Over HTTP/2 all in-flight requests are
+ * multiplexed on one connection, no thread is held while waiting for the server.
+ */
+public class AsyncApiStrategy extends AbstractAsyncApiStrategy {
+
+    private volatile HttpClient client;
+    // set by close(), a closed strategy throws instead of creating new clients
+    private boolean closed;
+
+    /**
+     * Returns the HTTP client shared by all {@link com.cloudinary.AsyncApi} instances of the owning
+     * Cloudinary instance, creating it on first use.
+     */
+    protected HttpClient getClient() {
+        HttpClient result = client;
+        if (result == null) {
+            synchronized (this) {
+                result = client;
+                if (result == null) {
+                    if (closed) {
+                        throw new IllegalStateException("The Cloudinary instance has been closed");
+                    }
+                    client = result = ApiUtils.buildClient(api.cloudinary.config);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        client = null;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public CompletableFuture<ApiResponse> callApi(HttpMethod method, String apiUrl, Map<String, ? extends Object> params, Map options, String authorizationHeader) {
+        final CompletableFuture<ApiResponse> result = new CompletableFuture<ApiResponse>();
+        final HttpRequest request;
+        try {
+            request = buildApiRequest(api.cloudinary, method, apiUrl, params, options, authorizationHeader);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        // failed attempts are retried like the calls of the blocking strategy, without holding a thread while waiting,
+        // and the circuit breaker of the endpoint may reject them
+        final CompletableFuture<HttpResponse<String>> call = RetryingAsyncCall.execute(api.cloudinary,
+                RetryPolicy.forConfiguration(api.cloudinary.config), RetryPolicy.isIdempotent(method),
+                CircuitBreakerRegistry.forEndpoint(api.cloudinary.config, apiUrl, CircuitBreakerRegistry.apiAction(apiUrl)), new RetryingAsyncCall.Exchange<HttpResponse<String>>() {
+                    @Override
+                    public CompletableFuture<HttpResponse<String>> send() {
+                        return getClient().sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                    }
+
+                    @Override
+                    public int statusCode(HttpResponse<String> response) {
+                        return response.statusCode();
+                    }
+
+                    @Override
+                    public Date rateLimitReset(HttpResponse<String> response) {
+                        return ApiUtils.rateLimitReset(response);
+                    }
+                });
+
+        call.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) {
+                result.cancel(false);
+                return;
+            }
+            if (error instanceof CircuitBreakerOpenException || error instanceof RuntimeException) {
+                // not a transport error, such as an open circuit breaker or a closed Cloudinary instance
+                result.completeExceptionally(error);
+                return;
+            }
+            if (error != null) {
+                result.completeExceptionally(new GeneralError("Error executing request: " + error.getMessage()));
+                return;
+            }
+            try {
+                result.complete(toApiResponse(response, response.body(), api.cloudinary.config.lazyApiResponses));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        // cancelling the returned future is passed on to the exchange, from Java 16 on this aborts it while older
+        // clients ignore the cancellation and let the exchange run to completion in the background
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,298 @@
+package com.cloudinary.jdkhttp;
+
+import com.cloudinary.ProgressCallback;
+import com.cloudinary.ThroughputProgressCallback;
+import com.cloudinary.utils.ThroughputMeter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A {@code multipart/form-data} request body, streamed part by part as the client sends it. Files are opened once
+ * their part is reached and nothing is buffered besides the part headers. The body can be sent again, for retries,
+ * unless it holds a stream or channel.
+ */
+class MultipartBody {
+    static final int REPORT_INTERVAL = 64 * 1024;
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final String boundary = "cloudinary" + UUID.randomUUID().toString().replace("-", "");
+    private final List<Content> contents = new ArrayList<>();
+    private boolean repeatable = true;
+
+    /**
+     * The content of a part, or a fixed section of the body between parts.
+     */
+    interface Content {
+        InputStream open() throws IOException;
+
+        /**
+         * @return the number of bytes of the content, or -1 if unknown
+         */
+        long length();
+    }
+
+    String getContentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    boolean isRepeatable() {
+        return repeatable;
+    }
+
+    void addText(String name, String value) {
+        addPart(name, null, "text/plain; charset=UTF-8", bytes(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    void addBytes(String name, String filename, byte[] data) {
+        addPart(name, filename, "application/octet-stream", bytes(data));
+    }
+
+    void addByteBuffer(String name, String filename, final ByteBuffer buffer) {
+        addPart(name, filename, "application/octet-stream", new Content() {
+            @Override
+            public InputStream open() {
+                // a duplicate per attempt, so the position of the caller's buffer is left untouched
+                return new ByteBufferInputStream(buffer.duplicate());
+            }
+
+            @Override
+            public long length() {
+                return buffer.remaining();
+            }
+        });
+    }
+
+    void addFile(String name, String filename, final Path file) throws IOException {
+        final long length = Files.size(file);
+        addPart(name, filename, "application/octet-stream", new Content() {
+            @Override
+            public InputStream open() throws IOException {
+                return Files.newInputStream(file);
+            }
+
+            @Override
+            public long length() {
+                return length;
+            }
+        });
+    }
+
+    /**
+     * Adds a part read from a stream, which is closed once sent. A body holding a stream can only be sent once.
+     */
+    void addStream(String name, String filename, final InputStream in) {
+        repeatable = false;
+        addPart(name, filename, "application/octet-stream", new Content() {
+            @Override
+            public InputStream open() {
+                return in;
+            }
+
+            @Override
+            public long length() {
+                return -1;
+            }
+        });
+    }
+
+    private void addPart(String name, String filename, String contentType, Content content) {
+        StringBuilder header = new StringBuilder();
+        header.append("--").append(boundary).append("\r\n");
+        header.append("Content-Disposition: form-data; name=\"").append(escape(name)).append('"');
+        if (filename != null) {
+            header.append("; filename=\"").append(escape(filename)).append('"');
+        }
+        header.append("\r\nContent-Type: ").append(contentType).append("\r\n\r\n");
+        contents.add(bytes(header.toString().getBytes(StandardCharsets.UTF_8)));
+        contents.add(content);
+        contents.add(bytes(CRLF));
+    }
+
+    private static String escape(String value) {
+        return value.replace("\"", "%22").replace("\r", "%0D").replace("\n", "%0A");
+    }
+
+    /**
+     * @return the size of the body in bytes, or -1 if it holds a part of unknown length
+     */
+    long getContentLength() {
+        long length = 0;
+        for (Content content : bodyContents()) {
+            if (content.length() < 0) {
+                return -1;
+            }
+            length += content.length();
+        }
+        return length;
+    }
+
+    /**
+     * @param progressCallback notified of the bytes read by the client, may be null
+     * @return a publisher opening the parts afresh every time the client sends the body
+     */
+    HttpRequest.BodyPublisher publisher(final ProgressCallback progressCallback) {
+        final long contentLength = getContentLength();
+        HttpRequest.BodyPublisher publisher = HttpRequest.BodyPublishers.ofInputStream(() -> {
+            InputStream in = new ConcatenatedInputStream(bodyContents());
+            return progressCallback != null ? new ProgressInputStream(in, contentLength, progressCallback) : in;
+        });
+        // a known length is sent as Content-Length instead of chunked
+        return contentLength >= 0 ? HttpRequest.BodyPublishers.fromPublisher(publisher, contentLength) : publisher;
+    }
+
+    private List<Content> bodyContents() {
+        List<Content> body = new ArrayList<>(contents);
+        body.add(bytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII)));
+        return body;
+    }
+
+    private static Content bytes(final byte[] data) {
+        return new Content() {
+            @Override
+            public InputStream open() {
+                return new ByteArrayInputStream(data);
+            }
+
+            @Override
+            public long length() {
+                return data.length;
+            }
+        };
+    }
+
+    private static final class ConcatenatedInputStream extends InputStream {
+        private final List<Content> contents;
+        private int next;
+        private InputStream current;
+
+        ConcatenatedInputStream(List<Content> contents) {
+            this.contents = contents;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                if (current == null) {
+                    if (next == contents.size()) {
+                        return -1;
+                    }
+                    current = contents.get(next++).open();
+                }
+                int read = current.read(b, off, len);
+                if (read >= 0) {
+                    return read;
+                }
+                current.close();
+                current = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+            next = contents.size();
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return len == 0 ? 0 : -1;
+            }
+            len = Math.min(len, buffer.remaining());
+            buffer.get(b, off, len);
+            return len;
+        }
+    }
+
+    /**
+     * Reports the bytes read by the client to a {@link ProgressCallback}, and the measured throughput to a
+     * {@link ThroughputProgressCallback}, at least every {@value #REPORT_INTERVAL} bytes.
+     */
+    private static final class ProgressInputStream extends InputStream {
+        private final InputStream in;
+        private final long totalBytes;
+        private final ProgressCallback progressCallback;
+        private final ThroughputMeter meter = new ThroughputMeter();
+        private long bytesRead;
+        private long bytesReported;
+
+        ProgressInputStream(InputStream in, long totalBytes, ProgressCallback progressCallback) {
+            this.in = in;
+            this.totalBytes = totalBytes;
+            this.progressCallback = progressCallback;
+            meter.update(0);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            count(b < 0 ? -1 : 1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, Math.min(len, REPORT_INTERVAL));
+            count(read);
+            return read;
+        }
+
+        private void count(int read) {
+            if (read > 0) {
+                bytesRead += read;
+            }
+            if ((read >= 0 && bytesRead - bytesReported < REPORT_INTERVAL) || bytesRead == bytesReported) {
+                return;
+            }
+            bytesReported = bytesRead;
+            progressCallback.onProgress(bytesRead, totalBytes);
+            if (progressCallback instanceof ThroughputProgressCallback) {
+                double bytesPerSecond = meter.update(bytesRead);
+                if (bytesPerSecond >= 0) {
+                    ((ThroughputProgressCallback) progressCallback).onThroughput(bytesRead, totalBytes, bytesPerSecond);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
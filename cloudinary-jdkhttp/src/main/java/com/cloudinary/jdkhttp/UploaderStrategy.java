@@ -0,0 +1,377 @@
+package com.cloudinary.jdkhttp;
+
+import com.cloudinary.ProgressCallback;
+import com.cloudinary.Uploader;
+import com.cloudinary.Util;
+import com.cloudinary.api.ResponseDecoder;
+import com.cloudinary.strategies.AbstractUploaderStrategy;
+import com.cloudinary.strategies.CircuitBreaker;
+import com.cloudinary.strategies.CircuitBreakerRegistry;
+import com.cloudinary.strategies.RetryPolicy;
+import com.cloudinary.strategies.RetryingAsyncCall;
+import com.cloudinary.utils.ObjectUtils;
+import com.cloudinary.utils.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import static com.cloudinary.jdkhttp.ApiUtils.rateLimitReset;
+
+/**
+ * Upload strategy backed by the {@link HttpClient} of the JDK, without any third party dependency. Register it
+ * with {@code Cloudinary.registerUploaderStrategy("com.cloudinary.jdkhttp.UploaderStrategy")} to prefer it over the
+ * Apache HTTP client when both are on the class path.
+ * <p>
+ * Request bodies are streamed from the file as they are sent, by the blocking and the non-blocking methods alike.
+ */
+public class UploaderStrategy extends AbstractUploaderStrategy {
+
+    private volatile HttpClient client;
+    private Semaphore uploadPermits;
+    private int uploadPermitsSize;
+    // set by close(), a closed strategy throws instead of creating new clients
+    private boolean closed;
+
+    /**
+     * Returns the HTTP client shared by all {@link Uploader} instances of the owning Cloudinary instance,
+     * creating it on first use. The same client serves the blocking and the non-blocking methods.
+     */
+    protected HttpClient getClient() {
+        HttpClient result = client;
+        if (result == null) {
+            synchronized (this) {
+                result = client;
+                if (result == null) {
+                    if (closed) {
+                        throw new IllegalStateException("The Cloudinary instance has been closed");
+                    }
+                    client = result = ApiUtils.buildClient(cloudinary().config);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the permits bounding the number of in-flight async uploads, or null when
+     * {@link com.cloudinary.Configuration#maxConcurrentUploads} is not set. The permits are replaced when the
+     * setting changes, uploads in flight release the permits they acquired.
+     */
+    private synchronized Semaphore getUploadPermits() {
+        int maxConcurrentUploads = cloudinary().config.maxConcurrentUploads;
+        if (maxConcurrentUploads <= 0) {
+            return null;
+        }
+        if (uploadPermits == null || uploadPermitsSize != maxConcurrentUploads) {
+            uploadPermits = new Semaphore(maxConcurrentUploads);
+            uploadPermitsSize = maxConcurrentUploads;
+        }
+        return uploadPermits;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        client = null;
+    }
+
+    @Override
+    public boolean warmUpConnection() {
+        HttpRequest request = ApiUtils.prepareRequest(HttpRequest.newBuilder(URI.create(buildUploadUrl("upload", ObjectUtils.emptyMap()))).GET(),
+                cloudinary(), Collections.<String, Object>emptyMap()).build();
+        // any response proves the host is reachable, discarding it fully leaves the connection open for reuse
+        try {
+            getClient().send(request, HttpResponse.BodyHandlers.discarding());
+            return true;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean supportsByteBuffers() {
+        return true;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Map callApi(String action, Map<String, Object> params, Map options, Object file, ProgressCallback progressCallback) throws IOException {
+        return (Map) execute(action, params, options, file, progressCallback, null);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public <T> T callApi(String action, Map<String, Object> params, Map options, Object file, ProgressCallback progressCallback,
+                         ResponseDecoder<T> decoder) throws IOException {
+        return (T) execute(action, params, options, file, progressCallback, decoder);
+    }
+
+    /**
+     * @param decoder binds a successful response as it is read, or null to parse it into a map
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Object execute(String action, Map<String, Object> params, Map options, Object file, ProgressCallback progressCallback,
+                           ResponseDecoder<?> decoder) throws IOException {
+        // Initialize options if passed as null
+        if (options == null) {
+            options = ObjectUtils.emptyMap();
+        }
+
+        boolean returnError = ObjectUtils.asBoolean(options.get("return_error"), false);
+
+        if (requiresSigning(action, options)) {
+            uploader.signRequestParams(params, options);
+        } else {
+            Util.clearEmpty(params);
+        }
+
+        String apiUrl = buildUploadUrl(action, options);
+
+        // Prepare the request
+        MultipartBody body = buildMultipartBody(params, options, file);
+        HttpRequest request = prepareRequest(apiUrl, body, options, progressCallback);
+
+        // Execute the request and handle the response, chunks of a large upload may safely be sent again
+        RetryPolicy retryPolicy = RetryPolicy.forConfiguration(cloudinary().config);
+        boolean idempotent = request.headers().firstValue("X-Unique-Upload-Id").isPresent();
+        boolean repeatable = body.isRepeatable();
+        CircuitBreaker circuitBreaker = CircuitBreakerRegistry.forEndpoint(cloudinary().config, apiUrl, action);
+
+        for (int attempt = 1; ; attempt++) {
+            CircuitBreaker.Permission permission = circuitBreaker.acquirePermission();
+            try {
+                long start = System.currentTimeMillis();
+                HttpResponse<InputStream> response;
+                try {
+                    response = getClient().send(request, HttpResponse.BodyHandlers.ofInputStream());
+                } catch (InterruptedException e) {
+                    circuitBreaker.onResult(permission, System.currentTimeMillis() - start, true);
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Upload interrupted");
+                } catch (IOException e) {
+                    circuitBreaker.onResult(permission, System.currentTimeMillis() - start, true);
+                    if (repeatable && retryPolicy.shouldRetry(idempotent, attempt, e) && retryPolicy.sleep(retryPolicy.delayMillis(attempt, null))) {
+                        continue;
+                    }
+                    throw e;
+                }
+                circuitBreaker.onResult(permission, System.currentTimeMillis() - start, response.statusCode());
+
+                try (InputStream responseStream = response.body()) {
+                    if (repeatable && retryPolicy.shouldRetry(idempotent, attempt, response.statusCode())) {
+                        long delay = retryPolicy.delayMillis(attempt, rateLimitReset(response));
+                        if (delay >= 0) {
+                            // error bodies are small, read before waiting so the connection is not held
+                            String responseData = StringUtils.read(responseStream);
+                            if (retryPolicy.sleep(delay)) {
+                                continue;
+                            }
+                            if (decoder != null) {
+                                return decodeResponse(response.statusCode(), new ByteArrayInputStream(responseData.getBytes(StandardCharsets.UTF_8)), decoder);
+                            }
+                            return processResponse(returnError, response.statusCode(), responseData);
+                        }
+                    }
+                    // Process and return the response, parsed as it arrives
+                    if (decoder != null) {
+                        return decodeResponse(response.statusCode(), responseStream, decoder);
+                    }
+                    return processResponse(returnError, response.statusCode(), responseStream);
+                }
+            } finally {
+                // a call ended by an unexpected exception has no outcome, its probe is given back
+                circuitBreaker.release(permission);
+            }
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public CompletableFuture<Map> callApiAsync(String action, Map<String, Object> params, Map options, Object file) {
+        final CompletableFuture<Map> result = new CompletableFuture<Map>();
+
+        if (options == null) {
+            options = ObjectUtils.emptyMap();
+        }
+
+        final boolean returnError = ObjectUtils.asBoolean(options.get("return_error"), false);
+
+        // block the caller while too many uploads are in flight. The request is signed and its body encoded only
+        // once a permit is acquired, so at most that many bodies are held in memory and signatures do not go stale
+        // while waiting.
+        final Semaphore permits = getUploadPermits();
+        if (permits != null) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.completeExceptionally(e);
+                return result;
+            }
+            result.whenComplete((response, error) -> permits.release());
+        }
+
+        final String apiUrl;
+        final HttpRequest request;
+        final MultipartBody body;
+        try {
+            if (requiresSigning(action, options)) {
+                uploader.signRequestParams(params, options);
+            } else {
+                Util.clearEmpty(params);
+            }
+            body = buildMultipartBody(params, options, file);
+            apiUrl = buildUploadUrl(action, options);
+            request = prepareRequest(apiUrl, body, options, null);
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        // chunks of a large upload may safely be sent again, a body read from a stream can only be sent once. The
+        // circuit breaker of the endpoint may reject each attempt, like those of a blocking upload.
+        RetryPolicy retryPolicy = body.isRepeatable() ? RetryPolicy.forConfiguration(cloudinary().config) : RetryPolicy.NONE;
+        boolean idempotent = request.headers().firstValue("X-Unique-Upload-Id").isPresent();
+        CircuitBreaker circuitBreaker = CircuitBreakerRegistry.forEndpoint(cloudinary().config, apiUrl, action);
+        final CompletableFuture<HttpResponse<String>> call = RetryingAsyncCall.execute(cloudinary(), retryPolicy, idempotent, circuitBreaker,
+                new RetryingAsyncCall.Exchange<HttpResponse<String>>() {
+                    @Override
+                    public CompletableFuture<HttpResponse<String>> send() {
+                        return getClient().sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                    }
+
+                    @Override
+                    public int statusCode(HttpResponse<String> response) {
+                        return response.statusCode();
+                    }
+
+                    @Override
+                    public Date rateLimitReset(HttpResponse<String> response) {
+                        return ApiUtils.rateLimitReset(response);
+                    }
+                });
+
+        call.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) {
+                result.cancel(false);
+                return;
+            }
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            try {
+                result.complete(processResponse(returnError, response.statusCode(), response.body()));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        // cancelling the returned future is passed on to the exchange, from Java 16 on this aborts it while older
+        // clients ignore the cancellation and let the exchange run to completion in the background
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpRequest prepareRequest(String apiUrl, MultipartBody body, Map<String, ?> options, ProgressCallback progressCallback) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(apiUrl))
+                .POST(body.publisher(progressCallback))
+                .header("Content-Type", body.getContentType());
+
+        Map<String, String> extraHeaders = (Map<String, String>) options.get("extra_headers");
+        if (extraHeaders != null) {
+            for (Map.Entry<String, String> header : extraHeaders.entrySet()) {
+                builder.header(header.getKey(), header.getValue());
+            }
+        }
+        return ApiUtils.prepareRequest(builder, cloudinary(), options).build();
+    }
+
+    private MultipartBody buildMultipartBody(Map<String, Object> params, Map<String, ?> options, Object file) throws IOException {
+        MultipartBody body = new MultipartBody();
+
+        // Add text parameters
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            if (param.getValue() instanceof Collection) {
+                for (Object value : (Collection<?>) param.getValue()) {
+                    body.addText(param.getKey() + "[]", ObjectUtils.asString(value));
+                }
+            } else {
+                String value = param.getValue().toString();
+                if (StringUtils.isNotBlank(value)) {
+                    body.addText(param.getKey(), value);
+                }
+            }
+        }
+
+        // Add file part
+        addFilePart(body, file, options);
+
+        return body;
+    }
+
+    private void addFilePart(MultipartBody body, Object file, Map<String, ?> options) throws IOException {
+        String filename = (String) options.get("filename");
+
+        if (file instanceof String && !StringUtils.isRemoteUrl((String) file)) {
+            File _file = new File((String) file);
+            if (!_file.isFile() || !_file.canRead()) {
+                throw new IOException("File not found or unreadable: " + file);
+            }
+            file = _file;
+        }
+
+        if (file instanceof File) {
+            file = ((File) file).toPath();
+        }
+
+        if (file instanceof Path) {
+            Path path = (Path) file;
+            if (filename == null) {
+                filename = path.getFileName() != null ? path.getFileName().toString() : "file";
+            }
+            body.addFile("file", filename, path);
+        } else if (file instanceof String) {
+            body.addText("file", (String) file);
+        } else if (file instanceof byte[]) {
+            body.addBytes("file", filename != null ? filename : "file", (byte[]) file);
+        } else if (file instanceof ByteBuffer) {
+            body.addByteBuffer("file", filename != null ? filename : "file", (ByteBuffer) file);
+        } else if (file instanceof InputStream) {
+            body.addStream("file", filename != null ? filename : "file", (InputStream) file);
+        } else if (file instanceof ReadableByteChannel) {
+            body.addStream("file", filename != null ? filename : "file", Channels.newInputStream((ReadableByteChannel) file));
+        } else if (file == null) {
+            // No file to add
+        } else {
+            throw new IOException("Unrecognized file parameter " + file);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.cloudinary.jdkhttp.api;
+
+import com.cloudinary.api.AbstractLazyResponse;
+import com.cloudinary.api.RateLimit;
+import com.cloudinary.utils.LazyJsonMap;
+
+import java.net.http.HttpResponse;
+import java.text.ParseException;
+import java.util.Map;
+
+/**
+ * A lazily parsed response of the {@link java.net.http.HttpClient}, see {@link AbstractLazyResponse}.
+ */
+public class LazyResponse extends AbstractLazyResponse {
+    private final HttpResponse<?> response;
+
+    public LazyResponse(HttpResponse<?> response, LazyJsonMap result) {
+        super(result);
+        this.response = response;
+    }
+
+    public HttpResponse<?> getRawHttpResponse() {
+        return this.response;
+    }
+
+    public Map<String, RateLimit> rateLimits() throws ParseException {
+        return Response.rateLimits(this.response);
+    }
+}
@@ -0,0 +1,77 @@
+package com.cloudinary.jdkhttp.api;
+
+import com.cloudinary.api.ApiResponse;
+import com.cloudinary.api.RateLimit;
+
+import java.net.http.HttpResponse;
+import java.text.ParseException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@SuppressWarnings("rawtypes")
+public class Response extends HashMap implements ApiResponse {
+    private static final long serialVersionUID = 2735284961053371872L;
+    private final transient HttpResponse<?> response;
+
+    @SuppressWarnings("unchecked")
+    public Response(HttpResponse<?> response, Map<String, Object> result) {
+        super(result);
+        this.response = response;
+    }
+
+    public HttpResponse<?> getRawHttpResponse() {
+        return this.response;
+    }
+
+    private static final Pattern RATE_LIMIT_REGEX = Pattern
+            .compile("X-FEATURE(\\w*)RATELIMIT(-LIMIT|-RESET|-REMAINING)", Pattern.CASE_INSENSITIVE);
+    private static final DateTimeFormatter RFC1123 = DateTimeFormatter.RFC_1123_DATE_TIME;
+
+    public Map<String, RateLimit> rateLimits() throws ParseException {
+        return rateLimits(this.response);
+    }
+
+    static Map<String, RateLimit> rateLimits(HttpResponse<?> response) throws ParseException {
+        Map<String, RateLimit> limits = new HashMap<>();
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            Matcher m = RATE_LIMIT_REGEX.matcher(header.getKey());
+            if (!m.matches() || header.getValue().isEmpty()) {
+                continue;
+            }
+            String limitName = "Api";
+            if (!m.group(1).isEmpty()) {
+                limitName = m.group(1);
+            }
+            String value = header.getValue().get(0);
+            RateLimit limit = limits.getOrDefault(limitName, new RateLimit());
+            if (m.group(2).equalsIgnoreCase("-limit")) {
+                limit.setLimit(Long.parseLong(value));
+            } else if (m.group(2).equalsIgnoreCase("-remaining")) {
+                limit.setRemaining(Long.parseLong(value));
+            } else if (m.group(2).equalsIgnoreCase("-reset")) {
+                limit.setReset(parseReset(value));
+            }
+            limits.put(limitName, limit);
+        }
+        return limits;
+    }
+
+    private static Date parseReset(String value) throws ParseException {
+        try {
+            return Date.from(ZonedDateTime.parse(value, RFC1123).toInstant());
+        } catch (DateTimeParseException e) {
+            throw new ParseException(e.getMessage(), e.getErrorIndex());
+        }
+    }
+
+    public RateLimit apiRateLimit() throws ParseException {
+        return rateLimits().get("Api");
+    }
+}
@@ -0,0 +1,4 @@
+package com.cloudinary.test;
+
+public class AccountApiTest extends AbstractAccountApiTest {
+}
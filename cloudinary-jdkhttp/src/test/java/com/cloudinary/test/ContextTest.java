@@ -0,0 +1,5 @@
+package com.cloudinary.test;
+
+public class ContextTest extends AbstractContextTest {
+
+}
\ No newline at end of file
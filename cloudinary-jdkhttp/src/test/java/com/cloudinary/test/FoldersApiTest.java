@@ -0,0 +1,4 @@
+package com.cloudinary.test;
+
+public class FoldersApiTest extends AbstractFoldersApiTest {
+}
@@ -0,0 +1,4 @@
+package com.cloudinary.test;
+
+public class StructuredMetadataTest extends AbstractStructuredMetadataTest {
+}
\ No newline at end of file
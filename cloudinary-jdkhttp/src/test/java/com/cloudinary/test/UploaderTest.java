@@ -0,0 +1,5 @@
+package com.cloudinary.test;
+
+public class UploaderTest extends AbstractUploaderTest {
+
+}
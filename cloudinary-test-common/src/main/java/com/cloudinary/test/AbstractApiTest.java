@@ -14,6 +14,7 @@ import org.junit.rules.TestName;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 
 import static com.cloudinary.utils.ObjectUtils.asMap;
 import static com.cloudinary.utils.ObjectUtils.emptyMap;
@@ -181,6 +182,25 @@ abstract public class AbstractApiTest extends MockableTest {
         assertThat(resource_types, hasItem("image"));
     }
 
+    @Test
+    public void testAsyncResourceTypes() throws Exception {
+        // should allow listing resource_types without blocking
+        Map result = cloudinary.asyncApi().resourceTypes(ObjectUtils.emptyMap()).get();
+        final List<String> resource_types = (List<String>) result.get("resource_types");
+        assertThat(resource_types, hasItem("image"));
+    }
+
+    @Test
+    public void testAsyncResourceNotFound() throws Exception {
+        // should complete the future with the same exception the blocking api throws
+        try {
+            cloudinary.asyncApi().resource("async_not_found_" + SUFFIX, ObjectUtils.emptyMap()).get();
+            fail("Expected NotFound");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(NotFound.class));
+        }
+    }
+
     @Test
     public void testSingleSelectiveResponse() throws Exception {
         Map options = new HashMap();
@@ -674,6 +694,12 @@ abstract public class AbstractApiTest extends MockableTest {
         Assert.assertNotNull(result.apiRateLimit().getReset());
     }
 
+    @Test
+    public void testWarmUp() throws Exception {
+        assertTrue(cloudinary.warmUp(2));
+        assertFalse(cloudinary.warmUp(0));
+    }
+
     @Test
     public void testRateLimits() throws Exception {
         ApiResponse result = cloudinary.api().usage(new HashMap());
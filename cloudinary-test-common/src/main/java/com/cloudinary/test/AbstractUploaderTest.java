@@ -15,6 +15,7 @@ import java.net.URL;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.zip.ZipInputStream;
 
 import static com.cloudinary.utils.ObjectUtils.*;
@@ -135,6 +136,61 @@ abstract public class AbstractUploaderTest extends MockableTest {
         assertEquals(result.get("signature"), expected_signature);
     }
 
+    @Test
+    public void testUploadAsyncBoundsInFlightUploads() throws Exception {
+        // should upload without blocking and limit the number of in-flight uploads
+        cloudinary.config.maxConcurrentUploads = 1;
+        List<CompletableFuture<Map>> uploads = new ArrayList<CompletableFuture<Map>>();
+        for (int i = 0; i < 2; i++) {
+            uploads.add(cloudinary.uploader().uploadAsync(SRC_TEST_IMAGE, asMap("tags", Arrays.asList(SDK_TEST_TAG, UPLOADER_TAG))));
+        }
+        for (CompletableFuture<Map> upload : uploads) {
+            Map result = upload.get();
+            assertEquals(result.get("width"), SRC_TEST_IMAGE_W);
+            assertEquals(result.get("height"), SRC_TEST_IMAGE_H);
+        }
+    }
+
+    @Test
+    public void testUploadStreams() throws IOException {
+        // should stream InputStream, ReadableByteChannel and Path sources into the request
+        Map result = cloudinary.uploader().upload(new FileInputStream(SRC_TEST_IMAGE), asMap("tags", Arrays.asList(SDK_TEST_TAG, UPLOADER_TAG)));
+        assertEquals(result.get("width"), SRC_TEST_IMAGE_W);
+        assertEquals(result.get("height"), SRC_TEST_IMAGE_H);
+
+        result = cloudinary.uploader().upload(java.nio.channels.Channels.newChannel(new FileInputStream(SRC_TEST_IMAGE)), asMap("tags", Arrays.asList(SDK_TEST_TAG, UPLOADER_TAG)));
+        assertEquals(result.get("width"), SRC_TEST_IMAGE_W);
+
+        result = cloudinary.uploader().upload(java.nio.file.Paths.get(SRC_TEST_IMAGE), asMap("tags", Arrays.asList(SDK_TEST_TAG, UPLOADER_TAG)));
+        assertEquals(result.get("width"), SRC_TEST_IMAGE_W);
+        assertEquals("old_logo", result.get("original_filename"));
+    }
+
+    @Test
+    public void testUploadProgress() throws IOException {
+        // should report the bytes sent, ending with the whole request body
+        final long[] progress = new long[]{0, 0};
+        final List<Double> throughput = new ArrayList<Double>();
+        cloudinary.uploader().upload(SRC_TEST_IMAGE, asMap("tags", Arrays.asList(SDK_TEST_TAG, UPLOADER_TAG)), new ThroughputProgressCallback() {
+            @Override
+            public void onProgress(long bytesUploaded, long totalBytes) {
+                assertTrue(bytesUploaded >= progress[0]);
+                progress[0] = bytesUploaded;
+                progress[1] = totalBytes;
+            }
+
+            @Override
+            public void onThroughput(long bytesUploaded, long totalBytes, double bytesPerSecond) {
+                throughput.add(bytesPerSecond);
+            }
+        });
+        assertTrue(progress[0] > new File(SRC_TEST_IMAGE).length());
+        assertEquals(progress[1], progress[0]);
+        for (Double bytesPerSecond : throughput) {
+            assertTrue(bytesPerSecond >= 0);
+        }
+    }
+
     @Test
     public void testIsRemoteUrl() {
         String[] urls = new String[]{
@@ -589,6 +645,12 @@ abstract public class AbstractUploaderTest extends MockableTest {
         assertEquals("image", resource.get("resource_type"));
         assertEquals(1400, resource.get("width"));
         assertEquals(1400, resource.get("height"));
+
+        resource = cloudinary.uploader().uploadLarge(temp, asMap("chunk_size", 5243000, "parallel_chunks", 2, "tags", tags));
+        assertArrayEquals(tags, ((java.util.ArrayList) resource.get("tags")).toArray());
+        assertEquals("image", resource.get("resource_type"));
+        assertEquals(1400, resource.get("width"));
+        assertEquals(1400, resource.get("height"));
     }
 
     @Test